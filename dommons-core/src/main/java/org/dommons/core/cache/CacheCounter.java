@@ -0,0 +1,101 @@
+/*
+ * @(#)CacheCounter.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+import org.dommons.core.concurrent.StripedCounter;
+
+/**
+ * 缓存统计计数器
+ * <p>各项计数使用分段计数器累加，高并发读写时不争用同一计数值</p>
+ * @author demon 2026-10-18
+ */
+public class CacheCounter {
+
+	private final StripedCounter hits;
+	private final StripedCounter misses;
+	private final StripedCounter loads;
+	private final StripedCounter failures;
+	private final StripedCounter loadTime;
+	private final StripedCounter evictions;
+	private final StripedCounter expirations;
+
+	public CacheCounter() {
+		this.hits = new StripedCounter();
+		this.misses = new StripedCounter();
+		this.loads = new StripedCounter();
+		this.failures = new StripedCounter();
+		this.loadTime = new StripedCounter();
+		this.evictions = new StripedCounter();
+		this.expirations = new StripedCounter();
+	}
+
+	/**
+	 * 记录淘汰
+	 * @param count 淘汰数
+	 */
+	public void recordEvictions(int count) {
+		if (count > 0) evictions.add(count);
+	}
+
+	/**
+	 * 记录过期
+	 */
+	public void recordExpiration() {
+		expirations.add(1);
+	}
+
+	/**
+	 * 记录命中
+	 */
+	public void recordHit() {
+		hits.add(1);
+	}
+
+	/**
+	 * 记录加载失败
+	 * @param time 加载耗时(纳秒)
+	 */
+	public void recordLoadFailure(long time) {
+		failures.add(1);
+		loadTime.add(time);
+	}
+
+	/**
+	 * 记录加载成功
+	 * @param time 加载耗时(纳秒)
+	 */
+	public void recordLoadSuccess(long time) {
+		loads.add(1);
+		loadTime.add(time);
+	}
+
+	/**
+	 * 记录未命中
+	 */
+	public void recordMiss() {
+		misses.add(1);
+	}
+
+	/**
+	 * 重置计数
+	 */
+	public void reset() {
+		hits.reset();
+		misses.reset();
+		loads.reset();
+		failures.reset();
+		loadTime.reset();
+		evictions.reset();
+		expirations.reset();
+	}
+
+	/**
+	 * 生成统计快照
+	 * @param size 缓存项数 <code>-1</code> 为未知
+	 * @return 统计快照
+	 */
+	public CacheStats snapshot(long size) {
+		return new CacheStats(hits.sum(), misses.sum(), loads.sum(), failures.sum(), loadTime.sum(), evictions.sum(), expirations.sum(), size);
+	}
+}
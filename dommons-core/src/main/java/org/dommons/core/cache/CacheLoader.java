@@ -0,0 +1,37 @@
+/*
+ * @(#)CacheLoader.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 缓存数据加载器
+ * @author demon 2026-10-18
+ */
+public interface CacheLoader<K, V> {
+
+	/**
+	 * 加载缓存数据
+	 * @param key 缓存键
+	 * @return 缓存数据 为空时不缓存
+	 * @throws Exception
+	 */
+	public V load(K key) throws Exception;
+
+	/**
+	 * 批量缓存数据加载器
+	 * @author demon 2026-10-18
+	 */
+	public static interface BulkLoader<K, V> extends CacheLoader<K, V> {
+
+		/**
+		 * 批量加载缓存数据
+		 * @param keys 缓存键集
+		 * @return 缓存数据集 缺少的键视为无数据
+		 * @throws Exception
+		 */
+		public Map<K, V> loadAll(Collection<K> keys) throws Exception;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * @(#)CacheMonitor.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.dommons.core.Silewarner;
+import org.dommons.core.string.Stringure;
+
+/**
+ * 缓存监控
+ * <p>将缓存统计注册为 JMX 管理对象，对象名为 <code>org.dommons.cache:type=Cache,name=缓存名</code></p>
+ * @author demon 2026-10-18
+ */
+public class CacheMonitor implements CacheMonitorMBean {
+
+	static final String domain = "org.dommons.cache";
+
+	/**
+	 * 注册缓存监控
+	 * @param name 缓存名
+	 * @param cache 缓存
+	 * @return 是否注册成功
+	 */
+	public static boolean register(String name, StatsCache<?, ?> cache) {
+		if (cache == null || Stringure.isEmpty(name)) return false;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName on = name(name);
+			if (server.isRegistered(on)) server.unregisterMBean(on);
+			server.registerMBean(new CacheMonitor(cache), on);
+			return true;
+		} catch (Throwable t) {
+			Silewarner.error(CacheMonitor.class, t);
+			return false;
+		}
+	}
+
+	/**
+	 * 注销缓存监控
+	 * @param name 缓存名
+	 */
+	public static void unregister(String name) {
+		if (Stringure.isEmpty(name)) return;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName on = name(name);
+			if (server.isRegistered(on)) server.unregisterMBean(on);
+		} catch (Throwable t) {
+			Silewarner.error(CacheMonitor.class, t);
+		}
+	}
+
+	/**
+	 * 生成管理对象名
+	 * @param name 缓存名
+	 * @return 对象名
+	 * @throws Exception
+	 */
+	static ObjectName name(String name) throws Exception {
+		return new ObjectName(domain + ":type=Cache,name=" + ObjectName.quote(name));
+	}
+
+	protected final StatsCache<?, ?> cache;
+
+	protected CacheMonitor(StatsCache<?, ?> cache) {
+		this.cache = cache;
+	}
+
+	public double getAverageLoadPenalty() {
+		return cache.stats().getAverageLoadPenalty();
+	}
+
+	public long getEvictionCount() {
+		return cache.stats().getEvictionCount();
+	}
+
+	public long getExpirationCount() {
+		return cache.stats().getExpirationCount();
+	}
+
+	public long getHitCount() {
+		return cache.stats().getHitCount();
+	}
+
+	public double getHitRate() {
+		return cache.stats().getHitRate();
+	}
+
+	public long getLoadFailureCount() {
+		return cache.stats().getLoadFailureCount();
+	}
+
+	public long getLoadSuccessCount() {
+		return cache.stats().getLoadSuccessCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().getMissCount();
+	}
+
+	public long getSize() {
+		return cache.stats().getSize();
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * @(#)CacheMonitorMBean.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+/**
+ * 缓存监控管理接口
+ * @author demon 2026-10-18
+ */
+public interface CacheMonitorMBean {
+
+	/**
+	 * 获取平均加载耗时
+	 * @return 平均耗时(纳秒)
+	 */
+	public double getAverageLoadPenalty();
+
+	/**
+	 * 获取淘汰数
+	 * @return 淘汰数
+	 */
+	public long getEvictionCount();
+
+	/**
+	 * 获取过期数
+	 * @return 过期数
+	 */
+	public long getExpirationCount();
+
+	/**
+	 * 获取命中数
+	 * @return 命中数
+	 */
+	public long getHitCount();
+
+	/**
+	 * 获取命中率
+	 * @return 命中率
+	 */
+	public double getHitRate();
+
+	/**
+	 * 获取加载失败数
+	 * @return 加载失败数
+	 */
+	public long getLoadFailureCount();
+
+	/**
+	 * 获取加载成功数
+	 * @return 加载成功数
+	 */
+	public long getLoadSuccessCount();
+
+	/**
+	 * 获取未命中数
+	 * @return 未命中数
+	 */
+	public long getMissCount();
+
+	/**
+	 * 获取缓存项数
+	 * @return 缓存项数
+	 */
+	public long getSize();
+}
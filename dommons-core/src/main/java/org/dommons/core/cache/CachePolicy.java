@@ -0,0 +1,207 @@
+/*
+ * @(#)CachePolicy.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 缓存容量淘汰策略
+ * <p>
+ * W-TinyLFU 策略：新内容先进入约占容量百分之一的窗口区，窗口区溢出内容与主区试用段最久未访问内容按访问频率比较，频率较低者淘汰；主区分为试用段与保护段，试用段内容再次访问后晋升保护段。读取时锁被占用则放弃本次顺序调整。
+ * </p>
+ * @author demon 2026-10-18
+ */
+class CachePolicy {
+
+	protected final long capacity;
+
+	private final long windowMax;
+	private final long protectMax;
+	private final LinkedHashMap<Object, Integer> window;
+	private final LinkedHashMap<Object, Integer> probation;
+	private final LinkedHashMap<Object, Integer> protect;
+	private final FrequencySketch sketch;
+	private final ReentrantLock lock;
+
+	private long windowWeight;
+	private long probationWeight;
+	private long protectWeight;
+
+	public CachePolicy(long capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.windowMax = Math.max(1, this.capacity / 100);
+		this.protectMax = (this.capacity - windowMax) / 5 * 4;
+		this.window = new LinkedHashMap();
+		this.probation = new LinkedHashMap();
+		this.protect = new LinkedHashMap();
+		this.sketch = new FrequencySketch(this.capacity);
+		this.lock = new ReentrantLock();
+	}
+
+	/**
+	 * 清空
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			window.clear();
+			probation.clear();
+			protect.clear();
+			windowWeight = probationWeight = protectWeight = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 记录写入
+	 * @param key 键值
+	 * @param weight 权重
+	 * @return 淘汰键值集
+	 */
+	public List<Object> put(Object key, int weight) {
+		List<Object> evicted = new ArrayList(1);
+		lock.lock();
+		try {
+			sketch.increment(key);
+			Integer w = Integer.valueOf(weight);
+			Integer old = null;
+			if ((old = window.remove(key)) != null) {
+				windowWeight += weight - old.intValue();
+				window.put(key, w);
+			} else if ((old = probation.remove(key)) != null) {
+				probationWeight += weight - old.intValue();
+				probation.put(key, w);
+			} else if ((old = protect.remove(key)) != null) {
+				protectWeight += weight - old.intValue();
+				protect.put(key, w);
+			} else {
+				windowWeight += weight;
+				window.put(key, w);
+			}
+			balance(evicted);
+		} finally {
+			lock.unlock();
+		}
+		return evicted;
+	}
+
+	/**
+	 * 记录移除
+	 * @param key 键值
+	 */
+	public void remove(Object key) {
+		lock.lock();
+		try {
+			Integer old = null;
+			if ((old = window.remove(key)) != null) windowWeight -= old.intValue();
+			else if ((old = probation.remove(key)) != null) probationWeight -= old.intValue();
+			else if ((old = protect.remove(key)) != null) protectWeight -= old.intValue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 记录访问
+	 * @param key 键值
+	 */
+	public void touch(Object key) {
+		if (!lock.tryLock()) return;
+		try {
+			sketch.increment(key);
+			Integer w = null;
+			if ((w = window.remove(key)) != null) {
+				window.put(key, w);
+			} else if ((w = protect.remove(key)) != null) {
+				protect.put(key, w);
+			} else if ((w = probation.remove(key)) != null) { // 晋升保护段
+				probationWeight -= w.intValue();
+				protectWeight += w.intValue();
+				protect.put(key, w);
+				while (protectWeight > protectMax && protect.size() > 1) { // 保护段溢出降级
+					Entry<Object, Integer> en = first(protect);
+					protect.remove(en.getKey());
+					protectWeight -= en.getValue().intValue();
+					probation.put(en.getKey(), en.getValue());
+					probationWeight += en.getValue().intValue();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 调整分区并淘汰超出容量内容
+	 * @param evicted 淘汰键值集
+	 */
+	private void balance(List<Object> evicted) {
+		long mainMax = capacity - windowMax;
+		while (windowWeight > windowMax && !window.isEmpty()) {
+			Entry<Object, Integer> c = first(window);
+			window.remove(c.getKey());
+			int cw = c.getValue().intValue();
+			windowWeight -= cw;
+			if (probationWeight + protectWeight + cw <= mainMax) {
+				admit(c);
+				continue;
+			}
+			Entry<Object, Integer> v = probation.isEmpty() ? first(protect) : first(probation);
+			if (v != null && cw <= capacity && sketch.frequency(c.getKey()) > sketch.frequency(v.getKey())) {
+				evict(v.getKey(), evicted);
+				admit(c);
+			} else {
+				evicted.add(c.getKey());
+			}
+		}
+		while (windowWeight + probationWeight + protectWeight > capacity) { // 超出总容量按最久未访问淘汰
+			Entry<Object, Integer> v = first(probation);
+			if (v == null) v = first(protect);
+			if (v == null) v = first(window);
+			if (v == null) break;
+			evict(v.getKey(), evicted);
+		}
+	}
+
+	/**
+	 * 进入主区试用段
+	 * @param en 内容项
+	 */
+	private void admit(Entry<Object, Integer> en) {
+		probation.put(en.getKey(), en.getValue());
+		probationWeight += en.getValue().intValue();
+	}
+
+	/**
+	 * 淘汰内容
+	 * @param key 键值
+	 * @param evicted 淘汰键值集
+	 */
+	private void evict(Object key, List<Object> evicted) {
+		Integer old = null;
+		if ((old = probation.remove(key)) != null) probationWeight -= old.intValue();
+		else if ((old = protect.remove(key)) != null) protectWeight -= old.intValue();
+		else if ((old = window.remove(key)) != null) windowWeight -= old.intValue();
+		evicted.add(key);
+	}
+
+	/**
+	 * 获取最久未访问项
+	 * @param map 分区
+	 * @return 内容项
+	 */
+	private Entry<Object, Integer> first(LinkedHashMap<Object, Integer> map) {
+		Iterator<Entry<Object, Integer>> it = map.entrySet().iterator();
+		if (!it.hasNext()) return null;
+		Entry<Object, Integer> en = it.next();
+		return new SimpleEntry(en.getKey(), en.getValue());
+	}
+}
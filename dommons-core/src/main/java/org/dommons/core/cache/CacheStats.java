@@ -0,0 +1,144 @@
+/*
+ * @(#)CacheStats.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+import java.io.Serializable;
+
+import org.dommons.core.string.Stringure;
+
+/**
+ * 缓存统计快照
+ * @author demon 2026-10-18
+ */
+public class CacheStats implements Serializable {
+
+	private static final long serialVersionUID = 4103462262861473219L;
+
+	private final long hits;
+	private final long misses;
+	private final long loads;
+	private final long failures;
+	private final long loadTime;
+	private final long evictions;
+	private final long expirations;
+	private final long size;
+
+	public CacheStats(long hits, long misses, long loads, long failures, long loadTime, long evictions, long expirations, long size) {
+		this.hits = hits;
+		this.misses = misses;
+		this.loads = loads;
+		this.failures = failures;
+		this.loadTime = loadTime;
+		this.evictions = evictions;
+		this.expirations = expirations;
+		this.size = size;
+	}
+
+	/**
+	 * 获取平均加载耗时
+	 * @return 平均耗时(纳秒)
+	 */
+	public double getAverageLoadPenalty() {
+		long n = loads + failures;
+		return n == 0 ? 0D : (double) loadTime / n;
+	}
+
+	/**
+	 * 获取淘汰数
+	 * @return 淘汰数
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * 获取过期数
+	 * @return 过期数
+	 */
+	public long getExpirationCount() {
+		return expirations;
+	}
+
+	/**
+	 * 获取命中数
+	 * @return 命中数
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * 获取命中率
+	 * @return 命中率 无请求时为 <code>1</code>
+	 */
+	public double getHitRate() {
+		long n = getRequestCount();
+		return n == 0 ? 1D : (double) hits / n;
+	}
+
+	/**
+	 * 获取加载失败数
+	 * @return 加载失败数
+	 */
+	public long getLoadFailureCount() {
+		return failures;
+	}
+
+	/**
+	 * 获取加载成功数
+	 * @return 加载成功数
+	 */
+	public long getLoadSuccessCount() {
+		return loads;
+	}
+
+	/**
+	 * 获取加载总耗时
+	 * @return 总耗时(纳秒)
+	 */
+	public long getTotalLoadTime() {
+		return loadTime;
+	}
+
+	/**
+	 * 获取未命中数
+	 * @return 未命中数
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * 获取请求数
+	 * @return 请求数
+	 */
+	public long getRequestCount() {
+		return hits + misses;
+	}
+
+	/**
+	 * 获取缓存项数
+	 * @return 缓存项数 <code>-1</code> 为未知
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * 计算与之前快照的差值
+	 * @param other 之前快照
+	 * @return 差值快照
+	 */
+	public CacheStats minus(CacheStats other) {
+		return new CacheStats(Math.max(0, hits - other.hits), Math.max(0, misses - other.misses), Math.max(0, loads - other.loads),
+				Math.max(0, failures - other.failures), Math.max(0, loadTime - other.loadTime), Math.max(0, evictions - other.evictions),
+				Math.max(0, expirations - other.expirations), size);
+	}
+
+	@Override
+	public String toString() {
+		return Stringure.join(' ', "hits=" + hits, "misses=" + misses, "loads=" + loads, "failures=" + failures, "loadTime=" + loadTime,
+			"evictions=" + evictions, "expirations=" + expirations, "size=" + size);
+	}
+}
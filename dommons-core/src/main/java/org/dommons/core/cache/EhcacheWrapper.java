@@ -4,27 +4,34 @@
 package org.dommons.core.cache;
 
 import net.sf.ehcache.Cache;
+import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventListener;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+import net.sf.ehcache.event.NotificationScope;
+import net.sf.ehcache.event.RegisteredEventListeners;
 
 /**
  * Ehcache 缓存包装
  * @author demon 2017-06-15
  */
-public class EhcacheWrapper<K, V> implements DataCache<K, V> {
+public class EhcacheWrapper<K, V> implements StatsCache<K, V> {
 
 	/**
 	 * 包装缓存体
 	 * @param cache Ehcache 缓存
 	 * @return 数据缓存体
 	 */
-	public static <K, V> DataCache<K, V> wrap(Cache cache) {
+	public static <K, V> StatsCache<K, V> wrap(Cache cache) {
 		return cache == null ? null : new EhcacheWrapper(cache);
 	}
 
 	protected final Cache cache;
+	private final CacheCounter counter;
 
 	protected EhcacheWrapper(Cache cache) {
 		this.cache = cache;
+		this.counter = CounterListener.attach(cache);
 	}
 
 	public void clear() {
@@ -34,20 +41,73 @@ public class EhcacheWrapper<K, V> implements DataCache<K, V> {
 	public V get(Object key) {
 		if (key == null) return null;
 		Element ele = cache.get(key);
-		return ele == null ? null : (V) ele.getObjectValue();
+		V v = ele == null ? null : (V) ele.getObjectValue();
+		if (v != null) counter.recordHit();
+		else counter.recordMiss();
+		return v;
 	}
 
 	public V remove(Object key) {
 		if (key != null) {
-			V v = get(key);
+			Element ele = cache.get(key);
+			V v = ele == null ? null : (V) ele.getObjectValue();
 			if (cache.remove(key) && v != null) return v;
 		}
 		return null;
 	}
 
+	public CacheStats stats() {
+		return counter.snapshot(cache.getSize());
+	}
+
 	public void set(K key, V value) {
 		if (key == null) return;
 		else if (value == null) remove(key);
 		else cache.put(new Element(key, value));
 	}
+
+	/**
+	 * 淘汰、过期计数监听器
+	 * <p>每个缓存只注册一个，同一缓存的多个包装共用统计，缓存销毁时注销</p>
+	 * @author demon 2026-10-18
+	 */
+	static class CounterListener extends CacheEventListenerAdapter {
+
+		/**
+		 * 获取缓存统计计数器 未注册监听器时注册
+		 * @param cache Ehcache 缓存
+		 * @return 统计计数器
+		 */
+		static CacheCounter attach(Cache cache) {
+			RegisteredEventListeners rel = cache.getCacheEventNotificationService();
+			synchronized (rel) {
+				for (CacheEventListener l : rel.getCacheEventListeners()) {
+					if (l instanceof CounterListener) return ((CounterListener) l).counter;
+				}
+				CounterListener cl = new CounterListener(rel);
+				rel.registerListener(cl, NotificationScope.LOCAL);
+				return cl.counter;
+			}
+		}
+
+		private final RegisteredEventListeners rel;
+		private final CacheCounter counter;
+
+		protected CounterListener(RegisteredEventListeners rel) {
+			this.rel = rel;
+			this.counter = new CacheCounter();
+		}
+
+		public void dispose() {
+			rel.unregisterListener(this);
+		}
+
+		public void notifyElementEvicted(Ehcache cache, Element element) {
+			counter.recordEvictions(1);
+		}
+
+		public void notifyElementExpired(Ehcache cache, Element element) {
+			counter.recordExpiration();
+		}
+	}
 }
@@ -0,0 +1,213 @@
+/*
+ * @(#)ExpiryWheel.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分层时间轮
+ * <p>
+ * 按过期时间将缓存项挂入不同精度时间轮槽，时间推进时只处理到期槽内节点，未到期节点逐层下沉，每项过期处理均摊为常数时间。新增节点先进入无锁待处理队列，推进时统一放入时间轮。同一键值替换缓存项时由新项接管原节点，不重复生成节点。
+ * </p>
+ * @author demon 2026-10-18
+ */
+class ExpiryWheel {
+
+	static final int[] buckets = { 64, 64, 32, 4, 1 };
+	static final int[] shifts = { 10, 16, 22, 27, 29 }; // 槽精度 约1秒、1分钟、1小时、1.5天、6天
+	static final int drain = 1024; // 待处理队列推进阈值
+
+	private final Node[][] wheel;
+	private final ConcurrentLinkedQueue<Node> pending;
+	private final AtomicInteger count;
+	private final ReentrantLock lock;
+	private long time;
+
+	public ExpiryWheel() {
+		this.wheel = new Node[buckets.length][];
+		for (int i = 0; i < buckets.length; i++)
+			wheel[i] = new Node[buckets[i]];
+		this.pending = new ConcurrentLinkedQueue();
+		this.count = new AtomicInteger(0);
+		this.lock = new ReentrantLock();
+		this.time = System.currentTimeMillis();
+	}
+
+	/**
+	 * 清空
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			for (Node[] ns : wheel) {
+				for (int i = 0; i < ns.length; i++) {
+					for (Node n = ns[i]; n != null; n = n.next)
+						n.owner = null; // 已移出时间轮，不可再被接管
+					ns[i] = null;
+				}
+			}
+			for (Node n = null; (n = pending.poll()) != null;)
+				n.owner = null;
+			count.set(0);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 推进时间轮处理到期节点
+	 * @param now 当前时间
+	 * @param expirer 过期处理器
+	 * @param wait 是否等待锁
+	 */
+	public void expire(long now, Expirer expirer, boolean wait) {
+		if (wait) lock.lock();
+		else if (!lock.tryLock()) return;
+		try {
+			long prev = time;
+			if (now > prev) time = now;
+			for (Node n = null; (n = pending.poll()) != null;) {
+				count.decrementAndGet();
+				if (n.deadline <= time) process(n, expirer);
+				else insert(n);
+			}
+			for (int i = 0; i < shifts.length; i++) {
+				long pt = prev >>> shifts[i], ct = time >>> shifts[i];
+				if (ct <= pt) break;
+				int mask = buckets[i] - 1, start = (int) (pt & mask), steps = (int) Math.min(ct - pt + 1, buckets[i]);
+				for (int s = 0; s < steps; s++) {
+					int x = (start + s) & mask;
+					Node n = wheel[i][x];
+					wheel[i][x] = null;
+					while (n != null) {
+						Node next = n.next;
+						n.next = null;
+						if (n.deadline <= time) process(n, expirer);
+						else insert(n);
+						n = next;
+					}
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 待处理节点数是否达到推进阈值
+	 * @return 是、否
+	 */
+	public boolean full() {
+		return count.get() >= drain;
+	}
+
+	/**
+	 * 生成节点
+	 * @param key 键值
+	 * @param owner 所属缓存项或其软、弱引用
+	 * @param deadline 过期时间
+	 * @return 节点
+	 */
+	public Node node(Object key, Object owner, long deadline) {
+		return new Node(key, owner, deadline);
+	}
+
+	/**
+	 * 加入节点
+	 * @param node 节点
+	 */
+	public void schedule(Node node) {
+		pending.offer(node);
+		count.incrementAndGet();
+	}
+
+	/**
+	 * 放入时间轮槽
+	 * @param node 节点
+	 */
+	private void insert(Node node) {
+		long delay = node.deadline - time;
+		int i = 0;
+		for (; i < shifts.length - 1; i++) {
+			if (delay < (1L << shifts[i + 1])) break;
+		}
+		int x = (int) ((node.deadline >>> shifts[i]) & (buckets[i] - 1));
+		node.next = wheel[i][x];
+		wheel[i][x] = node;
+	}
+
+	/**
+	 * 处理到期节点
+	 * @param node 节点
+	 * @param expirer 过期处理器
+	 */
+	private void process(Node node, Expirer expirer) {
+		long d = -1;
+		try {
+			d = expirer.expire(node.key, node, time);
+		} catch (Throwable t) { // ignored
+		}
+		if (d < 0) return;
+		node.deadline = Math.max(d, time + 1);
+		insert(node);
+	}
+
+	/**
+	 * 过期处理器
+	 * @author demon 2026-10-18
+	 */
+	static interface Expirer {
+		/**
+		 * 处理到期节点
+		 * @param key 键值
+		 * @param node 节点
+		 * @param now 当前时间
+		 * @return 新过期时间 小于 <code>0</code> 为已移除
+		 */
+		long expire(Object key, Node node, long now);
+	}
+
+	/**
+	 * 时间轮节点
+	 * @author demon 2026-10-18
+	 */
+	static class Node {
+
+		static final AtomicReferenceFieldUpdater<Node, Object> owners = AtomicReferenceFieldUpdater.newUpdater(Node.class,
+			Object.class, "owner");
+
+		final Object key;
+		volatile long deadline;
+		volatile Object owner;
+		Node next;
+
+		protected Node(Object key, Object owner, long deadline) {
+			this.key = key;
+			this.owner = owner;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * 释放节点 释放后节点随时间轮推进丢弃
+		 * @param expect 当前所属缓存项
+		 * @return 是否释放成功 失败为已被其它缓存项接管
+		 */
+		public boolean release(Object expect) {
+			return owners.compareAndSet(this, expect, null);
+		}
+
+		/**
+		 * 转交节点
+		 * @param expect 当前所属缓存项
+		 * @param update 新缓存项
+		 * @return 是否转交成功 失败为节点已释放或已被接管
+		 */
+		public boolean transfer(Object expect, Object update) {
+			return expect != null && owners.compareAndSet(this, expect, update);
+		}
+	}
+}
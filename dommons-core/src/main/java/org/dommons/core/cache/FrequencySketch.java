@@ -0,0 +1,104 @@
+/*
+ * @(#)FrequencySketch.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+/**
+ * 访问频率估算器
+ * <p>四位计数器 Count-Min Sketch，累计次数达到采样数时全部减半，使旧访问频率逐步衰减</p>
+ * @author demon 2026-10-18
+ */
+class FrequencySketch {
+
+	static final long[] seeds = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	static final long resetMask = 0x7777777777777777L;
+	static final long oneMask = 0x1111111111111111L;
+
+	/**
+	 * 散列哈希值
+	 * @param x 哈希值
+	 * @return 散列值
+	 */
+	static int spread(int x) {
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		x = ((x >>> 16) ^ x) * 0x45d9f3b;
+		return (x >>> 16) ^ x;
+	}
+
+	private final long[] table;
+	private final int mask;
+	private final int sample;
+	private int size;
+
+	public FrequencySketch(long capacity) {
+		int n = (int) Math.max(16, Math.min(capacity, 1 << 20));
+		this.table = new long[Integer.highestOneBit(n - 1) << 1];
+		this.mask = table.length - 1;
+		this.sample = table.length * 10;
+		this.size = 0;
+	}
+
+	/**
+	 * 估算访问频率
+	 * @param key 键值
+	 * @return 访问频率 <code>0</code>至<code>15</code>
+	 */
+	public int frequency(Object key) {
+		int h = spread(key.hashCode()), start = (h & 3) << 2, f = Integer.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			int c = (int) ((table[index(h, i)] >>> ((start + i) << 2)) & 0xfL);
+			f = Math.min(f, c);
+		}
+		return f;
+	}
+
+	/**
+	 * 累计访问
+	 * @param key 键值
+	 */
+	public void increment(Object key) {
+		int h = spread(key.hashCode()), start = (h & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++)
+			added |= increment(index(h, i), start + i);
+		if (added && ++size >= sample) reset();
+	}
+
+	/**
+	 * 累计计数器
+	 * @param i 数组序号
+	 * @param j 计数器序号
+	 * @return 是否累计成功
+	 */
+	private boolean increment(int i, int j) {
+		int offset = j << 2;
+		long m = 0xfL << offset;
+		if ((table[i] & m) == m) return false;
+		table[i] += 1L << offset;
+		return true;
+	}
+
+	/**
+	 * 计算数组序号
+	 * @param h 散列值
+	 * @param i 哈希函数序号
+	 * @return 数组序号
+	 */
+	private int index(int h, int i) {
+		long hash = (h + seeds[i]) * seeds[i];
+		hash += hash >>> 32;
+		return ((int) hash) & mask;
+	}
+
+	/**
+	 * 全部计数器减半
+	 */
+	private void reset() {
+		int odd = 0;
+		for (int i = 0; i < table.length; i++) {
+			odd += Long.bitCount(table[i] & oneMask);
+			table[i] = (table[i] >>> 1) & resetMask;
+		}
+		size = (size - (odd >>> 2)) >>> 1;
+	}
+}
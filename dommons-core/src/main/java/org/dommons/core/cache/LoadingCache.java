@@ -0,0 +1,31 @@
+/*
+ * @(#)LoadingCache.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 自动加载数据缓存
+ * <p>缓存缺失时通过加载器加载数据，同一缓存键同时只有一个加载过程，其它调用方等待加载结果</p>
+ * @author demon 2026-10-18
+ */
+public interface LoadingCache<K, V> extends DataCache<K, V> {
+
+	/**
+	 * 获取缓存数据，缺失时加载
+	 * @param key 缓存键
+	 * @param loader 加载器
+	 * @return 缓存数据
+	 */
+	public V get(K key, CacheLoader<? super K, V> loader);
+
+	/**
+	 * 批量获取缓存数据，缺失时加载
+	 * @param keys 缓存键集
+	 * @param loader 加载器 为批量加载器时缺失项一次加载
+	 * @return 缓存数据集
+	 */
+	public Map<K, V> getAll(Collection<? extends K> keys, CacheLoader<? super K, V> loader);
+}
@@ -5,14 +5,26 @@ package org.dommons.core.cache;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -23,6 +35,9 @@ import javax.management.NotificationListener;
 import org.dommons.core.Environments;
 import org.dommons.core.collections.map.concurrent.ConcurrentSoftMap;
 import org.dommons.core.collections.map.concurrent.ConcurrentWeakMap;
+import org.dommons.core.collections.map.ref.ReferenceHashMap;
+import org.dommons.core.concurrent.ThreadsExecutor;
+import org.dommons.core.convert.Converter;
 import org.dommons.core.util.Arrayard;
 import org.dommons.core.util.Randoms;
 
@@ -30,7 +45,7 @@ import org.dommons.core.util.Randoms;
  * 内存数据缓存映射集
  * @author demon 2017-06-15
  */
-public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializable {
+public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements LoadingCache<K, V>, StatsCache<K, V>, Serializable {
 
 	private static final long serialVersionUID = -2629152255106817420L;
 
@@ -39,6 +54,14 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 	private final long max;
 	private final Object k;
 	private final AtomicLong line;
+	private final CachePolicy policy;
+	private final Weigher<? super K, ? super V> weigher;
+	private final ExpiryWheel wheel;
+	private final ExpiryWheel.Expirer expirer;
+	private final ConcurrentMap<K, Loading> loadings;
+	private final int refs; // 时间轮节点引用方式 0 强引用、1 软引用缓存项、2 弱引用键及缓存项
+	private volatile long refresh;
+	private final CacheCounter counter;
 
 	public MemcacheMap() {
 		this(5000L, Long.MAX_VALUE);
@@ -52,21 +75,141 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 		this(null, timeout, max);
 	}
 
+	public MemcacheMap(long timeout, long max, long capacity) {
+		this(null, timeout, max, capacity, null);
+	}
+
+	public MemcacheMap(long timeout, long max, long capacity, Weigher<? super K, ? super V> weigher) {
+		this(null, timeout, max, capacity, weigher);
+	}
+
 	public MemcacheMap(Map<?, ?> map, long timeout, long max) {
-		this.map = map == null ? new ConcurrentSoftMap() : (Map) map;
+		this(map, timeout, max, 0, null);
+	}
+
+	/**
+	 * 构造函数
+	 * @param map 缓存映射集 为空时无容量上限使用软引用映射集，有容量上限使用强引用映射集
+	 * @param timeout 空闲超时时间
+	 * @param max 最大存活时间
+	 * @param capacity 容量上限 小于等于 <code>0</code> 为不限
+	 * @param weigher 权重计算器 为空时每项权重为 <code>1</code>
+	 */
+	public MemcacheMap(Map<?, ?> map, long timeout, long max, long capacity, Weigher<? super K, ? super V> weigher) {
+		this.policy = capacity > 0 ? new CachePolicy(capacity) : null;
+		this.weigher = weigher;
+		this.map = map != null ? (Map) map : (policy == null ? new ConcurrentSoftMap() : new ConcurrentHashMap());
+		this.refs = refs(this.map);
 		this.timeout = (timeout <= 0L ? 5000L : timeout);
 		this.max = (max < this.timeout ? this.timeout : max);
 		this.k = new Object();
 		this.line = new AtomicLong(0);
+		this.wheel = new ExpiryWheel();
+		this.expirer = new Expiry();
+		this.loadings = new ConcurrentHashMap();
+		this.counter = new CacheCounter();
 	}
 
 	public void clear() {
-		map.clear();
+		if (policy == null) {
+			map.clear();
+		} else {
+			synchronized (k) {
+				map.clear();
+				policy.clear();
+			}
+		}
+		wheel.clear();
 	}
 
 	public V get(Object key) {
 		if (key == null) return null;
-		return value(map.get(key), true, key);
+		V v = peek(key);
+		record(v != null);
+		return v;
+	}
+
+	public V get(K key, CacheLoader<? super K, V> loader) {
+		if (key == null) return null;
+		CacheItem item = map.get(key);
+		V v = value(item, true, key);
+		record(v != null);
+		if (v == null) return load(key, loader);
+		long r = refresh;
+		if (r > 0 && System.currentTimeMillis() - item.create >= r) refresh(key, item, loader);
+		return v;
+	}
+
+	public Map<K, V> getAll(Collection<? extends K> keys, CacheLoader<? super K, V> loader) {
+		Map<K, V> result = new LinkedHashMap();
+		if (keys == null) return result;
+		List<K> missing = new ArrayList();
+		for (K key : keys) {
+			if (key == null || result.containsKey(key)) continue;
+			V v = get(key);
+			if (v != null) result.put(key, v);
+			else missing.add(key);
+		}
+		if (missing.size() > 1 && loader instanceof CacheLoader.BulkLoader) {
+			Map<K, Loading> own = new LinkedHashMap(), other = new LinkedHashMap();
+			for (K key : missing) {
+				Loading l = new Loading(key, loader), o = loadings.putIfAbsent(key, l);
+				if (o == null) own.put(key, l);
+				else other.put(key, o);
+			}
+			try {
+				Map<K, V> loaded = null;
+				long start = System.nanoTime();
+				try {
+					loaded = ((CacheLoader.BulkLoader) loader).loadAll(new ArrayList(own.keySet()));
+					counter.recordLoadSuccess(System.nanoTime() - start);
+				} catch (Throwable t) {
+					counter.recordLoadFailure(System.nanoTime() - start);
+					for (Loading l : own.values())
+						l.fail(t);
+					throw Converter.F.convert(t, RuntimeException.class);
+				}
+				for (Entry<K, Loading> en : own.entrySet()) {
+					V v = loaded == null ? null : loaded.get(en.getKey());
+					if (v != null) put(en.getKey(), v);
+					en.getValue().complete(v);
+					if (v != null) result.put(en.getKey(), v);
+				}
+			} finally {
+				for (Entry<K, Loading> en : own.entrySet())
+					loadings.remove(en.getKey(), en.getValue());
+			}
+			for (Entry<K, Loading> en : other.entrySet()) {
+				V v = en.getValue().await();
+				if (v != null) result.put(en.getKey(), v);
+			}
+		} else {
+			for (K key : missing) {
+				V v = load(key, loader);
+				if (v != null) result.put(key, v);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 加载缓存数据，同一缓存键只执行一次
+	 * <p>不计入命中统计，供已通过 {@link #get(Object)} 记录未命中的调用方在未命中时加载，避免重复计数</p>
+	 * @param key 缓存键
+	 * @param loader 加载器
+	 * @return 缓存数据
+	 */
+	public V load(K key, CacheLoader<? super K, V> loader) {
+		Loading l = new Loading(key, loader), o = loadings.putIfAbsent(key, l);
+		if (o != null) return o.await();
+		try {
+			V v = peek(key); // 等待期间已加载完成
+			if (v != null) l.complete(v);
+			else l.run();
+		} finally {
+			loadings.remove(key, l);
+		}
+		return l.await();
 	}
 
 	public V put(K key, V value) {
@@ -76,17 +219,18 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 	}
 
 	public V putIfAbsent(K key, V value) {
-		if (key == null || value == null) return get(key);
-		if (map instanceof ConcurrentMap) {
+		if (key == null || value == null) return peek(key);
+		if (concurrent()) {
 			CacheItem oi = null, ci = new CacheItem(value);
 			ConcurrentMap<K, CacheItem> cm = (ConcurrentMap) map;
 			oi = cm.putIfAbsent(key, ci);
 			V old = value(oi, true, null);
-			if (oi != null && old == null) cm.replace(key, oi, ci);;
+			if (oi == null) track(key, ci, null);
+			else if (old == null && cm.replace(key, oi, ci)) track(key, ci, oi);
 			return old;
 		} else {
 			synchronized (k) {
-				V old = this.get(key);
+				V old = peek(key);
 				if (old == null) this.put(key, value);
 				return old;
 			}
@@ -100,15 +244,16 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 
 	public boolean remove(Object key, Object value) {
 		if (key == null) return false;
-		if (map instanceof ConcurrentMap) {
+		if (concurrent()) {
 			ConcurrentMap<K, CacheItem> cm = (ConcurrentMap) map;
 			CacheItem oi = cm.get(key);
 			V old = value(oi);
-			if (Arrayard.equals(value, old) || (value == null && !oi.active())) return oi != null && cm.remove(key, oi);
-			return false;
+			if (oi == null || !(Arrayard.equals(value, old) || (value == null && !oi.active())) || !cm.remove(key, oi)) return false;
+			release(oi);
+			return true;
 		} else {
 			synchronized (k) {
-				V old = get(key);
+				V old = peek(key);
 				return old != null && Arrayard.equals(old, value) && remove(key) != null;
 			}
 		}
@@ -116,10 +261,12 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 
 	public V replace(K key, V value) {
 		if (key == null) return null;
-		if (map instanceof ConcurrentMap) {
+		if (concurrent()) {
 			if (value == null) return remove(key);
 			ConcurrentMap<K, CacheItem> cm = (ConcurrentMap) map;
-			return value(cm.replace(key, new CacheItem(value)));
+			CacheItem ci = new CacheItem(value), oi = cm.replace(key, ci);
+			if (oi != null) track(key, ci, oi);
+			return value(oi);
 		} else {
 			synchronized (k) {
 				if (map.containsKey(key)) return put(key, value);
@@ -130,15 +277,23 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 
 	public boolean replace(K key, V oldValue, V newValue) {
 		if (key == null || oldValue == null) return false;
-		if (map instanceof ConcurrentMap) {
+		if (concurrent()) {
 			ConcurrentMap<K, CacheItem> cm = (ConcurrentMap) map;
 			CacheItem oi = cm.get(key);
 			V old = value(oi);
 			if (!Arrayard.equals(old, oldValue)) return false;
-			return newValue == null ? cm.remove(key, oi) : cm.replace(key, oi, new CacheItem(newValue));
+			if (newValue == null) {
+				if (!cm.remove(key, oi)) return false;
+				release(oi);
+				return true;
+			}
+			CacheItem ci = new CacheItem(newValue);
+			if (!cm.replace(key, oi, ci)) return false;
+			track(key, ci, oi);
+			return true;
 		} else {
 			synchronized (k) {
-				V old = get(key);
+				V old = peek(key);
 				if (!Arrayard.equals(old, oldValue)) return false;
 				put(key, newValue);
 				return true;
@@ -146,19 +301,35 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 		}
 	}
 
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public CacheStats stats() {
+		return counter.snapshot(map.size());
+	}
+
+	/**
+	 * 设置提前刷新时间
+	 * <p>通过加载器获取时，缓存项创建时间超过刷新时间后异步重新加载，加载完成前仍返回原缓存数据</p>
+	 * @param refresh 刷新时间(毫秒) 小于等于 <code>0</code> 为不刷新
+	 * @return 缓存映射集
+	 */
+	public MemcacheMap<K, V> setRefresh(long refresh) {
+		this.refresh = refresh;
+		return this;
+	}
+
 	/**
 	 * 执行过期清理
 	 * @return 是否清空
 	 */
 	protected boolean clean() {
-		Object[] ks = Arrayard.toArray(map.keySet(), Object.class);
-		if (ks != null) {
-			for (Object k : ks) {
-				if (k == null) continue;
-				CacheItem item = map.get(k);
-				if (item == null || item.over(System.currentTimeMillis())) $remove(k);
-			}
-		}
+		wheel.expire(System.currentTimeMillis(), expirer, true);
 		return map.isEmpty();
 	}
 
@@ -184,9 +355,10 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 		} catch (Throwable t) {
 		}
 		if (item != null && (!b || item.active())) {
+			if (b && key != null && policy != null) policy.touch(key);
 			return item.get();
 		} else {
-			if (key != null) $remove(key);
+			if (key != null && item != null) discard(key, item);
 			return null;
 		}
 	}
@@ -198,13 +370,22 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 	 * @return 原缓存项
 	 */
 	CacheItem $put(K key, CacheItem item) {
-		if (map instanceof ConcurrentMap) {
-			return map.put(key, item);
+		CacheItem old = null;
+		if (concurrent()) {
+			old = map.put(key, item);
 		} else {
 			synchronized (k) {
-				return map.put(key, item);
+				old = map.put(key, item);
+				if (policy != null) {
+					List<Object> evicted = policy.put(key, weigh(key, item.get()));
+					for (Object x : evicted)
+						release(map.remove(x));
+					counter.recordEvictions(evicted.size());
+				}
 			}
 		}
+		track(key, item, old);
+		return old;
 	}
 
 	/**
@@ -213,13 +394,137 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 	 * @return 原缓存项
 	 */
 	CacheItem $remove(Object key) {
-		if (map instanceof ConcurrentMap) {
-			return map.remove(key);
+		CacheItem old = null;
+		if (concurrent()) {
+			old = map.remove(key);
 		} else {
 			synchronized (k) {
-				return map.remove(key);
+				old = map.remove(key);
+				if (policy != null) policy.remove(key);
 			}
 		}
+		release(old);
+		return old;
+	}
+
+	/**
+	 * 异步刷新缓存数据
+	 * @param key 缓存键
+	 * @param item 原缓存项
+	 * @param loader 加载器
+	 */
+	void refresh(final K key, CacheItem item, CacheLoader<? super K, V> loader) {
+		final Loading l = new Loading(key, loader);
+		if (loadings.putIfAbsent(key, l) != null) return;
+		try {
+			Refresher.execute(new Runnable() {
+				public void run() {
+					try {
+						l.run();
+					} finally {
+						loadings.remove(key, l);
+					}
+				}
+			});
+		} catch (Throwable t) {
+			loadings.remove(key, l);
+		}
+	}
+
+	/**
+	 * 移除过期缓存项，已被替换时不移除
+	 * @param key 键值
+	 * @param item 过期缓存项
+	 */
+	void discard(Object key, CacheItem item) {
+		boolean removed = false;
+		if (concurrent()) {
+			if (removed = ((ConcurrentMap) map).remove(key, item)) release(item);
+		} else {
+			synchronized (k) {
+				if (removed = map.get(key) == item) $remove(key);
+			}
+		}
+		if (removed) counter.recordExpiration();
+	}
+
+	/**
+	 * 获取有效缓存值，不计入统计
+	 * @param key 键值
+	 * @return 缓存值
+	 */
+	V peek(Object key) {
+		return value(map.get(key), true, key);
+	}
+
+	/**
+	 * 记录命中情况
+	 * @param hit 是否命中
+	 */
+	void record(boolean hit) {
+		if (hit) counter.recordHit();
+		else counter.recordMiss();
+	}
+
+	/**
+	 * 释放缓存项时间轮节点 节点不再引用缓存项
+	 * @param item 已移除缓存项
+	 */
+	void release(CacheItem item) {
+		ExpiryWheel.Node n = item == null ? null : item.node;
+		if (n != null) n.release(item.owner);
+	}
+
+	/**
+	 * 登记缓存项过期时间
+	 * <p>替换原缓存项时接管原节点，原节点到期后按新项过期时间重新挂入时间轮</p>
+	 * @param key 键值
+	 * @param item 缓存项
+	 * @param old 原缓存项
+	 */
+	void track(K key, CacheItem item, CacheItem old) {
+		long deadline = item.deadline();
+		ExpiryWheel.Node n = old == null ? null : old.node;
+		if (n != null) {
+			if (n.deadline <= deadline && n.transfer(old.owner, item.owner)) {
+				item.node = n;
+				return;
+			}
+			n.release(old.owner);
+		}
+		n = wheel.node(refs == 2 ? new WeakReference(key) : key, item.owner, deadline);
+		item.node = n;
+		wheel.schedule(n);
+		if (wheel.full()) wheel.expire(System.currentTimeMillis(), expirer, false);
+	}
+
+	/**
+	 * 是否可直接并发操作映射集
+	 * @return 是、否
+	 */
+	private boolean concurrent() {
+		return policy == null && map instanceof ConcurrentMap;
+	}
+
+	/**
+	 * 计算缓存项权重
+	 * @param key 键值
+	 * @param value 缓存值
+	 * @return 权重
+	 */
+	private int weigh(K key, V value) {
+		return weigher == null ? 1 : Math.max(0, weigher.weigh(key, value));
+	}
+
+	/**
+	 * 判断时间轮节点引用方式
+	 * @param map 缓存映射集
+	 * @return 引用方式
+	 */
+	private static int refs(Map map) {
+		if (map instanceof ConcurrentWeakMap || map instanceof WeakHashMap) return 2;
+		else if (map instanceof ConcurrentSoftMap || map instanceof ReferenceHashMap) return 1;
+		else return 0;
 	}
 
 	private boolean needClean() {
@@ -236,6 +541,20 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 		s.defaultWriteObject();
 	}
 
+	/**
+	 * 缓存项权重计算器
+	 * @author demon 2026-10-18
+	 */
+	public static interface Weigher<K, V> {
+		/**
+		 * 计算权重
+		 * @param key 键值
+		 * @param value 缓存值
+		 * @return 权重
+		 */
+		public int weigh(K key, V value);
+	}
+
 	/**
 	 * 缓存项
 	 * @author demon 2017-06-15
@@ -246,10 +565,13 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 		private final long create;
 
 		private volatile long time;
+		volatile ExpiryWheel.Node node;
+		final Object owner; // 时间轮节点持有的缓存项引用 引用映射集中不阻止回收
 
 		protected CacheItem(V v) {
 			this.v = v;
 			create = (time = System.currentTimeMillis());
+			owner = refs == 0 ? this : (refs == 1 ? new SoftReference(this) : new WeakReference(this));
 		}
 
 		/**
@@ -265,6 +587,15 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 			return true;
 		}
 
+		/**
+		 * 计算过期时间
+		 * @return 过期时间
+		 */
+		public long deadline() {
+			long d = time + timeout;
+			return max > Long.MAX_VALUE - create ? d : Math.min(d, create + max);
+		}
+
 		/**
 		 * 获取缓存值
 		 * @return 缓存值
@@ -283,6 +614,110 @@ public class MemcacheMap<K, V> extends DataCacheMap<K, V> implements Serializabl
 		}
 	}
 
+	/**
+	 * 缓存加载过程
+	 * @author demon 2026-10-18
+	 */
+	class Loading extends FutureTask<V> {
+
+		protected Loading(final K key, final CacheLoader<? super K, V> loader) {
+			super(new Callable<V>() {
+				public V call() throws Exception {
+					long start = System.nanoTime();
+					V v = null;
+					try {
+						v = loader.load(key);
+					} catch (Exception e) {
+						counter.recordLoadFailure(System.nanoTime() - start);
+						throw e;
+					}
+					counter.recordLoadSuccess(System.nanoTime() - start);
+					if (v != null) put(key, v);
+					return v;
+				}
+			});
+		}
+
+		/**
+		 * 等待加载结果
+		 * @return 缓存数据
+		 */
+		public V await() {
+			try {
+				return get();
+			} catch (ExecutionException e) {
+				throw Converter.F.convert(e.getCause(), RuntimeException.class);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw Converter.F.convert(e, RuntimeException.class);
+			}
+		}
+
+		/**
+		 * 设置加载结果
+		 * @param v 缓存数据
+		 */
+		public void complete(V v) {
+			set(v);
+		}
+
+		/**
+		 * 设置加载失败
+		 * @param t 异常
+		 */
+		public void fail(Throwable t) {
+			setException(t);
+		}
+	}
+
+	/**
+	 * 缓存过期处理器
+	 * @author demon 2026-10-18
+	 */
+	class Expiry implements ExpiryWheel.Expirer {
+		public long expire(Object key, ExpiryWheel.Node node, long now) {
+			if (refs == 2) key = ((Reference) key).get();
+			for (;;) {
+				Object o = node.owner;
+				if (o == null) return -1;
+				CacheItem item = (CacheItem) (refs == 0 ? o : ((Reference) o).get());
+				if (item != null && key != null && map.get(key) == item) {
+					if (!item.over(now)) return item.deadline();
+					discard(key, item);
+				}
+				if (node.release(o)) return -1; // 已移除、已过期、已回收或已被替换
+			}
+		}
+	}
+
+	/**
+	 * 缓存刷新执行器
+	 * @author demon 2026-10-18
+	 */
+	static class Refresher {
+
+		static volatile ExecutorService executor;
+
+		/**
+		 * 执行刷新任务
+		 * @param r 刷新任务
+		 */
+		static void execute(Runnable r) {
+			if (executor == null) {
+				synchronized (Refresher.class) {
+					if (executor == null) executor = new ThreadsExecutor(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+						public Thread newThread(Runnable r) {
+							Thread t = new Thread(r, "cache-refresher");
+							t.setDaemon(true);
+							return t;
+						}
+					});
+				}
+			}
+			executor.execute(r);
+		}
+	}
+
 	/**
 	 * 缓存清理
 	 * @author demon 2019-02-25
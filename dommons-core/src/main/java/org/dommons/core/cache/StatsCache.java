@@ -0,0 +1,17 @@
+/*
+ * @(#)StatsCache.java     2026-10-18
+ */
+package org.dommons.core.cache;
+
+/**
+ * 可统计数据缓存
+ * @author demon 2026-10-18
+ */
+public interface StatsCache<K, V> extends DataCache<K, V> {
+
+	/**
+	 * 获取统计快照
+	 * @return 统计快照
+	 */
+	public CacheStats stats();
+}
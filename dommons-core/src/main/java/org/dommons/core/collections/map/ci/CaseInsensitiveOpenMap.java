@@ -0,0 +1,534 @@
+/*
+ * @(#)CaseInsensitiveOpenMap.java     2026-10-18
+ */
+package org.dommons.core.collections.map.ci;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.dommons.core.util.Arrayard;
+
+/**
+ * 无视键值大小写的开放寻址映射表
+ * <p>
+ * 按忽略大小写的哈希值线性探测，直接逐字符比较，不生成大小写转换后的键及二级索引。支持多个大小写不同的键并存，查找时优先完全匹配，其次最相似的键。非线程安全
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class CaseInsensitiveOpenMap<V> extends AbstractMap<String, V> implements CaseInsensitiveMap<V>, Serializable {
+
+	private static final long serialVersionUID = -3725410284377815169L;
+
+	private static final String REMOVED = new String("<removed>"); // 删除标记
+	private static final int MIN_CAPACITY = 8;
+	static final long MISMATCH = Long.MIN_VALUE;
+
+	/**
+	 * 比较键差距 与 {@link AbsCaseInsensitiveMap#compareKeys(String, String)} 相似度规则一致
+	 * @param source 查找键
+	 * @param target 现有键
+	 * @return 差距 <code>0</code> 为完全相同 {@link #MISMATCH} 为忽略大小写不同
+	 */
+	static long compare(String source, String target) {
+		int len = source.length();
+		if (len != target.length()) return MISMATCH;
+		int compare = 0;
+		for (int i = 0; i < len; i++) {
+			char x = source.charAt(i), y = target.charAt(i);
+			if (x == y) continue;
+			if (fold(x) != fold(y)) return MISMATCH;
+			compare = (compare * len) + i + 1;
+		}
+		return compare;
+	}
+
+	/**
+	 * 忽略大小写折叠字符
+	 * @param c 字符
+	 * @return 折叠后字符
+	 */
+	static char fold(char c) {
+		if (c < 128) return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * 计算忽略大小写哈希值
+	 * @param key 键
+	 * @return 哈希值
+	 */
+	static int hash(String key) {
+		int h = 0;
+		for (int i = 0, len = key.length(); i < len; i++) {
+			int c = key.charAt(i);
+			if (c >= 128) c = fold((char) c);
+			h = 31 * h + (c < 128 ? c | 0x20 : c); // ASCII 字母大小写仅差 0x20 位，折叠后哈希一致
+		}
+		return h;
+	}
+
+	/**
+	 * 是否忽略大小写相同
+	 * @param a 键
+	 * @param b 键
+	 * @return 是、否
+	 */
+	static boolean same(String a, String b) {
+		int len = a.length();
+		if (len != b.length()) return false;
+		for (int i = 0; i < len; i++) {
+			char x = a.charAt(i), y = b.charAt(i);
+			if (x != y && fold(x) != fold(y)) return false;
+		}
+		return true;
+	}
+
+	private final boolean caseInsensitive;
+
+	private transient String[] keys;
+	private transient Object[] vals;
+	private transient int[] hashes;
+	private transient int size;
+	private transient int used; // 已占用槽数 含删除标记
+	private transient int bits;
+	private transient int modCount;
+
+	private transient boolean hasNull;
+	private transient V nullValue;
+
+	private transient Set<Map.Entry<String, V>> entrySet;
+
+	public CaseInsensitiveOpenMap() {
+		this(false);
+	}
+
+	/**
+	 * 构造函数
+	 * @param caseInsensitive 是否默认写入无视大小写
+	 */
+	public CaseInsensitiveOpenMap(boolean caseInsensitive) {
+		this(MIN_CAPACITY, caseInsensitive);
+	}
+
+	/**
+	 * 构造函数
+	 * @param initialCapacity 初始容量
+	 * @param caseInsensitive 是否默认写入无视大小写
+	 */
+	public CaseInsensitiveOpenMap(int initialCapacity, boolean caseInsensitive) {
+		this.caseInsensitive = caseInsensitive;
+		init(capacity(initialCapacity));
+	}
+
+	public void clear() {
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = null;
+			vals[i] = null;
+		}
+		size = used = 0;
+		hasNull = false;
+		nullValue = null;
+		modCount++;
+	}
+
+	public boolean containsKey(Object key) {
+		if (key == null) return hasNull;
+		return key instanceof String && indexOf((String) key) >= 0;
+	}
+
+	public boolean containsValue(Object value) {
+		if (hasNull && Arrayard.equals(nullValue, value)) return true;
+		for (int i = 0; i < keys.length; i++) {
+			String k = keys[i];
+			if (k != null && k != REMOVED && Arrayard.equals(vals[i], value)) return true;
+		}
+		return false;
+	}
+
+	public boolean defaultWithCaseInsensitive() {
+		return caseInsensitive;
+	}
+
+	public Set<Map.Entry<String, V>> entrySet() {
+		Set<Map.Entry<String, V>> es = entrySet;
+		return es != null ? es : (entrySet = new EntrySet());
+	}
+
+	public V get(Object key) {
+		if (key == null) return nullValue;
+		if (!(key instanceof String)) return null;
+		int i = indexOf((String) key);
+		return i < 0 ? null : (V) vals[i];
+	}
+
+	public String getCaseInsensitivekey(String key) {
+		if (key == null) return null;
+		int i = indexOf(key);
+		return i < 0 ? key : keys[i];
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public V put(String key, V value) {
+		return caseInsensitive ? putWithCaseInsensitive(key, value) : putNoCaseInsensitive(key, value);
+	}
+
+	public V putNoCaseInsensitive(String key, V value) {
+		if (key == null) return putNull(value);
+		int h = hash(key), mask = keys.length - 1, free = -1;
+		for (int i = index(h);; i = (i + 1) & mask) {
+			String k = keys[i];
+			if (k == null) {
+				insert(free < 0 ? i : free, key, value, h);
+				return null;
+			} else if (k == REMOVED) {
+				if (free < 0) free = i;
+			} else if (hashes[i] == h && (k == key || k.equals(key))) {
+				V o = (V) vals[i];
+				vals[i] = value;
+				return o;
+			}
+		}
+	}
+
+	public V putWithCaseInsensitive(String key, V value) {
+		if (key == null) return putNull(value);
+		int i = indexOf(key);
+		if (i < 0) return putNoCaseInsensitive(key, value);
+		V o = (V) vals[i];
+		vals[i] = value;
+		return o;
+	}
+
+	public V remove(Object key) {
+		if (key == null) {
+			V o = nullValue;
+			if (hasNull) {
+				hasNull = false;
+				nullValue = null;
+				size--;
+				modCount++;
+			}
+			return o;
+		}
+		if (!(key instanceof String)) return null;
+		int i = indexOf((String) key);
+		if (i < 0) return null;
+		V o = (V) vals[i];
+		removeAt(i);
+		return o;
+	}
+
+	public boolean removeAll(Object key) {
+		if (key == null) {
+			boolean had = hasNull;
+			remove(null);
+			return had;
+		}
+		if (!(key instanceof String)) return false;
+		String s = (String) key;
+		int h = hash(s), mask = keys.length - 1;
+		boolean modified = false;
+		for (int i = index(h);; i = (i + 1) & mask) {
+			String k = keys[i];
+			if (k == null) break;
+			if (k != REMOVED && hashes[i] == h && same(k, s)) {
+				removeAt(i);
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 计算容量
+	 * @param n 元素数
+	 * @return 容量
+	 */
+	int capacity(int n) {
+		int c = MIN_CAPACITY;
+		while (c < (long) Math.max(n, 0) * 4 / 3 + 1 && c < (1 << 30))
+			c <<= 1;
+		return c;
+	}
+
+	/**
+	 * 计算起始槽位
+	 * @param h 哈希值
+	 * @return 槽位
+	 */
+	int index(int h) {
+		return (h * 0x9E3779B9) >>> (32 - bits);
+	}
+
+	/**
+	 * 查找键槽位 优先完全匹配，其次最相似
+	 * @param key 键
+	 * @return 槽位 <code>-1</code> 为不存在
+	 */
+	int indexOf(String key) {
+		int h = hash(key), mask = keys.length - 1, best = -1, compare = 0;
+		for (int i = index(h);; i = (i + 1) & mask) {
+			String k = keys[i];
+			if (k == null) return best;
+			if (k == REMOVED || hashes[i] != h) continue;
+			if (k == key) return i;
+			long c = compare(key, k);
+			if (c == 0) return i;
+			else if (c != MISMATCH && (best < 0 || (int) c < compare)) {
+				best = i;
+				compare = (int) c;
+			}
+		}
+	}
+
+	/**
+	 * 初始化哈希表
+	 * @param capacity 容量
+	 */
+	private void init(int capacity) {
+		this.keys = new String[capacity];
+		this.vals = new Object[capacity];
+		this.hashes = new int[capacity];
+		this.bits = Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/**
+	 * 写入空槽
+	 * @param i 槽位
+	 * @param key 键
+	 * @param value 值
+	 * @param h 哈希值
+	 */
+	private void insert(int i, String key, V value, int h) {
+		if (keys[i] == null) used++;
+		keys[i] = key;
+		vals[i] = value;
+		hashes[i] = h;
+		size++;
+		modCount++;
+		if (used > keys.length * 3 / 4) rehash(size > keys.length / 2 ? keys.length << 1 : keys.length);
+	}
+
+	/**
+	 * 写入空键值
+	 * @param value 值
+	 * @return 原值
+	 */
+	private V putNull(V value) {
+		V o = nullValue;
+		if (!hasNull) {
+			hasNull = true;
+			size++;
+			modCount++;
+		}
+		nullValue = value;
+		return o;
+	}
+
+	/**
+	 * 重建哈希表 清除删除标记
+	 * @param capacity 新容量
+	 */
+	private void rehash(int capacity) {
+		String[] ks = keys;
+		Object[] vs = vals;
+		int[] hs = hashes;
+		init(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < ks.length; j++) {
+			String k = ks[j];
+			if (k == null || k == REMOVED) continue;
+			int i = index(hs[j]);
+			while (keys[i] != null)
+				i = (i + 1) & mask;
+			keys[i] = k;
+			vals[i] = vs[j];
+			hashes[i] = hs[j];
+		}
+		used = hasNull ? size - 1 : size;
+	}
+
+	/**
+	 * 移除槽位元素
+	 * @param i 槽位
+	 */
+	private void removeAt(int i) {
+		keys[i] = REMOVED;
+		vals[i] = null;
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * 序列化读取
+	 * @param s 序列化输入流
+	 * @throws java.io.IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		int n = s.readInt();
+		init(capacity(n));
+		for (int i = 0; i < n; i++)
+			putNoCaseInsensitive((String) s.readObject(), (V) s.readObject());
+	}
+
+	/**
+	 * 序列化写入
+	 * @param s 序列化输出流
+	 * @throws java.io.IOException
+	 */
+	private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException {
+		s.defaultWriteObject();
+		s.writeInt(size);
+		for (Map.Entry<String, V> en : entrySet()) {
+			s.writeObject(en.getKey());
+			s.writeObject(en.getValue());
+		}
+	}
+
+	/**
+	 * 元素项集
+	 * @author demon 2026-10-18
+	 */
+	class EntrySet extends AbstractSet<Map.Entry<String, V>> {
+
+		public void clear() {
+			CaseInsensitiveOpenMap.this.clear();
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			Object k = e.getKey();
+			if (k != null && !(k instanceof String)) return false;
+			int i = k == null ? -1 : indexOf((String) k);
+			if (k == null ? !hasNull : i < 0 || !keys[i].equals(k)) return false;
+			return Arrayard.equals(k == null ? nullValue : vals[i], e.getValue());
+		}
+
+		public Iterator<Map.Entry<String, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		public boolean remove(Object o) {
+			if (!contains(o)) return false;
+			CaseInsensitiveOpenMap.this.remove(((Map.Entry) o).getKey());
+			return true;
+		}
+
+		public int size() {
+			return size;
+		}
+	}
+
+	/**
+	 * 元素项
+	 * @author demon 2026-10-18
+	 */
+	class OpenEntry implements Map.Entry<String, V> {
+
+		private final int index;
+		private final String key;
+
+		protected OpenEntry(int index) {
+			this.index = index;
+			this.key = index < 0 ? null : keys[index];
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			return Arrayard.equals(getKey(), e.getKey()) && Arrayard.equals(getValue(), e.getValue());
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public V getValue() {
+			if (index < 0) return nullValue;
+			return keys.length > index && keys[index] == key ? (V) vals[index] : null;
+		}
+
+		public int hashCode() {
+			String k = getKey();
+			V v = getValue();
+			return (k == null ? 0 : k.hashCode()) ^ (v == null ? 0 : v.hashCode());
+		}
+
+		public V setValue(V value) {
+			V o = getValue();
+			if (index < 0) nullValue = value;
+			else if (keys.length > index && keys[index] == key) vals[index] = value;
+			else putNoCaseInsensitive(key, value);
+			return o;
+		}
+
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+
+	/**
+	 * 元素项迭代器
+	 * @author demon 2026-10-18
+	 */
+	class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+		private int next;
+		private int last;
+		private int expectedModCount;
+
+		protected EntryIterator() {
+			this.next = hasNull ? -1 : advance(0);
+			this.last = -2;
+			this.expectedModCount = modCount;
+		}
+
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		public Map.Entry<String, V> next() {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (next >= keys.length) throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			return new OpenEntry(last);
+		}
+
+		public void remove() {
+			if (last == -2) throw new IllegalStateException();
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (last < 0) CaseInsensitiveOpenMap.this.remove(null);
+			else removeAt(last);
+			expectedModCount = modCount;
+			last = -2;
+		}
+
+		/**
+		 * 查找下一个元素槽位
+		 * @param i 起始槽位
+		 * @return 槽位
+		 */
+		private int advance(int i) {
+			while (i < keys.length && (keys[i] == null || keys[i] == REMOVED))
+				i++;
+			return i;
+		}
+	}
+}
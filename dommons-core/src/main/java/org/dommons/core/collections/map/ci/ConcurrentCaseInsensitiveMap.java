@@ -0,0 +1,581 @@
+/*
+ * @(#)ConcurrentCaseInsensitiveMap.java     2026-10-18
+ */
+package org.dommons.core.collections.map.ci;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 线程安全的无视键值大小写映射表
+ * <p>
+ * 按忽略大小写的哈希值分段，写入仅锁定所在分段，读取无锁，适用于进程级共享的查找表。查找规则与 {@link CaseInsensitiveOpenMap} 一致，优先完全匹配，其次最相似的键。迭代为弱一致性，不抛出并发修改异常。键值均不可为空
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class ConcurrentCaseInsensitiveMap<V> extends AbstractMap<String, V> implements CaseInsensitiveMap<V>, ConcurrentMap<String, V>,
+		Serializable {
+
+	private static final long serialVersionUID = 5129336075617263483L;
+
+	static final int DEFAULT_SEGMENTS = 16;
+	static final int MAX_SEGMENTS = 1 << 8;
+	static final int MIN_CAPACITY = 4;
+	static final int MAX_CAPACITY = 1 << 26;
+
+	/**
+	 * 计算忽略大小写哈希值
+	 * @param key 键
+	 * @return 哈希值
+	 */
+	static int hash(String key) {
+		int h = CaseInsensitiveOpenMap.hash(key);
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		return h ^ (h >>> 13);
+	}
+
+	private final boolean caseInsensitive;
+	private final int concurrency;
+
+	transient Segment<V>[] segments;
+	private transient int shift;
+
+	transient Set<Map.Entry<String, V>> entrySet;
+
+	public ConcurrentCaseInsensitiveMap() {
+		this(false);
+	}
+
+	/**
+	 * 构造函数
+	 * @param caseInsensitive 是否默认写入无视大小写
+	 */
+	public ConcurrentCaseInsensitiveMap(boolean caseInsensitive) {
+		this(DEFAULT_SEGMENTS, caseInsensitive);
+	}
+
+	/**
+	 * 构造函数
+	 * @param concurrency 并发分段数
+	 * @param caseInsensitive 是否默认写入无视大小写
+	 */
+	public ConcurrentCaseInsensitiveMap(int concurrency, boolean caseInsensitive) {
+		int n = 1;
+		while (n < Math.min(Math.max(concurrency, 1), MAX_SEGMENTS))
+			n <<= 1;
+		this.concurrency = n;
+		this.caseInsensitive = caseInsensitive;
+		init();
+	}
+
+	public void clear() {
+		for (Segment<V> s : segments)
+			s.clear();
+	}
+
+	public boolean containsKey(Object key) {
+		return find(key) != null;
+	}
+
+	public boolean containsValue(Object value) {
+		if (value == null) return false;
+		for (Segment<V> s : segments) {
+			AtomicReferenceArray<Node<V>> tab = s.table;
+			for (int i = 0; i < tab.length(); i++) {
+				for (Node<V> n = tab.get(i); n != null; n = n.next)
+					if (value.equals(n.value)) return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean defaultWithCaseInsensitive() {
+		return caseInsensitive;
+	}
+
+	public Set<Map.Entry<String, V>> entrySet() {
+		Set<Map.Entry<String, V>> es = entrySet;
+		return es != null ? es : (entrySet = new EntrySet());
+	}
+
+	public V get(Object key) {
+		Node<V> n = find(key);
+		return n == null ? null : n.value;
+	}
+
+	public String getCaseInsensitivekey(String key) {
+		Node<V> n = find(key);
+		return n == null ? key : n.key;
+	}
+
+	public boolean isEmpty() {
+		for (Segment<V> s : segments) {
+			if (s.count != 0) return false;
+		}
+		return true;
+	}
+
+	public V put(String key, V value) {
+		return caseInsensitive ? putWithCaseInsensitive(key, value) : putNoCaseInsensitive(key, value);
+	}
+
+	public void putAll(Map<? extends String, ? extends V> m) {
+		if (m == null) return;
+		for (Map.Entry<? extends String, ? extends V> en : m.entrySet())
+			put(en.getKey(), en.getValue());
+	}
+
+	public V putIfAbsent(String key, V value) {
+		if (key == null || value == null) throw new NullPointerException();
+		int h = hash(key);
+		return segmentFor(h).put(key, h, value, true, true);
+	}
+
+	public V putNoCaseInsensitive(String key, V value) {
+		if (key == null || value == null) throw new NullPointerException();
+		int h = hash(key);
+		return segmentFor(h).put(key, h, value, false, false);
+	}
+
+	public V putWithCaseInsensitive(String key, V value) {
+		if (key == null || value == null) throw new NullPointerException();
+		int h = hash(key);
+		return segmentFor(h).put(key, h, value, true, false);
+	}
+
+	public V remove(Object key) {
+		if (!(key instanceof String)) return null;
+		String k = (String) key;
+		int h = hash(k);
+		return segmentFor(h).remove(k, h, null, false);
+	}
+
+	public boolean remove(Object key, Object value) {
+		if (!(key instanceof String) || value == null) return false;
+		String k = (String) key;
+		int h = hash(k);
+		return segmentFor(h).remove(k, h, value, false) != null;
+	}
+
+	public boolean removeAll(Object key) {
+		if (!(key instanceof String)) return false;
+		String k = (String) key;
+		int h = hash(k);
+		return segmentFor(h).removeAll(k, h);
+	}
+
+	public V replace(String key, V value) {
+		if (key == null || value == null) throw new NullPointerException();
+		int h = hash(key);
+		return segmentFor(h).replace(key, h, null, value);
+	}
+
+	public boolean replace(String key, V oldValue, V newValue) {
+		if (key == null || oldValue == null || newValue == null) throw new NullPointerException();
+		int h = hash(key);
+		return segmentFor(h).replace(key, h, oldValue, newValue) != null;
+	}
+
+	public int size() {
+		long n = 0;
+		for (Segment<V> s : segments)
+			n += s.count;
+		return (int) Math.min(n, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * 查找键节点 无锁
+	 * @param key 键
+	 * @return 节点 不存在返回<code>null</code>
+	 */
+	Node<V> find(Object key) {
+		if (!(key instanceof String)) return null;
+		String k = (String) key;
+		int h = hash(k);
+		return segmentFor(h).find(k, h);
+	}
+
+	/**
+	 * 初始化分段
+	 */
+	void init() {
+		Segment<V>[] ss = new Segment[concurrency];
+		for (int i = 0; i < ss.length; i++)
+			ss[i] = new Segment();
+		this.shift = 32 - Integer.numberOfTrailingZeros(concurrency);
+		this.segments = ss;
+	}
+
+	/**
+	 * 获取哈希值所在分段
+	 * @param h 哈希值
+	 * @return 分段
+	 */
+	Segment<V> segmentFor(int h) {
+		return shift == 32 ? segments[0] : segments[h >>> shift];
+	}
+
+	/**
+	 * 序列化读取
+	 * @param s 序列化输入流
+	 * @throws java.io.IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		init();
+		for (int i = s.readInt(); i > 0; i--)
+			putNoCaseInsensitive((String) s.readObject(), (V) s.readObject());
+	}
+
+	/**
+	 * 序列化写入
+	 * @param s 序列化输出流
+	 * @throws java.io.IOException
+	 */
+	private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException {
+		s.defaultWriteObject();
+		List<Map.Entry<String, V>> list = new ArrayList(entrySet());
+		s.writeInt(list.size());
+		for (Map.Entry<String, V> en : list) {
+			s.writeObject(en.getKey());
+			s.writeObject(en.getValue());
+		}
+	}
+
+	/**
+	 * 元素项集
+	 * @author demon 2026-10-18
+	 */
+	class EntrySet extends AbstractSet<Map.Entry<String, V>> {
+
+		public void clear() {
+			ConcurrentCaseInsensitiveMap.this.clear();
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			Node<V> n = find(e.getKey());
+			return n != null && n.key.equals(e.getKey()) && n.value.equals(e.getValue());
+		}
+
+		public Iterator<Map.Entry<String, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		public boolean remove(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			if (!(e.getKey() instanceof String) || e.getValue() == null) return false;
+			String k = (String) e.getKey();
+			int h = hash(k);
+			return segmentFor(h).remove(k, h, e.getValue(), true) != null;
+		}
+
+		public int size() {
+			return ConcurrentCaseInsensitiveMap.this.size();
+		}
+	}
+
+	/**
+	 * 元素项迭代器 弱一致性
+	 * @author demon 2026-10-18
+	 */
+	class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+		private int segment;
+		private int bucket;
+		private AtomicReferenceArray<Node<V>> table;
+		private Node<V> next;
+		private Node<V> last;
+
+		protected EntryIterator() {
+			advance();
+		}
+
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		public Map.Entry<String, V> next() {
+			if (next == null) throw new NoSuchElementException();
+			last = next;
+			advance();
+			return new WriteEntry(last.key, last.value);
+		}
+
+		public void remove() {
+			if (last == null) throw new IllegalStateException();
+			segmentFor(last.hash).remove(last.key, last.hash, null, true);
+			last = null;
+		}
+
+		/**
+		 * 移至下一节点
+		 */
+		private void advance() {
+			if (next != null) next = next.next;
+			while (next == null) {
+				if (table != null && bucket < table.length()) {
+					next = table.get(bucket++);
+				} else if (segment < segments.length) {
+					table = segments[segment++].table;
+					bucket = 0;
+				} else {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 哈希节点 键及链接不可变，值可见性由 volatile 保证
+	 * @param <V> 值类型
+	 * @author demon 2026-10-18
+	 */
+	static final class Node<V> {
+
+		final String key;
+		final int hash;
+		final Node<V> next;
+		volatile V value;
+
+		protected Node(String key, int hash, V value, Node<V> next) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+	}
+
+	/**
+	 * 分段 写入持有本段锁，读取不加锁
+	 * @param <V> 值类型
+	 * @author demon 2026-10-18
+	 */
+	static final class Segment<V> extends ReentrantLock {
+
+		private static final long serialVersionUID = -7914186524271045437L;
+
+		volatile AtomicReferenceArray<Node<V>> table;
+		volatile int count;
+		private int threshold;
+
+		protected Segment() {
+			table(new AtomicReferenceArray(MIN_CAPACITY));
+		}
+
+		/**
+		 * 清空
+		 */
+		void clear() {
+			lock();
+			try {
+				if (count == 0) return;
+				table(new AtomicReferenceArray(MIN_CAPACITY));
+				count = 0;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 查找节点 优先完全匹配，其次最相似
+		 * @param key 键
+		 * @param h 哈希值
+		 * @return 节点
+		 */
+		Node<V> find(String key, int h) {
+			AtomicReferenceArray<Node<V>> tab = table;
+			Node<V> best = null;
+			int compare = 0;
+			for (Node<V> n = tab.get(h & (tab.length() - 1)); n != null; n = n.next) {
+				if (n.hash != h) continue;
+				String k = n.key;
+				if (k == key) return n;
+				long c = CaseInsensitiveOpenMap.compare(key, k);
+				if (c == 0) {
+					return n;
+				} else if (c != CaseInsensitiveOpenMap.MISMATCH && (best == null || (int) c < compare)) {
+					best = n;
+					compare = (int) c;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * 写入
+		 * @param key 键
+		 * @param h 哈希值
+		 * @param value 值
+		 * @param ci 是否无视大小写匹配现有键
+		 * @param onlyIfAbsent 是否仅不存在时写入
+		 * @return 原值
+		 */
+		V put(String key, int h, V value, boolean ci, boolean onlyIfAbsent) {
+			lock();
+			try {
+				Node<V> n = ci ? find(key, h) : exact(key, h);
+				if (n != null) {
+					V o = n.value;
+					if (!onlyIfAbsent) n.value = value;
+					return o;
+				}
+				if (count >= threshold) rehash();
+				AtomicReferenceArray<Node<V>> tab = table;
+				int i = h & (tab.length() - 1);
+				tab.set(i, new Node(key, h, value, tab.get(i)));
+				count++;
+				return null;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 移除
+		 * @param key 键
+		 * @param h 哈希值
+		 * @param value 期望值 为空时不校验
+		 * @param exact 是否仅完全匹配
+		 * @return 原值 未移除返回<code>null</code>
+		 */
+		V remove(String key, int h, Object value, boolean exact) {
+			lock();
+			try {
+				Node<V> n = exact ? exact(key, h) : find(key, h);
+				if (n == null || (value != null && !value.equals(n.value))) return null;
+				unlink(n);
+				return n.value;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 移除全部相似键
+		 * @param key 键
+		 * @param h 哈希值
+		 * @return 是否移除
+		 */
+		boolean removeAll(String key, int h) {
+			lock();
+			try {
+				boolean modified = false;
+				for (Node<V> n; (n = find(key, h)) != null; modified = true)
+					unlink(n);
+				return modified;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 替换
+		 * @param key 键
+		 * @param h 哈希值
+		 * @param expect 期望值 为空时不校验
+		 * @param value 新值
+		 * @return 原值 未替换返回<code>null</code>
+		 */
+		V replace(String key, int h, V expect, V value) {
+			lock();
+			try {
+				Node<V> n = find(key, h);
+				if (n == null || (expect != null && !expect.equals(n.value))) return null;
+				V o = n.value;
+				n.value = value;
+				return o;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * 查找完全匹配节点
+		 * @param key 键
+		 * @param h 哈希值
+		 * @return 节点
+		 */
+		private Node<V> exact(String key, int h) {
+			AtomicReferenceArray<Node<V>> tab = table;
+			for (Node<V> n = tab.get(h & (tab.length() - 1)); n != null; n = n.next) {
+				if (n.hash == h && key.equals(n.key)) return n;
+			}
+			return null;
+		}
+
+		/**
+		 * 扩容 复制节点后整体替换哈希表，读取线程仍可遍历旧表
+		 */
+		private void rehash() {
+			AtomicReferenceArray<Node<V>> old = table;
+			int len = old.length();
+			if (len >= MAX_CAPACITY) return;
+			AtomicReferenceArray<Node<V>> tab = new AtomicReferenceArray(len << 1);
+			int mask = tab.length() - 1;
+			for (int j = 0; j < len; j++) {
+				for (Node<V> n = old.get(j); n != null; n = n.next) {
+					int i = n.hash & mask;
+					tab.set(i, new Node(n.key, n.hash, n.value, tab.get(i)));
+				}
+			}
+			table(tab);
+		}
+
+		/**
+		 * 设置哈希表
+		 * @param tab 哈希表
+		 */
+		private void table(AtomicReferenceArray<Node<V>> tab) {
+			this.threshold = tab.length() * 3 / 4;
+			this.table = tab;
+		}
+
+		/**
+		 * 摘除节点 复制其前序节点，不修改已发布节点
+		 * @param target 目标节点
+		 */
+		private void unlink(Node<V> target) {
+			AtomicReferenceArray<Node<V>> tab = table;
+			int i = target.hash & (tab.length() - 1);
+			Node<V> head = target.next;
+			for (Node<V> p = tab.get(i); p != target; p = p.next)
+				head = new Node(p.key, p.hash, p.value, head);
+			tab.set(i, head);
+			count--;
+		}
+	}
+
+	/**
+	 * 快照元素项 修改值时写回映射表
+	 * @author demon 2026-10-18
+	 */
+	class WriteEntry extends AbstractMap.SimpleEntry<String, V> {
+
+		private static final long serialVersionUID = -4417203519452913071L;
+
+		protected WriteEntry(String key, V value) {
+			super(key, value);
+		}
+
+		public V setValue(V value) {
+			V v = super.setValue(value);
+			putNoCaseInsensitive(getKey(), value);
+			return v;
+		}
+	}
+}
@@ -0,0 +1,420 @@
+/*
+ * @(#)ConcurrentSegmentMap.java     2026-10-18
+ */
+package org.dommons.core.collections.map.concurrent;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.dommons.core.util.Arrayard;
+
+/**
+ * 分段线程安全映射表
+ * <p>
+ * 按键哈希值分段，每段为独立映射表及独立锁，各段内引用释放抹去仅锁定本段，不同段读写互不阻塞。迭代为各段快照，不抛出并发修改异常。
+ * </p>
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author demon 2026-10-18
+ */
+public abstract class ConcurrentSegmentMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, Serializable {
+
+	private static final long serialVersionUID = -6143542117290467461L;
+
+	static final int DEFAULT_SEGMENTS = 16;
+	static final int MAX_SEGMENTS = 1 << 8;
+
+	/**
+	 * 计算哈希值
+	 * @param key 键
+	 * @return 哈希值
+	 */
+	static int hash(Object key) {
+		int h = key == null ? 0 : key.hashCode();
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		return h ^ (h >>> 13);
+	}
+
+	transient Segment<K, V>[] segments;
+	private transient int shift;
+	private final int concurrency;
+
+	transient Set<Map.Entry<K, V>> entrySet;
+
+	protected ConcurrentSegmentMap() {
+		this(DEFAULT_SEGMENTS);
+	}
+
+	/**
+	 * 构造函数
+	 * @param concurrency 并发分段数
+	 */
+	protected ConcurrentSegmentMap(int concurrency) {
+		int n = 1;
+		while (n < Math.min(Math.max(concurrency, 1), MAX_SEGMENTS))
+			n <<= 1;
+		this.concurrency = n;
+		init();
+	}
+
+	public void clear() {
+		for (Segment<K, V> s : segments) {
+			s.lock();
+			try {
+				s.map.clear();
+			} finally {
+				s.unlock();
+			}
+		}
+	}
+
+	public boolean containsKey(Object key) {
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			return s.map.containsKey(key);
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public boolean containsValue(Object value) {
+		for (Segment<K, V> s : segments) {
+			s.lock();
+			try {
+				if (s.map.containsValue(value)) return true;
+			} finally {
+				s.unlock();
+			}
+		}
+		return false;
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		Set<Map.Entry<K, V>> es = entrySet;
+		return es != null ? es : (entrySet = new EntrySet());
+	}
+
+	public V get(Object key) {
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			return s.map.get(key);
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public boolean isEmpty() {
+		for (Segment<K, V> s : segments) {
+			s.lock();
+			try {
+				if (!s.map.isEmpty()) return false;
+			} finally {
+				s.unlock();
+			}
+		}
+		return true;
+	}
+
+	public V put(K key, V value) {
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			return s.map.put(key, value);
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		if (m == null) return;
+		for (Map.Entry<? extends K, ? extends V> en : m.entrySet())
+			put(en.getKey(), en.getValue());
+	}
+
+	public V putIfAbsent(K key, V value) {
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			V v = s.map.get(key);
+			if (v == null) s.map.put(key, value);
+			return v;
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public V remove(Object key) {
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			return s.map.remove(key);
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public boolean remove(Object key, Object value) {
+		if (value == null) return false;
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			V v = s.map.get(key);
+			if (Arrayard.equals(v, value)) return s.map.remove(key) != null;
+			return false;
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public V replace(K key, V value) {
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			if (!s.map.containsKey(key)) return null;
+			return s.map.put(key, value);
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public boolean replace(K key, V oldValue, V newValue) {
+		if (oldValue == null || newValue == null) return false;
+		Segment<K, V> s = segmentFor(key);
+		s.lock();
+		try {
+			V v = s.map.get(key);
+			if (!Arrayard.equals(v, oldValue)) return false;
+			s.map.put(key, newValue);
+			return true;
+		} finally {
+			s.unlock();
+		}
+	}
+
+	public int size() {
+		long n = 0;
+		for (Segment<K, V> s : segments) {
+			s.lock();
+			try {
+				n += s.map.size();
+			} finally {
+				s.unlock();
+			}
+		}
+		return (int) Math.min(n, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * 创建分段映射表
+	 * @return 映射表 非线程安全，由分段锁保护
+	 */
+	protected abstract Map<K, V> createSegment();
+
+	/**
+	 * 获取分段数
+	 * @return 分段数
+	 */
+	protected int segments() {
+		return segments.length;
+	}
+
+	/**
+	 * 初始化分段
+	 */
+	void init() {
+		Segment<K, V>[] ss = new Segment[concurrency];
+		for (int i = 0; i < ss.length; i++)
+			ss[i] = new Segment(createSegment());
+		this.shift = 32 - Integer.numberOfTrailingZeros(concurrency);
+		this.segments = ss;
+	}
+
+	/**
+	 * 获取键所在分段
+	 * @param key 键
+	 * @return 分段
+	 */
+	Segment<K, V> segmentFor(Object key) {
+		return shift == 32 ? segments[0] : segments[hash(key) >>> shift];
+	}
+
+	/**
+	 * 序列化读取
+	 * @param s 序列化输入流
+	 * @throws java.io.IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		init();
+		for (int i = s.readInt(); i > 0; i--)
+			put((K) s.readObject(), (V) s.readObject());
+	}
+
+	/**
+	 * 序列化写入
+	 * @param s 序列化输出流
+	 * @throws java.io.IOException
+	 */
+	private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException {
+		s.defaultWriteObject();
+		List<Map.Entry<K, V>> list = snapshot();
+		s.writeInt(list.size());
+		for (Map.Entry<K, V> en : list) {
+			s.writeObject(en.getKey());
+			s.writeObject(en.getValue());
+		}
+	}
+
+	/**
+	 * 复制全部元素项
+	 * @return 元素项快照
+	 */
+	List<Map.Entry<K, V>> snapshot() {
+		List<Map.Entry<K, V>> list = new ArrayList();
+		for (Segment<K, V> s : segments)
+			s.snapshot(list);
+		return list;
+	}
+
+	/**
+	 * 元素项集
+	 * @author demon 2026-10-18
+	 */
+	class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		public void clear() {
+			ConcurrentSegmentMap.this.clear();
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			V v = get(e.getKey());
+			return v != null ? v.equals(e.getValue()) : e.getValue() == null && containsKey(e.getKey());
+		}
+
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		public boolean remove(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			return ConcurrentSegmentMap.this.remove(e.getKey(), e.getValue());
+		}
+
+		public int size() {
+			return ConcurrentSegmentMap.this.size();
+		}
+	}
+
+	/**
+	 * 元素项迭代器 逐段复制快照
+	 * @author demon 2026-10-18
+	 */
+	class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private final List<Map.Entry<K, V>> buffer;
+		private int segment;
+		private int cursor;
+		private Map.Entry<K, V> last;
+
+		protected EntryIterator() {
+			this.buffer = new ArrayList();
+		}
+
+		public boolean hasNext() {
+			while (cursor >= buffer.size()) {
+				if (segment >= segments.length) return false;
+				buffer.clear();
+				cursor = 0;
+				segments[segment++].snapshot(buffer);
+			}
+			return true;
+		}
+
+		public Map.Entry<K, V> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			return last = buffer.get(cursor++);
+		}
+
+		public void remove() {
+			if (last == null) throw new IllegalStateException();
+			ConcurrentSegmentMap.this.remove(last.getKey());
+			last = null;
+		}
+	}
+
+	/**
+	 * 分段
+	 * @param <K> 键类型
+	 * @param <V> 值类型
+	 * @author demon 2026-10-18
+	 */
+	static final class Segment<K, V> extends ReentrantLock {
+
+		private static final long serialVersionUID = 2466370254926785405L;
+
+		final Map<K, V> map;
+
+		protected Segment(Map<K, V> map) {
+			this.map = map;
+		}
+
+		/**
+		 * 复制本段元素项
+		 * @param list 目标列表
+		 */
+		void snapshot(List<Map.Entry<K, V>> list) {
+			lock();
+			try {
+				for (Map.Entry<K, V> en : map.entrySet())
+					list.add(new WriteEntry(this, en.getKey(), en.getValue()));
+			} finally {
+				unlock();
+			}
+		}
+	}
+
+	/**
+	 * 快照元素项 修改值时写回映射表
+	 * @param <K> 键类型
+	 * @param <V> 值类型
+	 * @author demon 2026-10-18
+	 */
+	static final class WriteEntry<K, V> extends AbstractMap.SimpleEntry<K, V> {
+
+		private static final long serialVersionUID = -2870153306245327862L;
+
+		private final Segment<K, V> segment;
+
+		protected WriteEntry(Segment<K, V> segment, K key, V value) {
+			super(key, value);
+			this.segment = segment;
+		}
+
+		public V setValue(V value) {
+			V v = super.setValue(value);
+			segment.lock();
+			try {
+				segment.map.put(getKey(), value);
+			} finally {
+				segment.unlock();
+			}
+			return v;
+		}
+	}
+}
@@ -3,155 +3,71 @@
  */
 package org.dommons.core.collections.map.concurrent;
 
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
+import java.util.Map;
 
+import org.dommons.core.collections.map.ref.ReferenceHashMap;
 import org.dommons.core.collections.map.ref.SoftHashMap;
 
 /**
  * 线程安全软引用映射表
  * @author demon 2018-10-29
  */
-public class ConcurrentSoftMap<K, V> extends ConcurrentMapWrapper<K, V> {
+public class ConcurrentSoftMap<K, V> extends ConcurrentSegmentMap<K, V> {
 
-	private static final long serialVersionUID = -2304594653282810324L;
+	private static final long serialVersionUID = 4871206539813402176L;
 
-	private final ThreadLocal<Lock> local;
-	private final Lock expungeLock;
-	private final Lock readLock;
+	static final int EXPUNGE_BATCH = 64;
 
 	public ConcurrentSoftMap() {
-		super(new LockSoftMap());
-		this.local = new ThreadLocal();
-		this.expungeLock = new ExpungeLock();
-		this.readLock = new ProxyReadLock(lock.readLock());
-		((LockSoftMap) tar()).setParent(this);
+		super();
 	}
 
-	@Override
-	protected Lock readLock() {
-		return this.readLock;
+	/**
+	 * 构造函数
+	 * @param concurrency 并发分段数
+	 */
+	public ConcurrentSoftMap(int concurrency) {
+		super(concurrency);
 	}
 
-	class ExpungeLock implements Lock {
-
-		@Override
-		public void lock() {
-			Lock read = local.get();
-			if (read != null) {
-				read.unlock();
-				writeLock().lock();
-			}
-		}
-
-		@Override
-		public void lockInterruptibly() throws InterruptedException {
-			lock();
-		}
-
-		@Override
-		public Condition newCondition() {
-			return null;
-		}
-
-		@Override
-		public boolean tryLock() {
-			return false;
-		}
-
-		@Override
-		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
-			return false;
-		}
-
-		@Override
-		public void unlock() {
-			Lock read = local.get();
-			if (read != null) {
-				read.lock();
-				writeLock().unlock();
+	/**
+	 * 抹去全部已释放元素 可由后台定时调用，减少读取时分批抹去
+	 * @return 抹去数
+	 */
+	public int expungeStale() {
+		int n = 0;
+		for (Segment<K, V> s : segments) {
+			s.lock();
+			try {
+				n += ((ReferenceHashMap) s.map).expungeStale(0);
+			} finally {
+				s.unlock();
 			}
 		}
+		return n;
 	}
 
-	static class LockSoftMap<K, V> extends SoftHashMap<K, V> {
-
-		private ConcurrentSoftMap parent;
-		private long last;
-
-		protected LockSoftMap() {
-			this.last = System.currentTimeMillis();
-		}
-
-		@Override
-		protected Lock expungeLock() {
-			return parent != null ? parent.expungeLock : null;
-		}
-
-		@Override
-		protected boolean needExpungeStale() {
-			long now = System.currentTimeMillis(), limit = 1000;
-			if (now - last < limit) return false;
-			synchronized (this) {
-				if (now - last < limit) return false;
-				last = now;
+	/**
+	 * 获取已抹去元素数
+	 * @return 抹去数
+	 */
+	public long getExpungedCount() {
+		long n = 0;
+		for (Segment<K, V> s : segments) {
+			s.lock();
+			try {
+				n += ((ReferenceHashMap) s.map).getExpungedCount();
+			} finally {
+				s.unlock();
 			}
-			return true;
-		}
-
-		void setParent(ConcurrentSoftMap parent) {
-			this.parent = parent;
 		}
+		return n;
 	}
 
-	class ProxyReadLock implements Lock {
-
-		private final Lock lock;
-
-		protected ProxyReadLock(Lock lock) {
-			this.lock = lock;
-		}
-
-		@Override
-		public void lock() {
-			lock.lock();
-			bindLock();
-		}
-
-		@Override
-		public void lockInterruptibly() throws InterruptedException {
-			lock.lockInterruptibly();
-			bindLock();
-		}
-
-		@Override
-		public Condition newCondition() {
-			return lock.newCondition();
-		}
-
-		@Override
-		public boolean tryLock() {
-			boolean b = lock.tryLock();
-			if (b) bindLock();
-			return b;
-		}
-
-		@Override
-		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
-			boolean b = lock.tryLock(time, unit);
-			if (b) bindLock();
-			return b;
-		}
-
-		@Override
-		public void unlock() {
-			lock.unlock();
-			local.remove();
-		}
-
-		protected void bindLock() {
-			local.set(lock);
-		}
+	@Override
+	protected Map<K, V> createSegment() {
+		SoftHashMap<K, V> map = new SoftHashMap();
+		map.setExpungeBatch(EXPUNGE_BATCH); // 每次操作分批抹去
+		return map;
 	}
 }
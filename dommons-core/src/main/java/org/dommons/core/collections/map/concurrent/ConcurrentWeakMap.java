@@ -3,23 +3,31 @@
  */
 package org.dommons.core.collections.map.concurrent;
 
+import java.util.Map;
 import java.util.WeakHashMap;
-import java.util.concurrent.locks.Lock;
 
 /**
  * 线程安全弱引用映射表
  * @author demon 2018-08-01
  */
-public class ConcurrentWeakMap<K, V> extends ConcurrentMapWrapper<K, V> {
+public class ConcurrentWeakMap<K, V> extends ConcurrentSegmentMap<K, V> {
 
-	private static final long serialVersionUID = 3503329831784603237L;
+	private static final long serialVersionUID = -7126458390215376841L;
 
 	public ConcurrentWeakMap() {
-		super(new WeakHashMap());
+		super();
+	}
+
+	/**
+	 * 构造函数
+	 * @param concurrency 并发分段数
+	 */
+	public ConcurrentWeakMap(int concurrency) {
+		super(concurrency);
 	}
 
 	@Override
-	protected Lock readLock() {
-		return lock.writeLock();
+	protected Map<K, V> createSegment() {
+		return new WeakHashMap();
 	}
 }
@@ -84,6 +84,8 @@ public abstract class ReferenceHashMap<K, V> extends AbstractMap<K, V> {
 	private int threshold;
 	private final float loadFactor;
 	private final ReferenceQueue queue;
+	private int expungeBatch; // 每次操作抹去上限
+	private long expunged;
 
 	private volatile int modCount;
 
@@ -161,6 +163,59 @@ public abstract class ReferenceHashMap<K, V> extends AbstractMap<K, V> {
 		return size == 0;
 	}
 
+	/**
+	 * 抹去已释放元素
+	 * @param max 抹去上限 小于等于 <code>0</code> 为全部
+	 * @return 抹去数
+	 */
+	public int expungeStale(int max) {
+		int n = 0;
+		for (ReferenceElement<K, V> e; (max <= 0 || n < max) && (e = (ReferenceElement<K, V>) queue.poll()) != null;) {
+			Lock lock = expungeLock();
+			if (lock != null) lock.lock();
+			try {
+				int h = e.hash();
+				int i = indexFor(h, table.length);
+
+				ReferenceEntry<K, V> prev = table[i];
+				ReferenceEntry<K, V> p = prev;
+				while (p != null) {
+					ReferenceEntry<K, V> next = p.next;
+					if (p.match(e) || p.isEvicted()) {
+						if (prev == p) table[i] = next;
+						else prev.next = next;
+						p.next = null; // Help GC
+						size--;
+						expunged++;
+						break;
+					}
+					prev = p;
+					p = next;
+				}
+			} finally {
+				if (lock != null) lock.unlock();
+			}
+			n++;
+		}
+		return n;
+	}
+
+	/**
+	 * 获取每次操作抹去上限
+	 * @return 抹去上限 <code>0</code> 为不限
+	 */
+	public int getExpungeBatch() {
+		return expungeBatch;
+	}
+
+	/**
+	 * 获取已抹去元素数
+	 * @return 抹去数
+	 */
+	public long getExpungedCount() {
+		return expunged;
+	}
+
 	@Override
 	public Set<K> keySet() {
 		Set<K> ks = keySet;
@@ -232,6 +287,14 @@ public abstract class ReferenceHashMap<K, V> extends AbstractMap<K, V> {
 		return size;
 	}
 
+	/**
+	 * 设置每次操作抹去上限 释放大量元素后由后续操作分批抹去，避免单次读取耗时过长
+	 * @param batch 抹去上限 小于等于 <code>0</code> 为不限
+	 */
+	public void setExpungeBatch(int batch) {
+		this.expungeBatch = Math.max(batch, 0);
+	}
+
 	@Override
 	public Collection<V> values() {
 		Collection<V> vs = values;
@@ -326,7 +389,7 @@ public abstract class ReferenceHashMap<K, V> extends AbstractMap<K, V> {
 		if (size >= threshold / 2) {
 			threshold = (int) (newCapacity * loadFactor);
 		} else {
-			expungeStaleEntries();
+			expungeStale(0);
 			transfer(newTable, oldTable);
 			table = oldTable;
 		}
@@ -336,32 +399,7 @@ public abstract class ReferenceHashMap<K, V> extends AbstractMap<K, V> {
 	 * 抹去已释放元素集
 	 */
 	private void expungeStaleEntries() {
-		if (!needExpungeStale()) return;
-		for (ReferenceElement<K, V> e; (e = (ReferenceElement<K, V>) queue.poll()) != null;) {
-			Lock lock = expungeLock();
-			if (lock != null) lock.lock();
-			try {
-				int h = e.hash();
-				int i = indexFor(h, table.length);
-
-				ReferenceEntry<K, V> prev = table[i];
-				ReferenceEntry<K, V> p = prev;
-				while (p != null) {
-					ReferenceEntry<K, V> next = p.next;
-					if (p.match(e) || p.isEvicted()) {
-						if (prev == p) table[i] = next;
-						else prev.next = next;
-						p.next = null; // Help GC
-						size--;
-						break;
-					}
-					prev = p;
-					p = next;
-				}
-			} finally {
-				if (lock != null) lock.unlock();
-			}
-		}
+		if (needExpungeStale()) expungeStale(expungeBatch);
 	}
 
 	/**
@@ -388,6 +426,7 @@ public abstract class ReferenceHashMap<K, V> extends AbstractMap<K, V> {
 				if (key == null) {
 					e.next = null; // Help GC
 					size--;
+					expunged++;
 				} else {
 					int i = indexFor(e.hash(), dest.length);
 					e.next = dest[i];
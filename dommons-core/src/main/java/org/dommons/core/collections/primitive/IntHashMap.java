@@ -0,0 +1,398 @@
+/*
+ * @(#)IntHashMap.java     2026-10-18
+ */
+package org.dommons.core.collections.primitive;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.dommons.core.util.Arrayard;
+
+/**
+ * 整型键哈希映射表
+ * <p>
+ * 开放寻址线性探测，键以 int 数组存储，基本类型键读写不装箱。非线程安全
+ * </p>
+ * @param <V> 值类型
+ * @author demon 2026-10-18
+ */
+public class IntHashMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+	private static final long serialVersionUID = 6404541712950862287L;
+
+	private transient int[] keys;
+	private transient Object[] vals;
+	private transient byte[] states;
+	private transient int size;
+	private transient int used; // 已占用槽数 含删除标记
+	private transient int bits;
+	private transient int modCount;
+
+	private transient Set<Map.Entry<Integer, V>> entrySet;
+
+	public IntHashMap() {
+		this(8);
+	}
+
+	/**
+	 * 构造函数
+	 * @param expected 预计元素数
+	 */
+	public IntHashMap(int expected) {
+		init(IntHashSet.capacity(expected));
+	}
+
+	public void clear() {
+		if (size == 0 && used == 0) return;
+		for (int i = 0; i < states.length; i++) {
+			states[i] = IntHashSet.FREE;
+			vals[i] = null;
+		}
+		size = used = 0;
+		modCount++;
+	}
+
+	/**
+	 * 是否包含键
+	 * @param key 键
+	 * @return 是、否
+	 */
+	public boolean containsKey(int key) {
+		return slot(key) >= 0;
+	}
+
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && containsKey(((Integer) key).intValue());
+	}
+
+	public boolean containsValue(Object value) {
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] == IntHashSet.FULL && Arrayard.equals(vals[i], value)) return true;
+		}
+		return false;
+	}
+
+	public Set<Map.Entry<Integer, V>> entrySet() {
+		Set<Map.Entry<Integer, V>> es = entrySet;
+		return es != null ? es : (entrySet = new EntrySet());
+	}
+
+	/**
+	 * 获取值
+	 * @param key 键
+	 * @return 值
+	 */
+	public V get(int key) {
+		int i = slot(key);
+		return i < 0 ? null : (V) vals[i];
+	}
+
+	public V get(Object key) {
+		return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * 获取全部键
+	 * @return 键数组
+	 */
+	public int[] keyArray() {
+		int[] a = new int[size];
+		for (int i = 0, n = 0; i < states.length; i++) {
+			if (states[i] == IntHashSet.FULL) a[n++] = keys[i];
+		}
+		return a;
+	}
+
+	/**
+	 * 写入
+	 * @param key 键
+	 * @param value 值
+	 * @return 原值
+	 */
+	public V put(int key, V value) {
+		int mask = keys.length - 1, free = -1;
+		for (int i = IntHashSet.index(key, bits);; i = (i + 1) & mask) {
+			byte s = states[i];
+			if (s == IntHashSet.FREE) {
+				if (free < 0) {
+					free = i;
+					used++;
+				}
+				break;
+			} else if (s == IntHashSet.REMOVED) {
+				if (free < 0) free = i;
+			} else if (keys[i] == key) {
+				V o = (V) vals[i];
+				vals[i] = value;
+				return o;
+			}
+		}
+		keys[free] = key;
+		vals[free] = value;
+		states[free] = IntHashSet.FULL;
+		size++;
+		modCount++;
+		if (used > keys.length * 3 / 4) rehash(size > keys.length / 2 ? keys.length << 1 : keys.length);
+		return null;
+	}
+
+	public V put(Integer key, V value) {
+		return put(key.intValue(), value);
+	}
+
+	/**
+	 * 移除
+	 * @param key 键
+	 * @return 原值
+	 */
+	public V remove(int key) {
+		int i = slot(key);
+		if (i < 0) return null;
+		V o = (V) vals[i];
+		removeAt(i);
+		return o;
+	}
+
+	public V remove(Object key) {
+		return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 初始化哈希表
+	 * @param capacity 容量
+	 */
+	private void init(int capacity) {
+		this.keys = new int[capacity];
+		this.vals = new Object[capacity];
+		this.states = new byte[capacity];
+		this.bits = Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/**
+	 * 序列化读取
+	 * @param s 序列化输入流
+	 * @throws java.io.IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		int n = s.readInt();
+		init(IntHashSet.capacity(n));
+		for (int i = 0; i < n; i++)
+			put(s.readInt(), (V) s.readObject());
+	}
+
+	/**
+	 * 重建哈希表 清除删除标记
+	 * @param capacity 新容量
+	 */
+	private void rehash(int capacity) {
+		int[] ks = keys;
+		Object[] vs = vals;
+		byte[] ss = states;
+		init(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < ks.length; j++) {
+			if (ss[j] != IntHashSet.FULL) continue;
+			int i = IntHashSet.index(ks[j], bits);
+			while (states[i] != IntHashSet.FREE)
+				i = (i + 1) & mask;
+			keys[i] = ks[j];
+			vals[i] = vs[j];
+			states[i] = IntHashSet.FULL;
+		}
+		used = size;
+	}
+
+	/**
+	 * 移除槽位元素
+	 * @param i 槽位
+	 */
+	private void removeAt(int i) {
+		states[i] = IntHashSet.REMOVED;
+		vals[i] = null;
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * 查找键槽位
+	 * @param key 键
+	 * @return 槽位 不存在返回<code>-1</code>
+	 */
+	private int slot(int key) {
+		int mask = keys.length - 1;
+		for (int i = IntHashSet.index(key, bits);; i = (i + 1) & mask) {
+			byte s = states[i];
+			if (s == IntHashSet.FREE) return -1;
+			else if (s == IntHashSet.FULL && keys[i] == key) return i;
+		}
+	}
+
+	/**
+	 * 序列化写入
+	 * @param s 序列化输出流
+	 * @throws java.io.IOException
+	 */
+	private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException {
+		s.defaultWriteObject();
+		s.writeInt(size);
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] != IntHashSet.FULL) continue;
+			s.writeInt(keys[i]);
+			s.writeObject(vals[i]);
+		}
+	}
+
+	/**
+	 * 元素项集
+	 * @author demon 2026-10-18
+	 */
+	class EntrySet extends AbstractSet<Map.Entry<Integer, V>> {
+
+		public void clear() {
+			IntHashMap.this.clear();
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			if (!(e.getKey() instanceof Integer)) return false;
+			int i = slot(((Integer) e.getKey()).intValue());
+			return i >= 0 && Arrayard.equals(vals[i], e.getValue());
+		}
+
+		public Iterator<Map.Entry<Integer, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		public boolean remove(Object o) {
+			if (!contains(o)) return false;
+			IntHashMap.this.remove(((Map.Entry) o).getKey());
+			return true;
+		}
+
+		public int size() {
+			return size;
+		}
+	}
+
+	/**
+	 * 元素项
+	 * @author demon 2026-10-18
+	 */
+	class IntEntry implements Map.Entry<Integer, V> {
+
+		private final int index;
+		private final int key;
+
+		protected IntEntry(int index) {
+			this.index = index;
+			this.key = keys[index];
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			return getKey().equals(e.getKey()) && Arrayard.equals(getValue(), e.getValue());
+		}
+
+		public Integer getKey() {
+			return Integer.valueOf(key);
+		}
+
+		/**
+		 * 获取键
+		 * @return 键
+		 */
+		public int getIntKey() {
+			return key;
+		}
+
+		public V getValue() {
+			return live() ? (V) vals[index] : null;
+		}
+
+		public int hashCode() {
+			V v = getValue();
+			return key ^ (v == null ? 0 : v.hashCode());
+		}
+
+		public V setValue(V value) {
+			V o = getValue();
+			if (live()) vals[index] = value;
+			else put(key, value);
+			return o;
+		}
+
+		public String toString() {
+			return key + "=" + getValue();
+		}
+
+		/**
+		 * 槽位是否仍为本元素
+		 * @return 是、否
+		 */
+		private boolean live() {
+			return index < states.length && states[index] == IntHashSet.FULL && keys[index] == key;
+		}
+	}
+
+	/**
+	 * 元素项迭代器
+	 * @author demon 2026-10-18
+	 */
+	class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+
+		private int next;
+		private int last;
+		private int expectedModCount;
+
+		protected EntryIterator() {
+			this.next = advance(0);
+			this.last = -1;
+			this.expectedModCount = modCount;
+		}
+
+		public boolean hasNext() {
+			return next < states.length;
+		}
+
+		public Map.Entry<Integer, V> next() {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (next >= states.length) throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			return new IntEntry(last);
+		}
+
+		public void remove() {
+			if (last < 0) throw new IllegalStateException();
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			removeAt(last);
+			expectedModCount = modCount;
+			last = -1;
+		}
+
+		/**
+		 * 查找下一个元素槽位
+		 * @param i 起始槽位
+		 * @return 槽位
+		 */
+		private int advance(int i) {
+			while (i < states.length && states[i] != IntHashSet.FULL)
+				i++;
+			return i;
+		}
+	}
+}
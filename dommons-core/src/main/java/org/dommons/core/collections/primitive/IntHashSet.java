@@ -0,0 +1,294 @@
+/*
+ * @(#)IntHashSet.java     2026-10-18
+ */
+package org.dommons.core.collections.primitive;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 整型哈希集
+ * <p>
+ * 开放寻址线性探测，元素以 int 数组存储，基本类型增删查不装箱。非线程安全
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class IntHashSet extends AbstractSet<Integer> implements Serializable {
+
+	private static final long serialVersionUID = -1873404436281093375L;
+
+	static final byte FREE = 0;
+	static final byte FULL = 1;
+	static final byte REMOVED = 2;
+
+	/**
+	 * 计算容量
+	 * @param n 元素数
+	 * @return 容量 二的幂
+	 */
+	static int capacity(int n) {
+		int c = 8;
+		while (c < (long) Math.max(n, 0) * 4 / 3 + 1 && c < (1 << 30))
+			c <<= 1;
+		return c;
+	}
+
+	/**
+	 * 计算起始槽位
+	 * @param key 键值
+	 * @param bits 容量位数
+	 * @return 槽位
+	 */
+	static int index(int key, int bits) {
+		return (key * 0x9E3779B9) >>> (32 - bits);
+	}
+
+	private transient int[] keys;
+	private transient byte[] states;
+	private transient int size;
+	private transient int used; // 已占用槽数 含删除标记
+	private transient int bits;
+	private transient int modCount;
+
+	public IntHashSet() {
+		this(8);
+	}
+
+	/**
+	 * 构造函数
+	 * @param expected 预计元素数
+	 */
+	public IntHashSet(int expected) {
+		init(capacity(expected));
+	}
+
+
+	/**
+	 * 生成哈希集
+	 * @param values 初始元素
+	 * @return 新哈希集
+	 */
+	public static IntHashSet of(int... values) {
+		IntHashSet set = new IntHashSet(values == null ? 0 : values.length);
+		if (values != null) {
+			for (int v : values)
+				set.add(v);
+		}
+		return set;
+	}
+
+	public boolean add(Integer e) {
+		return add(e.intValue());
+	}
+
+	/**
+	 * 加入元素
+	 * @param value 元素值
+	 * @return 是否新增
+	 */
+	public boolean add(int value) {
+		int mask = keys.length - 1, free = -1;
+		for (int i = index(value, bits);; i = (i + 1) & mask) {
+			byte s = states[i];
+			if (s == FREE) {
+				if (free < 0) {
+					free = i;
+					used++;
+				}
+				break;
+			} else if (s == REMOVED) {
+				if (free < 0) free = i;
+			} else if (keys[i] == value) {
+				return false;
+			}
+		}
+		keys[free] = value;
+		states[free] = FULL;
+		size++;
+		modCount++;
+		if (used > keys.length * 3 / 4) rehash(size > keys.length / 2 ? keys.length << 1 : keys.length);
+		return true;
+	}
+
+	public void clear() {
+		if (size == 0 && used == 0) return;
+		for (int i = 0; i < states.length; i++)
+			states[i] = FREE;
+		size = used = 0;
+		modCount++;
+	}
+
+	public boolean contains(Object o) {
+		return o instanceof Integer && contains(((Integer) o).intValue());
+	}
+
+	/**
+	 * 是否包含元素
+	 * @param value 元素值
+	 * @return 是、否
+	 */
+	public boolean contains(int value) {
+		return slot(value) >= 0;
+	}
+
+	public Iterator<Integer> iterator() {
+		return new Itr();
+	}
+
+	public boolean remove(Object o) {
+		return o instanceof Integer && remove(((Integer) o).intValue());
+	}
+
+	/**
+	 * 移除元素
+	 * @param value 元素值
+	 * @return 是否移除
+	 */
+	public boolean remove(int value) {
+		int i = slot(value);
+		if (i < 0) return false;
+		states[i] = REMOVED;
+		size--;
+		modCount++;
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 转换为整型数组
+	 * @return 新数组
+	 */
+	public int[] toIntArray() {
+		int[] a = new int[size];
+		for (int i = 0, n = 0; i < states.length; i++) {
+			if (states[i] == FULL) a[n++] = keys[i];
+		}
+		return a;
+	}
+
+	/**
+	 * 初始化哈希表
+	 * @param capacity 容量
+	 */
+	private void init(int capacity) {
+		this.keys = new int[capacity];
+		this.states = new byte[capacity];
+		this.bits = Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/**
+	 * 序列化读取
+	 * @param s 序列化输入流
+	 * @throws java.io.IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		int n = s.readInt();
+		init(capacity(n));
+		for (int i = 0; i < n; i++)
+			add(s.readInt());
+	}
+
+	/**
+	 * 重建哈希表 清除删除标记
+	 * @param capacity 新容量
+	 */
+	private void rehash(int capacity) {
+		int[] ks = keys;
+		byte[] ss = states;
+		init(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < ks.length; j++) {
+			if (ss[j] != FULL) continue;
+			int i = index(ks[j], bits);
+			while (states[i] != FREE)
+				i = (i + 1) & mask;
+			keys[i] = ks[j];
+			states[i] = FULL;
+		}
+		used = size;
+	}
+
+	/**
+	 * 查找元素槽位
+	 * @param value 元素值
+	 * @return 槽位 不存在返回<code>-1</code>
+	 */
+	private int slot(int value) {
+		int mask = keys.length - 1;
+		for (int i = index(value, bits);; i = (i + 1) & mask) {
+			byte s = states[i];
+			if (s == FREE) return -1;
+			else if (s == FULL && keys[i] == value) return i;
+		}
+	}
+
+	/**
+	 * 序列化写入
+	 * @param s 序列化输出流
+	 * @throws java.io.IOException
+	 */
+	private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException {
+		s.defaultWriteObject();
+		s.writeInt(size);
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] == FULL) s.writeInt(keys[i]);
+		}
+	}
+
+	/**
+	 * 元素迭代器
+	 * @author demon 2026-10-18
+	 */
+	class Itr implements Iterator<Integer> {
+
+		private int next;
+		private int last;
+		private int expectedModCount;
+
+		protected Itr() {
+			this.next = advance(0);
+			this.last = -1;
+			this.expectedModCount = modCount;
+		}
+
+		public boolean hasNext() {
+			return next < states.length;
+		}
+
+		public Integer next() {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (next >= states.length) throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			return Integer.valueOf(keys[last]);
+		}
+
+		public void remove() {
+			if (last < 0) throw new IllegalStateException();
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			states[last] = REMOVED;
+			size--;
+			expectedModCount = ++modCount;
+			last = -1;
+		}
+
+		/**
+		 * 查找下一个元素槽位
+		 * @param i 起始槽位
+		 * @return 槽位
+		 */
+		private int advance(int i) {
+			while (i < states.length && states[i] != FULL)
+				i++;
+			return i;
+		}
+	}
+}
@@ -0,0 +1,247 @@
+/*
+ * @(#)LongArrayList.java     2026-10-18
+ */
+package org.dommons.core.collections.primitive;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * 长整型数组列表
+ * <p>
+ * 元素以 long 数组存储，基本类型读写不装箱。包装已有数组时为定长列表，修改写回原数组，不支持增删
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class LongArrayList extends AbstractList<Long> implements RandomAccess, Serializable {
+
+	private static final long serialVersionUID = -2751603967409127384L;
+
+	private long[] elements;
+	private int size;
+	private final boolean fixed; // 包装外部数组的定长列表
+
+	public LongArrayList() {
+		this(10);
+	}
+
+	/**
+	 * 构造函数
+	 * @param capacity 初始容量
+	 */
+	public LongArrayList(int capacity) {
+		this(new long[Math.max(capacity, 0)], 0, false);
+	}
+
+	/**
+	 * 构造函数
+	 * @param elements 元素数组
+	 * @param size 元素数
+	 * @param fixed 是否定长
+	 */
+	private LongArrayList(long[] elements, int size, boolean fixed) {
+		this.elements = elements;
+		this.size = size;
+		this.fixed = fixed;
+	}
+
+	/**
+	 * 生成列表 复制初始元素，可增删
+	 * @param values 初始元素
+	 * @return 新列表
+	 */
+	public static LongArrayList of(long... values) {
+		long[] es = values == null ? new long[0] : values.clone();
+		return new LongArrayList(es, es.length, false);
+	}
+
+	/**
+	 * 包装数组为定长列表 修改元素写回原数组，增删元素抛出 {@link UnsupportedOperationException}
+	 * @param array 数组
+	 * @return 定长列表
+	 */
+	public static LongArrayList wrap(long[] array) {
+		long[] es = array == null ? new long[0] : array;
+		return new LongArrayList(es, es.length, true);
+	}
+
+	public boolean add(Long e) {
+		return add(e.longValue());
+	}
+
+	public void add(int index, Long element) {
+		add(index, element.longValue());
+	}
+
+	/**
+	 * 加入元素
+	 * @param value 元素值
+	 * @return 是否加入
+	 */
+	public boolean add(long value) {
+		modifiable();
+		ensureCapacity(size + 1);
+		elements[size++] = value;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * 插入元素
+	 * @param index 序号
+	 * @param value 元素值
+	 */
+	public void add(int index, long value) {
+		modifiable();
+		if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+		modCount++;
+	}
+
+	public void clear() {
+		modifiable();
+		size = 0;
+		modCount++;
+	}
+
+	public boolean contains(Object o) {
+		return o instanceof Long && indexOf(((Long) o).longValue()) >= 0;
+	}
+
+	/**
+	 * 是否包含元素
+	 * @param value 元素值
+	 * @return 是、否
+	 */
+	public boolean contains(long value) {
+		return indexOf(value) >= 0;
+	}
+
+	/**
+	 * 确保容量
+	 * @param capacity 最小容量
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity <= elements.length) return;
+		modifiable();
+		int n = Math.max(elements.length + (elements.length >> 1) + 1, capacity);
+		long[] es = new long[n];
+		System.arraycopy(elements, 0, es, 0, size);
+		elements = es;
+	}
+
+	public Long get(int index) {
+		return Long.valueOf(getLong(index));
+	}
+
+	/**
+	 * 获取元素值
+	 * @param index 序号
+	 * @return 元素值
+	 */
+	public long getLong(int index) {
+		check(index);
+		return elements[index];
+	}
+
+	public int indexOf(Object o) {
+		return o instanceof Long ? indexOf(((Long) o).longValue()) : -1;
+	}
+
+	/**
+	 * 查找元素序号
+	 * @param value 元素值
+	 * @return 序号 不存在返回<code>-1</code>
+	 */
+	public int indexOf(long value) {
+		long[] es = elements;
+		for (int i = 0; i < size; i++) {
+			if (es[i] == value) return i;
+		}
+		return -1;
+	}
+
+	public int lastIndexOf(Object o) {
+		return o instanceof Long ? lastIndexOf(((Long) o).longValue()) : -1;
+	}
+
+	/**
+	 * 反向查找元素序号
+	 * @param value 元素值
+	 * @return 序号 不存在返回<code>-1</code>
+	 */
+	public int lastIndexOf(long value) {
+		long[] es = elements;
+		for (int i = size - 1; i >= 0; i--) {
+			if (es[i] == value) return i;
+		}
+		return -1;
+	}
+
+	public Long remove(int index) {
+		modifiable();
+		check(index);
+		long o = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		modCount++;
+		return Long.valueOf(o);
+	}
+
+	public Long set(int index, Long element) {
+		return Long.valueOf(set(index, element.longValue()));
+	}
+
+	/**
+	 * 设置元素值
+	 * @param index 序号
+	 * @param value 元素值
+	 * @return 原值
+	 */
+	public long set(int index, long value) {
+		check(index);
+		long o = elements[index];
+		elements[index] = value;
+		return o;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 转换为长整型数组
+	 * @return 新数组
+	 */
+	public long[] toLongArray() {
+		long[] a = new long[size];
+		System.arraycopy(elements, 0, a, 0, size);
+		return a;
+	}
+
+	protected void removeRange(int fromIndex, int toIndex) {
+		modifiable();
+		System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+		size -= toIndex - fromIndex;
+		modCount++;
+	}
+
+	/**
+	 * 检查序号
+	 * @param index 序号
+	 */
+	private void check(int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+	}
+
+	/**
+	 * 检查是否可增删元素
+	 */
+	private void modifiable() {
+		if (fixed) throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,398 @@
+/*
+ * @(#)LongHashMap.java     2026-10-18
+ */
+package org.dommons.core.collections.primitive;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.dommons.core.util.Arrayard;
+
+/**
+ * 长整型键哈希映射表
+ * <p>
+ * 开放寻址线性探测，键以 long 数组存储，基本类型键读写不装箱。非线程安全
+ * </p>
+ * @param <V> 值类型
+ * @author demon 2026-10-18
+ */
+public class LongHashMap<V> extends AbstractMap<Long, V> implements Serializable {
+
+	private static final long serialVersionUID = -5906721348027346191L;
+
+	private transient long[] keys;
+	private transient Object[] vals;
+	private transient byte[] states;
+	private transient int size;
+	private transient int used; // 已占用槽数 含删除标记
+	private transient int bits;
+	private transient int modCount;
+
+	private transient Set<Map.Entry<Long, V>> entrySet;
+
+	public LongHashMap() {
+		this(8);
+	}
+
+	/**
+	 * 构造函数
+	 * @param expected 预计元素数
+	 */
+	public LongHashMap(int expected) {
+		init(LongHashSet.capacity(expected));
+	}
+
+	public void clear() {
+		if (size == 0 && used == 0) return;
+		for (int i = 0; i < states.length; i++) {
+			states[i] = LongHashSet.FREE;
+			vals[i] = null;
+		}
+		size = used = 0;
+		modCount++;
+	}
+
+	/**
+	 * 是否包含键
+	 * @param key 键
+	 * @return 是、否
+	 */
+	public boolean containsKey(long key) {
+		return slot(key) >= 0;
+	}
+
+	public boolean containsKey(Object key) {
+		return key instanceof Long && containsKey(((Long) key).longValue());
+	}
+
+	public boolean containsValue(Object value) {
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] == LongHashSet.FULL && Arrayard.equals(vals[i], value)) return true;
+		}
+		return false;
+	}
+
+	public Set<Map.Entry<Long, V>> entrySet() {
+		Set<Map.Entry<Long, V>> es = entrySet;
+		return es != null ? es : (entrySet = new EntrySet());
+	}
+
+	/**
+	 * 获取值
+	 * @param key 键
+	 * @return 值
+	 */
+	public V get(long key) {
+		int i = slot(key);
+		return i < 0 ? null : (V) vals[i];
+	}
+
+	public V get(Object key) {
+		return key instanceof Long ? get(((Long) key).longValue()) : null;
+	}
+
+	/**
+	 * 获取全部键
+	 * @return 键数组
+	 */
+	public long[] keyArray() {
+		long[] a = new long[size];
+		for (int i = 0, n = 0; i < states.length; i++) {
+			if (states[i] == LongHashSet.FULL) a[n++] = keys[i];
+		}
+		return a;
+	}
+
+	/**
+	 * 写入
+	 * @param key 键
+	 * @param value 值
+	 * @return 原值
+	 */
+	public V put(long key, V value) {
+		int mask = keys.length - 1, free = -1;
+		for (int i = LongHashSet.index(key, bits);; i = (i + 1) & mask) {
+			byte s = states[i];
+			if (s == LongHashSet.FREE) {
+				if (free < 0) {
+					free = i;
+					used++;
+				}
+				break;
+			} else if (s == LongHashSet.REMOVED) {
+				if (free < 0) free = i;
+			} else if (keys[i] == key) {
+				V o = (V) vals[i];
+				vals[i] = value;
+				return o;
+			}
+		}
+		keys[free] = key;
+		vals[free] = value;
+		states[free] = LongHashSet.FULL;
+		size++;
+		modCount++;
+		if (used > keys.length * 3 / 4) rehash(size > keys.length / 2 ? keys.length << 1 : keys.length);
+		return null;
+	}
+
+	public V put(Long key, V value) {
+		return put(key.longValue(), value);
+	}
+
+	/**
+	 * 移除
+	 * @param key 键
+	 * @return 原值
+	 */
+	public V remove(long key) {
+		int i = slot(key);
+		if (i < 0) return null;
+		V o = (V) vals[i];
+		removeAt(i);
+		return o;
+	}
+
+	public V remove(Object key) {
+		return key instanceof Long ? remove(((Long) key).longValue()) : null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 初始化哈希表
+	 * @param capacity 容量
+	 */
+	private void init(int capacity) {
+		this.keys = new long[capacity];
+		this.vals = new Object[capacity];
+		this.states = new byte[capacity];
+		this.bits = Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/**
+	 * 序列化读取
+	 * @param s 序列化输入流
+	 * @throws java.io.IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException {
+		s.defaultReadObject();
+		int n = s.readInt();
+		init(LongHashSet.capacity(n));
+		for (int i = 0; i < n; i++)
+			put(s.readLong(), (V) s.readObject());
+	}
+
+	/**
+	 * 重建哈希表 清除删除标记
+	 * @param capacity 新容量
+	 */
+	private void rehash(int capacity) {
+		long[] ks = keys;
+		Object[] vs = vals;
+		byte[] ss = states;
+		init(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < ks.length; j++) {
+			if (ss[j] != LongHashSet.FULL) continue;
+			int i = LongHashSet.index(ks[j], bits);
+			while (states[i] != LongHashSet.FREE)
+				i = (i + 1) & mask;
+			keys[i] = ks[j];
+			vals[i] = vs[j];
+			states[i] = LongHashSet.FULL;
+		}
+		used = size;
+	}
+
+	/**
+	 * 移除槽位元素
+	 * @param i 槽位
+	 */
+	private void removeAt(int i) {
+		states[i] = LongHashSet.REMOVED;
+		vals[i] = null;
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * 查找键槽位
+	 * @param key 键
+	 * @return 槽位 不存在返回<code>-1</code>
+	 */
+	private int slot(long key) {
+		int mask = keys.length - 1;
+		for (int i = LongHashSet.index(key, bits);; i = (i + 1) & mask) {
+			byte s = states[i];
+			if (s == LongHashSet.FREE) return -1;
+			else if (s == LongHashSet.FULL && keys[i] == key) return i;
+		}
+	}
+
+	/**
+	 * 序列化写入
+	 * @param s 序列化输出流
+	 * @throws java.io.IOException
+	 */
+	private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException {
+		s.defaultWriteObject();
+		s.writeInt(size);
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] != LongHashSet.FULL) continue;
+			s.writeLong(keys[i]);
+			s.writeObject(vals[i]);
+		}
+	}
+
+	/**
+	 * 元素项集
+	 * @author demon 2026-10-18
+	 */
+	class EntrySet extends AbstractSet<Map.Entry<Long, V>> {
+
+		public void clear() {
+			LongHashMap.this.clear();
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			if (!(e.getKey() instanceof Long)) return false;
+			int i = slot(((Long) e.getKey()).longValue());
+			return i >= 0 && Arrayard.equals(vals[i], e.getValue());
+		}
+
+		public Iterator<Map.Entry<Long, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		public boolean remove(Object o) {
+			if (!contains(o)) return false;
+			LongHashMap.this.remove(((Map.Entry) o).getKey());
+			return true;
+		}
+
+		public int size() {
+			return size;
+		}
+	}
+
+	/**
+	 * 元素项
+	 * @author demon 2026-10-18
+	 */
+	class LongEntry implements Map.Entry<Long, V> {
+
+		private final int index;
+		private final long key;
+
+		protected LongEntry(int index) {
+			this.index = index;
+			this.key = keys[index];
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry e = (Map.Entry) o;
+			return getKey().equals(e.getKey()) && Arrayard.equals(getValue(), e.getValue());
+		}
+
+		public Long getKey() {
+			return Long.valueOf(key);
+		}
+
+		/**
+		 * 获取键
+		 * @return 键
+		 */
+		public long getLongKey() {
+			return key;
+		}
+
+		public V getValue() {
+			return live() ? (V) vals[index] : null;
+		}
+
+		public int hashCode() {
+			V v = getValue();
+			return (int) (key ^ (key >>> 32)) ^ (v == null ? 0 : v.hashCode());
+		}
+
+		public V setValue(V value) {
+			V o = getValue();
+			if (live()) vals[index] = value;
+			else put(key, value);
+			return o;
+		}
+
+		public String toString() {
+			return key + "=" + getValue();
+		}
+
+		/**
+		 * 槽位是否仍为本元素
+		 * @return 是、否
+		 */
+		private boolean live() {
+			return index < states.length && states[index] == LongHashSet.FULL && keys[index] == key;
+		}
+	}
+
+	/**
+	 * 元素项迭代器
+	 * @author demon 2026-10-18
+	 */
+	class EntryIterator implements Iterator<Map.Entry<Long, V>> {
+
+		private int next;
+		private int last;
+		private int expectedModCount;
+
+		protected EntryIterator() {
+			this.next = advance(0);
+			this.last = -1;
+			this.expectedModCount = modCount;
+		}
+
+		public boolean hasNext() {
+			return next < states.length;
+		}
+
+		public Map.Entry<Long, V> next() {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			if (next >= states.length) throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			return new LongEntry(last);
+		}
+
+		public void remove() {
+			if (last < 0) throw new IllegalStateException();
+			if (modCount != expectedModCount) throw new ConcurrentModificationException();
+			removeAt(last);
+			expectedModCount = modCount;
+			last = -1;
+		}
+
+		/**
+		 * 查找下一个元素槽位
+		 * @param i 起始槽位
+		 * @return 槽位
+		 */
+		private int advance(int i) {
+			while (i < states.length && states[i] != LongHashSet.FULL)
+				i++;
+			return i;
+		}
+	}
+}
@@ -6,8 +6,6 @@ package org.dommons.core.concurrent;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -28,7 +26,9 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.dommons.core.Silewarner;
 import org.dommons.core.convert.Converter;
+import org.dommons.core.util.thread.ThreadContext;
 import org.dommons.core.util.thread.ThreadLocals;
+import org.dommons.core.util.thread.ThreadTask;
 
 /**
  * 抽象线程池执行器
@@ -43,25 +43,57 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 
 	protected final ThreadFactory factory;
 	protected final Queue<Runnable> queue;
+	protected final DispatchKind kind;
+
+	final TaskDispatcher dispatcher;
+	final ThreadsCounter counter;
 
 	private final ReentrantLock mainLock;
 	private final Condition termination;
 	private final AtomicInteger wcount;
+	private final AtomicInteger blocked;
+	private final AtomicInteger reserving; // 已预留空位尚未加入队列的提交数
+	private final Object space;
 
 	volatile int runState;
+	volatile int capacity;
+	volatile SaturationPolicy saturation;
 	Map<Long, Worker> workers;
 
 	protected Reference<ThreadsMonitor> ref;
 
 	protected AbsThreadsExecutor(ThreadFactory threadFactory, Queue<Runnable> queue) {
+		this(threadFactory, queue, null);
+	}
+
+	/**
+	 * 构造函数
+	 * @param threadFactory 线程工厂
+	 * @param queue 任务队列 仅共享队列模式使用，优先级模式使用内置任务堆，不可指定
+	 * @param kind 任务分派模式
+	 * @throws IllegalArgumentException 优先级模式指定了任务队列
+	 */
+	protected AbsThreadsExecutor(ThreadFactory threadFactory, Queue<Runnable> queue, DispatchKind kind) {
 		super();
 		this.factory = threadFactory != null ? threadFactory : Executors.defaultThreadFactory();
-		this.queue = queue == null ? new LinkedList() : queue;
+		this.kind = kind == null ? DispatchKind.SHARED : kind;
+		if (this.kind == DispatchKind.PRIORITY) {
+			if (queue != null) throw new IllegalArgumentException("Priority dispatch does not accept a custom queue: " + queue.getClass().getName());
+			this.queue = new TaskHeap();
+		} else {
+			this.queue = queue == null ? new ReadyQueue() : queue;
+		}
+		this.dispatcher = this.kind == DispatchKind.STEALING ? new StealingDispatcher(this) : new SharedDispatcher(this, this.queue);
 		this.workers = new HashMap();
 		this.runState = RUNNING;
 		this.mainLock = new ReentrantLock();
 		this.termination = mainLock.newCondition();
 		this.wcount = new AtomicInteger(0);
+		this.counter = new ThreadsCounter();
+		this.blocked = new AtomicInteger(0);
+		this.reserving = new AtomicInteger(0);
+		this.space = new Object();
+		this.capacity = Integer.MAX_VALUE;
 	}
 
 	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
@@ -81,16 +113,22 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 
 	public void execute(Runnable command) {
 		if (command == null) return;
-		synchronized (queue) {
-			run: if (runState == RUNNING) {
-				Runnable r = command;
-				if (now(r) && addWorker(r));
-				else if (queue.offer(r)) queue.notify();
-				else break run;
-				command = null;
-			}
+		Boolean b = admit(command);
+		if (b == null) {
+			SaturationPolicy p = saturation;
+			if (p == null) reject(command);
+			else p.saturated(command, this);
+		} else if (!b.booleanValue()) {
+			reject(command);
 		}
-		if (command != null) reject(command);
+	}
+
+	/**
+	 * 获取待执行任务容量上限
+	 * @return 容量上限
+	 */
+	public int getCapacity() {
+		return capacity;
 	}
 
 	public boolean isShutdown() {
@@ -111,6 +149,26 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		return tm;
 	}
 
+	/**
+	 * 获取线程池统计
+	 * @return 线程池统计
+	 */
+	public ThreadsStatistics statistics() {
+		ThreadsMonitor tm = monitor();
+		return tm instanceof ThreadsStatistics ? (ThreadsStatistics) tm : new Monitor();
+	}
+
+	/**
+	 * 设置待执行任务容量上限
+	 * @param capacity 容量上限 小于 <code>1</code> 为不限
+	 * @param policy 饱和处理策略 为 <code>null</code> 时拒绝执行
+	 */
+	public void setCapacity(int capacity, SaturationPolicy policy) {
+		this.saturation = policy;
+		this.capacity = capacity < 1 ? Integer.MAX_VALUE : capacity;
+		signalSpace();
+	}
+
 	public void shutdown() {
 		final Lock lock = this.mainLock;
 		lock.lock();
@@ -190,18 +248,26 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		return new Futuren(task, rf);
 	}
 
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		if (callable instanceof PriorityTask) return new PriorityFuture(callable);
+		return super.newTaskFor(callable);
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		if (runnable instanceof PriorityTask) return new PriorityFuture(runnable, value);
+		return super.newTaskFor(runnable, value);
+	}
+
 	/**
 	 * 插入任务
+	 * <p>任务放入队首，不受待执行任务容量上限限制：用于子类将已接收的任务优先放回，按饱和策略处理将丢失已接收任务</p>
 	 * @param r 任务
 	 */
 	protected void insert(Runnable r) {
 		if (r == null) return;
-		synchronized (queue) {
-			if (now(r) && addWorker(r)) return;
-			if (queue instanceof List) ((List) queue).add(0, r);
-			else queue.offer(r);
-			queue.notify();
-		}
+		dispatcher.dispatch(r, true);
 	}
 
 	/**
@@ -226,11 +292,20 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		return workers.size();
 	}
 
+	/**
+	 * 通知暂不可执行任务重新判断是否可执行
+	 * <p>{@link #runAtNow(Runnable)} 结果变化时调用，未调用时暂缓任务按固定间隔重新判断</p>
+	 */
+	protected void readmit() {
+		dispatcher.readmit();
+	}
+
 	/**
 	 * 执行拒绝
 	 * @param command 任务项
 	 */
 	protected void reject(Runnable command) {
+		counter.recordRejected();
 		abandon(command);
 		throw new RejectedExecutionException();
 	}
@@ -245,6 +320,7 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		boolean c = false;
 		if (task instanceof Future) c = (f = (Future) task).isCancelled();
 		Throwable t = null;
+		long s = System.nanoTime();
 		try {
 			beforeExecute(thread, task);
 			try {
@@ -257,6 +333,8 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 			}
 		} finally {
 			if (f != null) f.cancel(false);
+			if (c) counter.recordAbandoned();
+			else counter.recordRun(System.nanoTime() - s, t == null && !failed(task));
 		}
 		if (t != null) Silewarner.error(task.getClass(), thread.getName(), t);
 	}
@@ -276,12 +354,21 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 	 * @param thread 执行线程
 	 */
 	protected void runFuture(Runnable task, Thread thread) {
-		Object local = Local.get(); // 取出当前线程上下文，清空
-		Local.set(null);
+		if (ThreadTask.isReflective()) { // 反射模式下任务可能依赖任意线程变量，整体取出原线程变量表
+			Object tc = Local.get();
+			Local.set(null);
+			try {
+				run(task, thread);
+			} finally {
+				Local.set(tc);
+			}
+			return;
+		}
+		ThreadContext.Snapshot local = ThreadContext.detach(); // 取出当前线程上下文，清空
 		try {
 			run(task, thread);
 		} finally {
-			Local.set(local); // 回写原本线程上下文
+			ThreadContext.restore(local); // 回写原本线程上下文
 		}
 	}
 
@@ -304,7 +391,7 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 	 * @return 待处理数
 	 */
 	protected int waitingCount() {
-		return queue.size();
+		return dispatcher.size();
 	}
 
 	/**
@@ -338,6 +425,81 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		return t;
 	}
 
+	/**
+	 * 丢弃任务
+	 * @param r 任务
+	 */
+	void drop(Runnable r) {
+		counter.recordAbandoned();
+		if (r instanceof Future) ((Future) r).cancel(false);
+		abandon(r);
+	}
+
+	/**
+	 * 移出最早的待执行任务
+	 * @return 任务
+	 */
+	Runnable evict() {
+		Runnable r = dispatcher.evict();
+		if (r != null) signalSpace();
+		return r;
+	}
+
+	/**
+	 * 等待空位后加入任务
+	 * @param r 任务
+	 * @param timeout 超时时长(毫秒)
+	 * @return 是否加入
+	 */
+	boolean offer(Runnable r, long timeout) {
+		long e = System.currentTimeMillis() + timeout;
+		blocked.incrementAndGet();
+		try {
+			for (;;) {
+				if (runState != RUNNING) return false;
+				Boolean b = admit(r);
+				if (b != null) return b.booleanValue();
+				long w = e - System.currentTimeMillis();
+				if (w <= 0) return false;
+				synchronized (space) {
+					space.wait(Math.min(w, 50));
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			blocked.decrementAndGet();
+		}
+	}
+
+	/**
+	 * 预留空位后分派任务
+	 * <p>先计入预留数再检查容量，待执行任务数与预留数之和不超过容量上限，并发提交不会超出上限</p>
+	 * @param r 任务
+	 * @return 是否分派 <code>null</code> 为已达容量上限
+	 */
+	Boolean admit(Runnable r) {
+		if (capacity == Integer.MAX_VALUE) return Boolean.valueOf(dispatcher.dispatch(r, false));
+		int n = reserving.incrementAndGet();
+		try {
+			if (dispatcher.size() + n > capacity) return null;
+			return Boolean.valueOf(dispatcher.dispatch(r, false));
+		} finally {
+			reserving.decrementAndGet();
+		}
+	}
+
+	/**
+	 * 通知等待中提交线程
+	 */
+	void signalSpace() {
+		if (blocked.get() <= 0) return;
+		synchronized (space) {
+			space.notifyAll();
+		}
+	}
+
 	/**
 	 * 尝试添加工作者
 	 * @param r 任务项
@@ -348,7 +510,7 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		final Lock lock = this.mainLock;
 		lock.lock();
 		try {
-			int s = maxSize(), ps = workers.size(), qs = queue.size();
+			int s = maxSize(), ps = workers.size(), qs = dispatcher.size();
 			if ((ps < s || ps < 1) && runState == RUNNING && (wcount.get() <= 0 || ps <= qs)) t = addThread(r);
 		} finally {
 			lock.unlock();
@@ -361,35 +523,7 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 	 * @return 任务项
 	 */
 	Runnable getTask() {
-		for (int i = 0;; i = (++i % 5)) {
-			int state = runState;
-			if (state > SHUTDOWN) return null;
-			wa: if (i > 0) {
-				try {
-					long t = 6000l;
-					if (runState > RUNNING) {
-						if (queue.isEmpty()) break wa;
-						t = 500l;
-					}
-					synchronized (queue) {
-						queue.wait(t, 0);
-					}
-				} catch (InterruptedException e) {
-				}
-			}
-			synchronized (queue) {
-				Iterator<Runnable> it = queue.iterator();
-				for (; it.hasNext();) {
-					Runnable r = it.next();
-					if (r != null && now(r)) {
-						it.remove();
-						if (it.hasNext()) queue.notify();
-						return r;
-					}
-				}
-			}
-			if ((i >= 4 || runState >= STOP) && workerCanExit()) return null;
-		}
+		return dispatcher.take();
 	}
 
 	/**
@@ -412,17 +546,36 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 	 * @param r 任务项
 	 * @return 是、否
 	 */
-	private boolean now(Runnable r) {
+	boolean now(Runnable r) {
 		return runAtNow(r);
 	}
 
+	/**
+	 * 异步任务是否执行失败
+	 * @param task 任务
+	 * @return 是、否
+	 */
+	private boolean failed(Runnable task) {
+		if (!(task instanceof Future)) return false;
+		Future f = (Future) task;
+		if (!f.isDone() || f.isCancelled()) return false;
+		try {
+			f.get();
+			return false;
+		} catch (ExecutionException e) {
+			return true;
+		} catch (Throwable e) { // ignored
+			return false;
+		}
+	}
+
 	/**
 	 * 尝试关闭执行器
 	 */
 	private void tryTerminate() {
 		if (workers.size() == 0) {
 			int state = runState;
-			if (state < STOP && !queue.isEmpty()) {
+			if (state < STOP && !dispatcher.isEmpty()) {
 				state = RUNNING; // 新增执行器完成剩除任务
 				addThread(null);
 			}
@@ -432,9 +585,7 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 				terminated();
 			}
 		} else {
-			synchronized (queue) {
-				queue.notifyAll();
-			}
+			dispatcher.signalAll();
 		}
 	}
 
@@ -442,12 +593,12 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 	 * 工作者是否可退出
 	 * @return 是、否
 	 */
-	private boolean workerCanExit() {
+	boolean workerCanExit() {
 		final Lock mainLock = this.mainLock;
 		mainLock.lock();
 		boolean canExit;
 		try {
-			int size = queue.size();
+			int size = dispatcher.size();
 			if (runState == RUNNING) size = Math.max(size, minSize());
 			canExit = runState >= STOP || workers.size() > size;
 		} finally {
@@ -538,27 +689,29 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		 * @return 结果 <code>true</code> 立即执行, <code>false</code> 暂不执行, <code>null</code> 无需执行
 		 */
 		Boolean runnable() {
-			synchronized (queue) {
-				for (Iterator<Runnable> it = queue.iterator(); it.hasNext();) {
-					Runnable t = it.next();
-					if (t == task) {
-						if (forkJoinable(task)) {
-							it.remove();
-							return true;
-						} else {
-							return false;
-						}
-					}
-				}
-			}
-			return null;
+			return dispatcher.claim(task);
 		}
 	}
 
+	/**
+	 * 任务分派模式
+	 * @author demon 2026-10-18
+	 */
+	public static enum DispatchKind {
+		/** 共享队列，全部工作线程共用一个加锁任务队列 */
+		SHARED,
+		/** 工作窃取，每个工作线程持有无锁双端队列，空闲时从其他线程队列窃取任务 */
+		STEALING,
+		/** 优先级调度，共享任务堆按优先级及截止时间先到先执行，见 {@link PriorityTask} */
+		PRIORITY;
+	}
+
 	/**
 	 * 线程上下文访问器
 	 * @author demon 2019-04-15
+	 * @deprecated {@link ThreadContext}
 	 */
+	@Deprecated
 	protected static final class Local extends ThreadLocals {
 
 		/**
@@ -591,7 +744,7 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 	 * 线程池
 	 * @author demon 2017-10-10
 	 */
-	protected final class Monitor implements ThreadsMonitor {
+	protected final class Monitor implements ThreadsStatistics {
 		public int getMaxSize() {
 			return maxSize();
 		}
@@ -607,6 +760,34 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 		public int getWorkingCount() {
 			return workingCount();
 		}
+
+		public long getAbandonedCount() {
+			return counter.getAbandonedCount();
+		}
+
+		public long getCompletedCount() {
+			return counter.getCompletedCount();
+		}
+
+		public long getFailedCount() {
+			return counter.getFailedCount();
+		}
+
+		public LatencyHistogram getQueueTime() {
+			return counter.getQueueTime();
+		}
+
+		public long getRejectedCount() {
+			return counter.getRejectedCount();
+		}
+
+		public LatencyHistogram getRunTime() {
+			return counter.getRunTime();
+		}
+
+		public double getThroughput() {
+			return counter.getThroughput();
+		}
 	}
 
 	/**
@@ -616,27 +797,33 @@ public abstract class AbsThreadsExecutor extends AbstractExecutorService {
 	protected final class Worker implements Runnable {
 
 		final long s;
+		final long created;
 		Runnable cTask;
 		Thread thread;
 
 		public Worker(Runnable task) {
 			this.cTask = task;
 			this.s = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(8);
+			this.created = System.nanoTime();
 		}
 
 		public void run() {
 			wcount.incrementAndGet();
+			dispatcher.attach(thread);
 			try {
 				Runnable task = cTask;
 				cTask = null;
+				if (task != null) counter.recordQueued(System.nanoTime() - created);
 				for (;;) {
 					while (task != null || (task = getTask()) != null) {
+						signalSpace();
 						runTask(task);
 						task = null;
 					}
 					if (runOver()) break;
 				}
 			} finally {
+				dispatcher.detach(thread);
 				workerDone(this);
 				wcount.decrementAndGet();
 			}
@@ -0,0 +1,137 @@
+/*
+ * @(#)ExecutorMonitor.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.dommons.core.Silewarner;
+import org.dommons.core.string.Stringure;
+
+/**
+ * 线程池监控
+ * <p>将线程池统计注册为 JMX 管理对象，对象名为 <code>org.dommons.concurrent:type=Executor,name=线程池名</code></p>
+ * @author demon 2026-10-18
+ */
+public class ExecutorMonitor implements ExecutorMonitorMBean {
+
+	static final String domain = "org.dommons.concurrent";
+
+	/**
+	 * 注册线程池监控
+	 * @param name 线程池名
+	 * @param executor 线程池
+	 * @return 是否注册成功
+	 */
+	public static boolean register(String name, AbsThreadsExecutor executor) {
+		if (executor == null || Stringure.isEmpty(name)) return false;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName on = name(name);
+			if (server.isRegistered(on)) server.unregisterMBean(on);
+			server.registerMBean(new ExecutorMonitor(executor.statistics()), on);
+			return true;
+		} catch (Throwable t) {
+			Silewarner.error(ExecutorMonitor.class, t);
+			return false;
+		}
+	}
+
+	/**
+	 * 注销线程池监控
+	 * @param name 线程池名
+	 */
+	public static void unregister(String name) {
+		if (Stringure.isEmpty(name)) return;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName on = name(name);
+			if (server.isRegistered(on)) server.unregisterMBean(on);
+		} catch (Throwable t) {
+			Silewarner.error(ExecutorMonitor.class, t);
+		}
+	}
+
+	/**
+	 * 生成管理对象名
+	 * @param name 线程池名
+	 * @return 对象名
+	 * @throws Exception
+	 */
+	static ObjectName name(String name) throws Exception {
+		return new ObjectName(domain + ":type=Executor,name=" + ObjectName.quote(name));
+	}
+
+	protected final ThreadsStatistics monitor;
+
+	protected ExecutorMonitor(ThreadsStatistics monitor) {
+		this.monitor = monitor;
+	}
+
+	public long getAbandonedCount() {
+		return monitor.getAbandonedCount();
+	}
+
+	public long getCompletedCount() {
+		return monitor.getCompletedCount();
+	}
+
+	public long getFailedCount() {
+		return monitor.getFailedCount();
+	}
+
+	public int getMaxSize() {
+		return monitor.getMaxSize();
+	}
+
+	public int getPoolSize() {
+		return monitor.getPoolSize();
+	}
+
+	public long getQueueTimeMax() {
+		return monitor.getQueueTime().getMax();
+	}
+
+	public double getQueueTimeMean() {
+		return monitor.getQueueTime().getMean();
+	}
+
+	public long getQueueTimeP99() {
+		return monitor.getQueueTime().percentile(0.99);
+	}
+
+	public long getRejectedCount() {
+		return monitor.getRejectedCount();
+	}
+
+	public long getRunTimeMax() {
+		return monitor.getRunTime().getMax();
+	}
+
+	public double getRunTimeMean() {
+		return monitor.getRunTime().getMean();
+	}
+
+	public long getRunTimeP50() {
+		return monitor.getRunTime().percentile(0.5);
+	}
+
+	public long getRunTimeP99() {
+		return monitor.getRunTime().percentile(0.99);
+	}
+
+	public double getThroughput() {
+		return monitor.getThroughput();
+	}
+
+	public int getWaitingCount() {
+		return monitor.getWaitingCount();
+	}
+
+	public int getWorkingCount() {
+		return monitor.getWorkingCount();
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * @(#)ExecutorMonitorMBean.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+/**
+ * 线程池监控管理接口
+ * @author demon 2026-10-18
+ */
+public interface ExecutorMonitorMBean {
+
+	/**
+	 * 获取放弃执行任务数
+	 * @return 任务数
+	 */
+	public long getAbandonedCount();
+
+	/**
+	 * 获取成功完成任务数
+	 * @return 任务数
+	 */
+	public long getCompletedCount();
+
+	/**
+	 * 获取执行失败任务数
+	 * @return 任务数
+	 */
+	public long getFailedCount();
+
+	/**
+	 * 获取最大线程数
+	 * @return 最大线程数
+	 */
+	public int getMaxSize();
+
+	/**
+	 * 获取当前线程数
+	 * @return 线程数
+	 */
+	public int getPoolSize();
+
+	/**
+	 * 获取最大排队耗时
+	 * @return 耗时(纳秒)
+	 */
+	public long getQueueTimeMax();
+
+	/**
+	 * 获取平均排队耗时
+	 * @return 耗时(纳秒)
+	 */
+	public double getQueueTimeMean();
+
+	/**
+	 * 获取排队耗时 99 分位
+	 * @return 耗时(纳秒)
+	 */
+	public long getQueueTimeP99();
+
+	/**
+	 * 获取拒绝任务数
+	 * @return 任务数
+	 */
+	public long getRejectedCount();
+
+	/**
+	 * 获取最大执行耗时
+	 * @return 耗时(纳秒)
+	 */
+	public long getRunTimeMax();
+
+	/**
+	 * 获取平均执行耗时
+	 * @return 耗时(纳秒)
+	 */
+	public double getRunTimeMean();
+
+	/**
+	 * 获取执行耗时 50 分位
+	 * @return 耗时(纳秒)
+	 */
+	public long getRunTimeP50();
+
+	/**
+	 * 获取执行耗时 99 分位
+	 * @return 耗时(纳秒)
+	 */
+	public long getRunTimeP99();
+
+	/**
+	 * 获取吞吐率
+	 * @return 每秒执行完成任务数
+	 */
+	public double getThroughput();
+
+	/**
+	 * 获取待执行任务数
+	 * @return 任务数
+	 */
+	public int getWaitingCount();
+
+	/**
+	 * 获取当前工作线程数
+	 * @return 线程数
+	 */
+	public int getWorkingCount();
+}
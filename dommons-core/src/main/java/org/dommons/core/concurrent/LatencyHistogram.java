@@ -0,0 +1,126 @@
+/*
+ * @(#)LatencyHistogram.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 耗时分布直方图
+ * <p>按二的幂次划分耗时区间(纳秒)，每个区间使用分段计数器累加，记录开销为常数；分位数按所在区间上界估算</p>
+ * @author demon 2026-10-18
+ */
+public class LatencyHistogram {
+
+	static final int buckets = 48; // 最大区间约 39 小时
+
+	/**
+	 * 计算区间序号
+	 * @param nanos 耗时
+	 * @return 区间序号
+	 */
+	static int bucket(long nanos) {
+		if (nanos <= 0) return 0;
+		return Math.min(buckets - 1, 64 - Long.numberOfLeadingZeros(nanos));
+	}
+
+	private final StripedCounter[] counts;
+	private final StripedCounter total;
+	private final AtomicLong max;
+
+	public LatencyHistogram() {
+		this.counts = new StripedCounter[buckets];
+		for (int i = 0; i < buckets; i++)
+			counts[i] = new StripedCounter();
+		this.total = new StripedCounter();
+		this.max = new AtomicLong(0);
+	}
+
+	/**
+	 * 获取各区间计数
+	 * @return 计数集 第<code>i</code>项为耗时小于 <code>2^i</code> 纳秒且不小于 <code>2^(i-1)</code> 纳秒的次数
+	 */
+	public long[] counts() {
+		long[] cs = new long[buckets];
+		for (int i = 0; i < buckets; i++)
+			cs[i] = counts[i].sum();
+		return cs;
+	}
+
+	/**
+	 * 获取记录次数
+	 * @return 次数
+	 */
+	public long getCount() {
+		long c = 0;
+		for (int i = 0; i < buckets; i++)
+			c += counts[i].sum();
+		return c;
+	}
+
+	/**
+	 * 获取最大耗时
+	 * @return 耗时(纳秒)
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * 获取平均耗时
+	 * @return 耗时(纳秒)
+	 */
+	public double getMean() {
+		long c = getCount();
+		return c == 0 ? 0D : (double) total.sum() / c;
+	}
+
+	/**
+	 * 获取总耗时
+	 * @return 耗时(纳秒)
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * 估算分位耗时
+	 * @param quantile 分位 <code>0</code>至<code>1</code>
+	 * @return 耗时(纳秒)
+	 */
+	public long percentile(double quantile) {
+		long[] cs = counts();
+		long c = 0;
+		for (long x : cs)
+			c += x;
+		if (c == 0) return 0;
+		long rank = (long) Math.ceil(Math.max(0D, Math.min(1D, quantile)) * c);
+		long m = max.get();
+		for (int i = 0; i < buckets; i++) {
+			if ((rank -= cs[i]) <= 0) return i == 0 ? 0 : Math.min(m, (1L << i) - 1);
+		}
+		return m;
+	}
+
+	/**
+	 * 记录耗时
+	 * @param nanos 耗时(纳秒)
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) nanos = 0;
+		counts[bucket(nanos)].add(1);
+		total.add(nanos);
+		for (long m = max.get(); nanos > m && !max.compareAndSet(m, nanos);)
+			m = max.get();
+	}
+
+	/**
+	 * 重置
+	 */
+	public void reset() {
+		for (int i = 0; i < buckets; i++)
+			counts[i].reset();
+		total.reset();
+		max.set(0);
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * @(#)PriorityFuture.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 优先级异步任务执行状态
+ * <p>提交优先级任务时保留原任务优先级、截止时间及前后置执行</p>
+ * @author demon 2026-10-18
+ */
+class PriorityFuture<V> extends FutureTask<V> implements PriorityTask {
+
+	protected final PriorityTask task;
+
+	public PriorityFuture(Callable<V> callable) {
+		super(callable);
+		this.task = (PriorityTask) callable;
+	}
+
+	public PriorityFuture(Runnable runnable, V result) {
+		super(runnable, result);
+		this.task = (PriorityTask) runnable;
+	}
+
+	public void afterExecute(Throwable t) {
+		task.afterExecute(t);
+	}
+
+	public void beforeExecute() {
+		task.beforeExecute();
+	}
+
+	public long deadline() {
+		return task.deadline();
+	}
+
+	public int priority() {
+		return task.priority();
+	}
+}
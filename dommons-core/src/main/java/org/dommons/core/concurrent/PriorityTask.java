@@ -0,0 +1,37 @@
+/*
+ * @(#)PriorityTask.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+/**
+ * 优先级异步任务
+ * <p>
+ * 优先级调度模式下按虚拟截止时间先到先执行：虚拟截止时间为入队时间加优先级对应等待额度，任务自带截止时间更早时以截止时间为准。低优先级任务等待超出额度后排在新提交的高优先级任务之前，不会长期得不到执行。
+ * </p>
+ * @author demon 2026-10-18
+ */
+public interface PriorityTask extends RunnableTask {
+
+	/** 紧急 无等待额度 */
+	public static final int CRITICAL = 0;
+	/** 高 等待额度 10 毫秒 */
+	public static final int HIGH = 1;
+	/** 普通 等待额度 100 毫秒 未实现本接口任务按普通优先级 */
+	public static final int NORMAL = 2;
+	/** 低 等待额度 1 秒 */
+	public static final int LOW = 3;
+	/** 批量 等待额度 10 秒 */
+	public static final int BATCH = 4;
+
+	/**
+	 * 获取截止时间
+	 * @return 截止时间(毫秒) 小于等于 <code>0</code> 为无截止时间
+	 */
+	public long deadline();
+
+	/**
+	 * 获取优先级
+	 * @return 优先级 {@link #CRITICAL} 至 {@link #BATCH}
+	 */
+	public int priority();
+}
@@ -0,0 +1,200 @@
+/*
+ * @(#)ReadyQueue.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 索引任务队列
+ * <p>双向链表队列，按对象标识索引节点，包含判断及移除指定内容均为常数时间。非线程安全，由调用方加锁</p>
+ * @author demon 2026-10-18
+ */
+class ReadyQueue<E> extends TaskQueue<E> {
+
+	private final Map<Object, Node<E>> index;
+	private Node<E> head;
+	private Node<E> tail;
+	private int size;
+	private int modCount;
+
+	public ReadyQueue() {
+		this.index = new IdentityHashMap();
+	}
+
+	@Override
+	public void clear() {
+		index.clear();
+		head = tail = null;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return o != null && index.containsKey(o);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	public boolean offer(E e, long time) {
+		if (e == null) throw new NullPointerException();
+		Node<E> n = new Node(e, time);
+		n.prev = tail;
+		if (tail == null) head = n;
+		else tail.next = n;
+		tail = n;
+		Node<E> a = index.get(e);
+		if (a == null) {
+			index.put(e, n);
+		} else { // 相同内容按队列顺序链接
+			while (a.alias != null)
+				a = a.alias;
+			a.alias = n;
+		}
+		size++;
+		modCount++;
+		return true;
+	}
+
+	public boolean offerFirst(E e, long time) {
+		if (e == null) throw new NullPointerException();
+		Node<E> n = new Node(e, time);
+		n.next = head;
+		if (head == null) tail = n;
+		else head.prev = n;
+		head = n;
+		n.alias = index.put(e, n);
+		size++;
+		modCount++;
+		return true;
+	}
+
+	public E peek() {
+		return head == null ? null : head.item;
+	}
+
+	/**
+	 * 取出队尾
+	 * @return 内容 <code>null</code> 为空
+	 */
+	public E pollLast() {
+		Node<E> n = pollLastNode();
+		return n == null ? null : n.item;
+	}
+
+	public void restore(E e, long time) {
+		offerFirst(e, time);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	Node<E> pollEntry() {
+		Node<E> n = head;
+		if (n != null) unlink(n);
+		return n;
+	}
+
+	/**
+	 * 取出队尾节点
+	 * @return 节点 <code>null</code> 为空
+	 */
+	Node<E> pollLastNode() {
+		Node<E> n = tail;
+		if (n != null) unlink(n);
+		return n;
+	}
+
+	Node<E> removeEntry(Object o) {
+		Node<E> n = o == null ? null : index.get(o);
+		if (n != null) unlink(n);
+		return n;
+	}
+
+	/**
+	 * 移除节点
+	 * @param n 节点
+	 */
+	void unlink(Node<E> n) {
+		Node<E> p = n.prev, x = n.next;
+		if (p == null) head = x;
+		else p.next = x;
+		if (x == null) tail = p;
+		else x.prev = p;
+		n.prev = n.next = null;
+
+		Node<E> a = index.get(n.item);
+		if (a == n) {
+			if (n.alias == null) index.remove(n.item);
+			else index.put(n.item, n.alias);
+		} else if (a != null) {
+			while (a.alias != null && a.alias != n)
+				a = a.alias;
+			if (a.alias == n) a.alias = n.alias;
+		}
+		n.alias = null;
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * 迭代器
+	 * @author demon 2026-10-18
+	 */
+	class Itr implements Iterator<E> {
+
+		private Node<E> next;
+		private Node<E> last;
+		private int expected;
+
+		protected Itr() {
+			this.next = head;
+			this.expected = modCount;
+		}
+
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		public E next() {
+			if (expected != modCount) throw new ConcurrentModificationException();
+			if (next == null) throw new NoSuchElementException();
+			last = next;
+			next = next.next;
+			return last.item;
+		}
+
+		public void remove() {
+			if (last == null) throw new IllegalStateException();
+			if (expected != modCount) throw new ConcurrentModificationException();
+			unlink(last);
+			last = null;
+			expected = modCount;
+		}
+	}
+
+	/**
+	 * 队列节点
+	 * @author demon 2026-10-18
+	 */
+	static final class Node<E> extends Entry<E> {
+
+		Node<E> prev;
+		Node<E> next;
+		Node<E> alias; // 相同内容下一节点
+
+		protected Node(E item, long time) {
+			super(item, time);
+		}
+	}
+}
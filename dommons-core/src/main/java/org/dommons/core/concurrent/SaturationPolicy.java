@@ -0,0 +1,19 @@
+/*
+ * @(#)SaturationPolicy.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+/**
+ * 线程池饱和处理策略
+ * <p>待执行任务数达到线程池容量上限时处理新提交任务，常用策略见 {@link Saturations}</p>
+ * @author demon 2026-10-18
+ */
+public interface SaturationPolicy {
+
+	/**
+	 * 处理饱和时提交的任务
+	 * @param r 任务
+	 * @param executor 线程池
+	 */
+	public void saturated(Runnable r, AbsThreadsExecutor executor);
+}
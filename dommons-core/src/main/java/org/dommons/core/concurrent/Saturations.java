@@ -0,0 +1,66 @@
+/*
+ * @(#)Saturations.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 线程池饱和处理策略集
+ * @author demon 2026-10-18
+ */
+public final class Saturations {
+
+	/** 拒绝执行 抛出拒绝异常 */
+	public static final SaturationPolicy ABORT = new SaturationPolicy() {
+		public void saturated(Runnable r, AbsThreadsExecutor executor) {
+			executor.reject(r);
+		}
+	};
+
+	/** 由提交线程直接执行 线程池已关闭时拒绝 */
+	public static final SaturationPolicy CALLER_RUNS = new SaturationPolicy() {
+		public void saturated(Runnable r, AbsThreadsExecutor executor) {
+			if (executor.isShutdown()) executor.reject(r);
+			else executor.run(r, Thread.currentThread());
+		}
+	};
+
+	/** 丢弃最早的待执行任务后加入新任务 */
+	public static final SaturationPolicy DROP_OLDEST = new SaturationPolicy() {
+		public void saturated(Runnable r, AbsThreadsExecutor executor) {
+			if (executor.isShutdown()) {
+				executor.reject(r);
+				return;
+			}
+			Runnable o = executor.evict();
+			if (o != null) executor.drop(o);
+			if (!executor.offer(r, 0)) executor.reject(r);
+		}
+	};
+
+	/** 丢弃新提交任务 */
+	public static final SaturationPolicy DROP_NEWEST = new SaturationPolicy() {
+		public void saturated(Runnable r, AbsThreadsExecutor executor) {
+			if (executor.isShutdown()) executor.reject(r);
+			else executor.drop(r);
+		}
+	};
+
+	/**
+	 * 阻塞提交线程等待空位 超时后拒绝
+	 * @param timeout 超时时长
+	 * @param unit 时间单位
+	 * @return 饱和处理策略
+	 */
+	public static SaturationPolicy block(long timeout, TimeUnit unit) {
+		final long t = unit == null ? timeout : unit.toMillis(timeout);
+		return new SaturationPolicy() {
+			public void saturated(Runnable r, AbsThreadsExecutor executor) {
+				if (!executor.offer(r, Math.max(0, t))) executor.reject(r);
+			}
+		};
+	}
+
+	private Saturations() {}
+}
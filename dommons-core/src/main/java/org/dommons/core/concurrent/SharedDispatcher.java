@@ -0,0 +1,203 @@
+/*
+ * @(#)SharedDispatcher.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * 共享队列任务分派器
+ * <p>
+ * 全部工作线程共用一个任务队列，以队列对象为锁。暂不可执行任务移入暂缓队列，收到重新判断信号、间隔一定时间或工作线程等待超时后再放回任务队列，取任务时只检查队首；默认队列按任务标识索引，合并执行时移除指定任务为常数时间。待执行任务数单独计数，读取时不加锁，添加工作线程时不持有队列锁，避免与线程池主锁互相等待。
+ * </p>
+ * @author demon 2026-10-18
+ */
+class SharedDispatcher extends TaskDispatcher {
+
+	static final long recheck = 500; // 暂缓任务重新判断间隔
+
+	protected final Queue<Runnable> queue;
+
+	private final ReadyQueue<Runnable> deferred;
+	private volatile int count; // 任务队列与暂缓队列任务数 持有队列锁时修改
+	private long admitted;
+
+	public SharedDispatcher(AbsThreadsExecutor executor, Queue<Runnable> queue) {
+		super(executor);
+		this.queue = queue;
+		this.deferred = new ReadyQueue();
+		this.admitted = System.currentTimeMillis();
+	}
+
+	public Boolean claim(Runnable task) {
+		synchronized (queue) {
+			Queue<Runnable> q = null;
+			if (queue instanceof TaskQueue ? queue.contains(task) : contains(queue, task)) q = queue;
+			else if (deferred.contains(task)) q = deferred;
+			else return null;
+
+			if (!executor.forkJoinable(task)) return false;
+			if (q instanceof TaskQueue) queued(((TaskQueue<Runnable>) q).removeEntry(task));
+			else remove(q, task);
+			count--;
+			return true;
+		}
+	}
+
+	public boolean dispatch(Runnable r, boolean first) {
+		if (!first && executor.runState != AbsThreadsExecutor.RUNNING) return false;
+		synchronized (queue) {
+			if (!executor.now(r)) {
+				if (first) deferred.offerFirst(r);
+				else deferred.offer(r);
+				count++;
+				return true;
+			}
+		}
+		if (executor.addWorker(r)) return true; // 不持有队列锁，添加工作线程需获取线程池主锁
+		synchronized (queue) {
+			if (first && queue instanceof TaskQueue) ((TaskQueue) queue).offerFirst(r);
+			else if (first && queue instanceof List) ((List) queue).add(0, r);
+			else if (!queue.offer(r)) return first;
+			count++;
+			queue.notify();
+		}
+		return true;
+	}
+
+	public Runnable evict() {
+		synchronized (queue) {
+			Runnable r = queue.poll();
+			if (r == null) r = deferred.poll();
+			if (r != null) count--;
+			return r;
+		}
+	}
+
+	public boolean isEmpty() {
+		return count <= 0;
+	}
+
+	public void readmit() {
+		synchronized (queue) {
+			admit();
+			queue.notifyAll();
+		}
+	}
+
+	public void signalAll() {
+		synchronized (queue) {
+			queue.notifyAll();
+		}
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public Runnable take() {
+		for (int i = 0;; i = (++i % 5)) {
+			int state = executor.runState;
+			if (state > AbsThreadsExecutor.SHUTDOWN) return null;
+			boolean expired = false;
+			wa: if (i > 0) {
+				try {
+					long t = 6000l;
+					if (executor.runState > AbsThreadsExecutor.RUNNING) {
+						if (isEmpty()) break wa;
+						t = 500l;
+					}
+					synchronized (queue) {
+						if (!deferred.isEmpty()) t = Math.min(t, recheck);
+						long s = System.currentTimeMillis();
+						queue.wait(t, 0);
+						expired = System.currentTimeMillis() - s >= t;
+					}
+				} catch (InterruptedException e) {
+				}
+			}
+			synchronized (queue) {
+				// 等待超时后或到达间隔时重新判断暂缓任务，不在每次取任务时遍历暂缓队列
+				if (!deferred.isEmpty() && (expired || System.currentTimeMillis() - admitted >= recheck)) admit();
+				if (queue instanceof TaskQueue) {
+					TaskQueue<Runnable> q = (TaskQueue) queue;
+					for (TaskQueue.Entry<Runnable> n = null; (n = q.pollEntry()) != null;) {
+						if (executor.now(n.item)) {
+							if (!q.isEmpty()) queue.notify();
+							queued(n);
+							count--;
+							return n.item;
+						}
+						deferred.offer(n.item, n.time);
+					}
+				} else {
+					for (Runnable r = null; (r = queue.poll()) != null;) {
+						if (executor.now(r)) {
+							if (!queue.isEmpty()) queue.notify();
+							count--;
+							return r;
+						}
+						deferred.offer(r);
+					}
+				}
+			}
+			if ((i >= 4 || executor.runState >= AbsThreadsExecutor.STOP) && executor.workerCanExit()) return null;
+		}
+	}
+
+	/**
+	 * 暂缓任务放回任务队列
+	 */
+	private void admit() {
+		admitted = System.currentTimeMillis();
+		if (deferred.isEmpty()) return;
+		if (queue instanceof TaskQueue) {
+			TaskQueue<Runnable> q = (TaskQueue) queue;
+			for (TaskQueue.Entry<Runnable> n = null; (n = deferred.pollLastNode()) != null;) // 按原入队时间放回
+				q.restore(n.item, n.time);
+		} else {
+			for (Runnable r = null; (r = deferred.poll()) != null;) {
+				if (queue.offer(r)) continue;
+				deferred.offerFirst(r); // 任务队列已满，其余仍暂缓
+				break;
+			}
+		}
+	}
+
+	/**
+	 * 记录排队耗时
+	 * @param n 队列节点
+	 */
+	private void queued(TaskQueue.Entry<Runnable> n) {
+		if (n != null) executor.counter.recordQueued(System.nanoTime() - n.time);
+	}
+
+	/**
+	 * 队列是否包含任务
+	 * @param q 队列
+	 * @param task 任务
+	 * @return 是、否
+	 */
+	private boolean contains(Queue<Runnable> q, Runnable task) {
+		for (Iterator<Runnable> it = q.iterator(); it.hasNext();) {
+			if (it.next() == task) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 从队列中移除任务
+	 * @param q 队列
+	 * @param task 任务
+	 */
+	private void remove(Queue<Runnable> q, Runnable task) {
+		for (Iterator<Runnable> it = q.iterator(); it.hasNext();) {
+			if (it.next() == task) {
+				it.remove();
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * @(#)StealingDispatcher.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 工作窃取任务分派器
+ * <p>
+ * 每个工作线程持有无锁双端队列，工作线程内提交的任务压入自身队列，外部提交的任务进入共享无锁队列。工作线程依次从自身队列、优先队列、共享队列取任务，均为空时从其他工作线程队列窃取；空闲线程挂起等待唤醒。
+ * </p>
+ * @author demon 2026-10-18
+ */
+class StealingDispatcher extends TaskDispatcher {
+
+	private final ConcurrentLinkedQueue<Slot> urgent;
+	private final ConcurrentLinkedQueue<Slot> shared;
+	private final Map<Thread, WorkDeque<Slot>> locals;
+	private final Map<Runnable, Slot> index;
+	private final ConcurrentLinkedQueue<Thread> idle;
+	private final AtomicInteger count;
+	private final AtomicInteger events;
+	private volatile WorkDeque<Slot>[] deques;
+
+	public StealingDispatcher(AbsThreadsExecutor executor) {
+		super(executor);
+		this.urgent = new ConcurrentLinkedQueue();
+		this.shared = new ConcurrentLinkedQueue();
+		this.locals = new ConcurrentHashMap();
+		this.index = new ConcurrentHashMap();
+		this.idle = new ConcurrentLinkedQueue();
+		this.count = new AtomicInteger(0);
+		this.events = new AtomicInteger(0);
+		this.deques = new WorkDeque[0];
+	}
+
+	public void attach(Thread thread) {
+		synchronized (this) {
+			locals.put(thread, new WorkDeque());
+			deques = locals.values().toArray(new WorkDeque[locals.size()]);
+		}
+	}
+
+	public Boolean claim(Runnable task) {
+		Slot s = index.get(task);
+		if (s == null || s.get()) return null;
+		if (!executor.forkJoinable(task)) return false;
+		if (!s.claim()) return null;
+		index.remove(task);
+		count.decrementAndGet();
+		executor.counter.recordQueued(System.nanoTime() - s.time);
+		return true;
+	}
+
+	public void detach(Thread thread) { // 由工作线程自身调用
+		WorkDeque<Slot> d = null;
+		synchronized (this) {
+			d = locals.remove(thread);
+			deques = locals.values().toArray(new WorkDeque[locals.size()]);
+		}
+		if (d == null) return;
+		boolean moved = false;
+		for (Slot s = null; (s = d.pop()) != null;) { // 剩余任务移入共享队列
+			shared.offer(s);
+			moved = true;
+		}
+		if (moved) signal();
+	}
+
+	public boolean dispatch(Runnable r, boolean first) {
+		if (!first && executor.runState != AbsThreadsExecutor.RUNNING) return false;
+		if (executor.now(r) && executor.addWorker(r)) return true;
+		Slot s = new Slot(r);
+		if (r instanceof Future) index.put(r, s);
+		count.incrementAndGet();
+		WorkDeque<Slot> d = locals.get(Thread.currentThread());
+		if (d != null) d.push(s);
+		else if (first) urgent.offer(s);
+		else shared.offer(s);
+		signal();
+		return true;
+	}
+
+	public Runnable evict() {
+		for (;;) {
+			Slot s = shared.poll();
+			if (s == null) s = steal(null, Thread.currentThread());
+			if (s == null) return null;
+			if (!s.claim()) continue;
+			if (s.task instanceof Future) index.remove(s.task);
+			count.decrementAndGet();
+			return s.task;
+		}
+	}
+
+	public void signalAll() {
+		events.incrementAndGet();
+		for (Thread t = null; (t = idle.poll()) != null;)
+			LockSupport.unpark(t);
+	}
+
+	public int size() {
+		return count.get();
+	}
+
+	public Runnable take() {
+		Thread thread = Thread.currentThread();
+		WorkDeque<Slot> own = locals.get(thread);
+		for (int i = 0;; i = (++i % 5)) {
+			if (executor.runState > AbsThreadsExecutor.SHUTDOWN) return null;
+			int e = events.get();
+			Runnable r = poll(own, thread);
+			if (r != null) {
+				if (count.get() > 0 && !idle.isEmpty()) signal(); // 仍有任务时唤醒其他空闲线程
+				return r;
+			}
+			if ((i >= 4 || executor.runState >= AbsThreadsExecutor.STOP) && executor.workerCanExit()) return null;
+
+			long t = 6000l;
+			if (executor.runState > AbsThreadsExecutor.RUNNING) {
+				if (isEmpty()) continue;
+				t = 500l;
+			}
+			idle.offer(thread);
+			if (events.get() == e) LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(t));
+			idle.remove(thread);
+			Thread.interrupted();
+		}
+	}
+
+	/**
+	 * 领取任务项
+	 * @param s 任务项
+	 * @return 任务 <code>null</code> 为已被其他线程领取
+	 */
+	private Runnable acquire(Slot s) {
+		if (!s.claim()) return null;
+		if (s.task instanceof Future) index.remove(s.task);
+		count.decrementAndGet();
+		executor.counter.recordQueued(System.nanoTime() - s.time);
+		return s.task;
+	}
+
+	/**
+	 * 依次从各队列获取可执行任务
+	 * @param own 自身队列
+	 * @param thread 当前线程
+	 * @return 任务
+	 */
+	private Runnable poll(WorkDeque<Slot> own, Thread thread) {
+		int deferred = count.get(); // 暂不可执行任务重新排队上限，避免空转
+		for (;;) {
+			Slot s = null;
+			if (own != null) s = own.pop();
+			if (s == null) s = urgent.poll();
+			if (s == null) s = shared.poll();
+			if (s == null) s = steal(own, thread);
+			if (s == null) return null;
+			if (s.get()) continue; // 已被合并执行
+			if (!executor.now(s.task)) {
+				shared.offer(s);
+				if (--deferred < 0) return null;
+				continue;
+			}
+			Runnable r = acquire(s);
+			if (r != null) return r;
+		}
+	}
+
+	/**
+	 * 唤醒一个空闲线程
+	 */
+	private void signal() {
+		events.incrementAndGet();
+		Thread t = idle.poll();
+		if (t != null) LockSupport.unpark(t);
+	}
+
+	/**
+	 * 从其他工作线程队列窃取任务
+	 * @param own 自身队列
+	 * @param thread 当前线程
+	 * @return 任务项
+	 */
+	private Slot steal(WorkDeque<Slot> own, Thread thread) {
+		WorkDeque<Slot>[] ds = deques;
+		int n = ds.length;
+		if (n == 0) return null;
+		int start = (int) ((thread.getId() + events.get()) & 0x7fffffff) % n;
+		for (int i = 0; i < n; i++) {
+			WorkDeque<Slot> d = ds[(start + i) % n];
+			if (d == own) continue;
+			Slot s = d.steal();
+			if (s != null) return s;
+		}
+		return null;
+	}
+
+	/**
+	 * 待执行任务项
+	 * @author demon 2026-10-18
+	 */
+	static final class Slot extends AtomicBoolean {
+
+		private static final long serialVersionUID = 1L;
+
+		final Runnable task;
+		final long time;
+
+		public Slot(Runnable task) {
+			this.task = task;
+			this.time = System.nanoTime();
+		}
+
+		/**
+		 * 领取
+		 * @return 是否领取成功
+		 */
+		public boolean claim() {
+			return compareAndSet(false, true);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * @(#)TaskDispatcher.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+/**
+ * 线程池任务分派器
+ * @author demon 2026-10-18
+ */
+abstract class TaskDispatcher {
+
+	protected final AbsThreadsExecutor executor;
+
+	protected TaskDispatcher(AbsThreadsExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * 工作线程启动
+	 * @param thread 工作线程
+	 */
+	public void attach(Thread thread) {}
+
+	/**
+	 * 认领待执行任务 用于合并执行
+	 * @param task 任务
+	 * @return 结果 <code>true</code> 已认领, <code>false</code> 暂不执行, <code>null</code> 任务不在队列中
+	 */
+	public abstract Boolean claim(Runnable task);
+
+	/**
+	 * 工作线程结束
+	 * @param thread 工作线程
+	 */
+	public void detach(Thread thread) {}
+
+	/**
+	 * 分派任务
+	 * @param r 任务
+	 * @param first 是否优先执行
+	 * @return 是否接受
+	 */
+	public abstract boolean dispatch(Runnable r, boolean first);
+
+	/**
+	 * 移出最早的待执行任务
+	 * @return 任务 <code>null</code> 为无待执行任务
+	 */
+	public abstract Runnable evict();
+
+	/**
+	 * 是否无待执行任务
+	 * @return 是、否
+	 */
+	public boolean isEmpty() {
+		return size() <= 0;
+	}
+
+	/**
+	 * 暂缓任务重新判断是否可执行
+	 */
+	public void readmit() {
+		signalAll();
+	}
+
+	/**
+	 * 唤醒全部等待中工作线程
+	 */
+	public abstract void signalAll();
+
+	/**
+	 * 获取待执行任务数
+	 * @return 任务数
+	 */
+	public abstract int size();
+
+	/**
+	 * 获取可执行任务 无任务时等待
+	 * @return 任务 <code>null</code> 为工作线程可退出
+	 */
+	public abstract Runnable take();
+}
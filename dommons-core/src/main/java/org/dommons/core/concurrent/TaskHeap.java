@@ -0,0 +1,248 @@
+/*
+ * @(#)TaskHeap.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 优先级任务堆
+ * <p>按虚拟截止时间排序的二叉堆，取出、加入及按任务标识移除均为对数时间，虚拟截止时间相同时按入队顺序</p>
+ * @author demon 2026-10-18
+ */
+class TaskHeap<E> extends TaskQueue<E> {
+
+	static final long[] budgets = { 0, TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.SECONDS.toNanos(1),
+			TimeUnit.SECONDS.toNanos(10) };
+	static final long urgent = TimeUnit.HOURS.toNanos(1); // 插入任务提前量
+
+	/**
+	 * 计算虚拟截止时间
+	 * @param e 任务
+	 * @param time 入队时间(纳秒)
+	 * @return 虚拟截止时间(纳秒)
+	 */
+	static long key(Object e, long time) {
+		int p = PriorityTask.NORMAL;
+		long d = 0;
+		if (e instanceof PriorityTask) {
+			PriorityTask t = (PriorityTask) e;
+			p = Math.max(0, Math.min(budgets.length - 1, t.priority()));
+			d = t.deadline();
+		}
+		long k = time + budgets[p];
+		if (d > 0) {
+			long x = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(d - System.currentTimeMillis());
+			if (x - k < 0) k = x;
+		}
+		return k;
+	}
+
+	private final Map<Object, Node<E>> index;
+	private Node<E>[] heap;
+	private int size;
+	private long seq;
+
+	public TaskHeap() {
+		this.index = new IdentityHashMap();
+		this.heap = new Node[64];
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++)
+			heap[i] = null;
+		index.clear();
+		size = 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return o != null && index.containsKey(o);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	public boolean offer(E e, long time) {
+		return add(e, time, key(e, time));
+	}
+
+	public boolean offerFirst(E e, long time) {
+		return add(e, time, time - urgent);
+	}
+
+	public E peek() {
+		return size == 0 ? null : heap[0].item;
+	}
+
+	public void restore(E e, long time) {
+		offer(e, time);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	Node<E> pollEntry() {
+		if (size == 0) return null;
+		Node<E> n = heap[0];
+		removeAt(0);
+		return n;
+	}
+
+	Node<E> removeEntry(Object o) {
+		Node<E> n = o == null ? null : index.get(o);
+		if (n != null) removeAt(n.pos);
+		return n;
+	}
+
+	/**
+	 * 加入任务
+	 * @param e 任务
+	 * @param time 入队时间(纳秒)
+	 * @param key 虚拟截止时间(纳秒)
+	 * @return 是否加入
+	 */
+	private boolean add(E e, long time, long key) {
+		if (e == null) throw new NullPointerException();
+		Node<E> n = new Node(e, time, key, seq++);
+		if (size == heap.length) {
+			Node<E>[] h = new Node[size << 1];
+			System.arraycopy(heap, 0, h, 0, size);
+			heap = h;
+		}
+		n.alias = index.put(e, n);
+		siftUp(size++, n);
+		return true;
+	}
+
+	/**
+	 * 比较先后
+	 * @param a 节点
+	 * @param b 节点
+	 * @return 是否 a 先于 b
+	 */
+	private boolean before(Node<E> a, Node<E> b) {
+		long d = a.key - b.key;
+		return d < 0 || (d == 0 && a.seq < b.seq);
+	}
+
+	/**
+	 * 移除堆位置节点
+	 * @param i 位置
+	 */
+	private void removeAt(int i) {
+		Node<E> n = heap[i], last = heap[--size];
+		heap[size] = null;
+		if (i != size) {
+			siftDown(i, last);
+			if (heap[i] == last) siftUp(i, last);
+		}
+		n.pos = -1;
+
+		Node<E> a = index.get(n.item);
+		if (a == n) {
+			if (n.alias == null) index.remove(n.item);
+			else index.put(n.item, n.alias);
+		} else if (a != null) {
+			while (a.alias != null && a.alias != n)
+				a = a.alias;
+			if (a.alias == n) a.alias = n.alias;
+		}
+		n.alias = null;
+	}
+
+	/**
+	 * 下沉
+	 * @param i 位置
+	 * @param n 节点
+	 */
+	private void siftDown(int i, Node<E> n) {
+		int half = size >>> 1;
+		while (i < half) {
+			int c = (i << 1) + 1, r = c + 1;
+			if (r < size && before(heap[r], heap[c])) c = r;
+			if (!before(heap[c], n)) break;
+			heap[i] = heap[c];
+			heap[i].pos = i;
+			i = c;
+		}
+		heap[i] = n;
+		n.pos = i;
+	}
+
+	/**
+	 * 上浮
+	 * @param i 位置
+	 * @param n 节点
+	 */
+	private void siftUp(int i, Node<E> n) {
+		while (i > 0) {
+			int p = (i - 1) >>> 1;
+			if (!before(n, heap[p])) break;
+			heap[i] = heap[p];
+			heap[i].pos = i;
+			i = p;
+		}
+		heap[i] = n;
+		n.pos = i;
+	}
+
+	/**
+	 * 迭代器 遍历创建时的任务快照
+	 * @author demon 2026-10-18
+	 */
+	class Itr implements Iterator<E> {
+
+		private final Node<E>[] nodes;
+		private int cursor;
+		private Node<E> last;
+
+		protected Itr() {
+			this.nodes = new Node[size];
+			System.arraycopy(heap, 0, nodes, 0, size);
+		}
+
+		public boolean hasNext() {
+			return cursor < nodes.length;
+		}
+
+		public E next() {
+			if (cursor >= nodes.length) throw new NoSuchElementException();
+			last = nodes[cursor++];
+			return last.item;
+		}
+
+		public void remove() {
+			if (last == null) throw new IllegalStateException();
+			if (last.pos >= 0) removeAt(last.pos);
+			last = null;
+		}
+	}
+
+	/**
+	 * 堆节点
+	 * @author demon 2026-10-18
+	 */
+	static final class Node<E> extends Entry<E> {
+
+		final long key;
+		final long seq;
+		int pos;
+		Node<E> alias; // 相同任务其他节点
+
+		protected Node(E item, long time, long key, long seq) {
+			super(item, time);
+			this.key = key;
+			this.seq = seq;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * @(#)TaskQueue.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.AbstractQueue;
+
+/**
+ * 抽象索引任务队列
+ * <p>记录任务入队时间，按对象标识定位任务。非线程安全，由调用方加锁</p>
+ * @author demon 2026-10-18
+ */
+abstract class TaskQueue<E> extends AbstractQueue<E> {
+
+	public boolean offer(E e) {
+		return offer(e, System.nanoTime());
+	}
+
+	/**
+	 * 加入任务
+	 * @param e 任务
+	 * @param time 入队时间(纳秒)
+	 * @return 是否加入
+	 */
+	public abstract boolean offer(E e, long time);
+
+	/**
+	 * 插入任务 优先于其他任务
+	 * @param e 任务
+	 * @return 是否插入
+	 */
+	public boolean offerFirst(E e) {
+		return offerFirst(e, System.nanoTime());
+	}
+
+	/**
+	 * 插入任务 优先于其他任务
+	 * @param e 任务
+	 * @param time 入队时间(纳秒)
+	 * @return 是否插入
+	 */
+	public abstract boolean offerFirst(E e, long time);
+
+	public E poll() {
+		Entry<E> n = pollEntry();
+		return n == null ? null : n.item;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return removeEntry(o) != null;
+	}
+
+	/**
+	 * 放回暂缓任务
+	 * @param e 任务
+	 * @param time 原入队时间(纳秒)
+	 */
+	public abstract void restore(E e, long time);
+
+	/**
+	 * 取出下一任务项
+	 * @return 任务项 <code>null</code> 为空
+	 */
+	abstract Entry<E> pollEntry();
+
+	/**
+	 * 移除指定任务项
+	 * @param o 任务
+	 * @return 任务项 <code>null</code> 为不存在
+	 */
+	abstract Entry<E> removeEntry(Object o);
+
+	/**
+	 * 任务项
+	 * @author demon 2026-10-18
+	 */
+	static class Entry<E> {
+
+		final E item;
+		final long time;
+
+		protected Entry(E item, long time) {
+			this.item = item;
+			this.time = time;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * @(#)ThreadsCounter.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+/**
+ * 线程池统计计数器
+ * <p>各项计数使用分段计数器累加，排队耗时及执行耗时按直方图记录</p>
+ * @author demon 2026-10-18
+ */
+public class ThreadsCounter {
+
+	static final long interval = 1000000000L; // 吞吐率最小统计区间(纳秒)
+
+	private final StripedCounter completed;
+	private final StripedCounter failed;
+	private final StripedCounter rejected;
+	private final StripedCounter abandoned;
+	private final LatencyHistogram queueTime;
+	private final LatencyHistogram runTime;
+
+	private long markTime;
+	private long markCount;
+	private double rate;
+
+	public ThreadsCounter() {
+		this.completed = new StripedCounter();
+		this.failed = new StripedCounter();
+		this.rejected = new StripedCounter();
+		this.abandoned = new StripedCounter();
+		this.queueTime = new LatencyHistogram();
+		this.runTime = new LatencyHistogram();
+		this.markTime = System.nanoTime();
+	}
+
+	/**
+	 * 获取放弃执行数
+	 * @return 任务数
+	 */
+	public long getAbandonedCount() {
+		return abandoned.sum();
+	}
+
+	/**
+	 * 获取成功完成数
+	 * @return 任务数
+	 */
+	public long getCompletedCount() {
+		return completed.sum();
+	}
+
+	/**
+	 * 获取执行失败数
+	 * @return 任务数
+	 */
+	public long getFailedCount() {
+		return failed.sum();
+	}
+
+	/**
+	 * 获取排队耗时分布
+	 * @return 直方图
+	 */
+	public LatencyHistogram getQueueTime() {
+		return queueTime;
+	}
+
+	/**
+	 * 获取拒绝数
+	 * @return 任务数
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * 获取执行耗时分布
+	 * @return 直方图
+	 */
+	public LatencyHistogram getRunTime() {
+		return runTime;
+	}
+
+	/**
+	 * 获取吞吐率 按距上次统计至少一秒的区间计算
+	 * @return 每秒执行完成任务数
+	 */
+	public synchronized double getThroughput() {
+		long now = System.nanoTime(), d = now - markTime;
+		if (d >= interval) {
+			long c = completed.sum() + failed.sum();
+			rate = (double) (c - markCount) * interval / d;
+			markTime = now;
+			markCount = c;
+		}
+		return rate;
+	}
+
+	/**
+	 * 记录放弃执行
+	 */
+	public void recordAbandoned() {
+		abandoned.add(1);
+	}
+
+	/**
+	 * 记录排队耗时
+	 * @param nanos 耗时(纳秒)
+	 */
+	public void recordQueued(long nanos) {
+		queueTime.record(nanos);
+	}
+
+	/**
+	 * 记录拒绝
+	 */
+	public void recordRejected() {
+		rejected.add(1);
+	}
+
+	/**
+	 * 记录执行
+	 * @param nanos 执行耗时(纳秒)
+	 * @param success 是否成功
+	 */
+	public void recordRun(long nanos, boolean success) {
+		runTime.record(nanos);
+		if (success) completed.add(1);
+		else failed.add(1);
+	}
+
+	/**
+	 * 重置计数
+	 */
+	public void reset() {
+		completed.reset();
+		failed.reset();
+		rejected.reset();
+		abandoned.reset();
+		queueTime.reset();
+		runTime.reset();
+		synchronized (this) {
+			markTime = System.nanoTime();
+			markCount = 0;
+			rate = 0;
+		}
+	}
+}
@@ -50,12 +50,20 @@ public class ThreadsExecutor extends AbsThreadsExecutor {
 		this(size, null, name);
 	}
 
+	public ThreadsExecutor(int size, String name, DispatchKind kind) {
+		this(size, Stringure.isEmpty(name) ? null : new NamedThreadFactory(name), null, kind);
+	}
+
 	public ThreadsExecutor(int size, ThreadFactory threadFactory) {
 		this(size, threadFactory, null);
 	}
 
 	public ThreadsExecutor(int size, ThreadFactory threadFactory, Queue queue) {
-		super(threadFactory, queue);
+		this(size, threadFactory, queue, null);
+	}
+
+	public ThreadsExecutor(int size, ThreadFactory threadFactory, Queue queue, DispatchKind kind) {
+		super(threadFactory, queue, kind);
 		this.size = Math.max(1, size);
 		int as = Runtime.getRuntime().availableProcessors();
 		this.min = this.size > as ? as : (this.size / 2);
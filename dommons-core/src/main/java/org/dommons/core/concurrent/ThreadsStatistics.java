@@ -0,0 +1,54 @@
+/*
+ * @(#)ThreadsStatistics.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+/**
+ * 线程池统计
+ * <p>在线程池监视器基础上提供任务计数、耗时分布及吞吐率</p>
+ * @author demon 2026-10-18
+ */
+public interface ThreadsStatistics extends ThreadsMonitor {
+
+	/**
+	 * 获取放弃执行任务数 即执行前已取消的任务
+	 * @return 任务数
+	 */
+	public long getAbandonedCount();
+
+	/**
+	 * 获取成功完成任务数
+	 * @return 任务数
+	 */
+	public long getCompletedCount();
+
+	/**
+	 * 获取执行失败任务数
+	 * @return 任务数
+	 */
+	public long getFailedCount();
+
+	/**
+	 * 获取排队耗时分布
+	 * @return 直方图(纳秒)
+	 */
+	public LatencyHistogram getQueueTime();
+
+	/**
+	 * 获取拒绝任务数
+	 * @return 任务数
+	 */
+	public long getRejectedCount();
+
+	/**
+	 * 获取执行耗时分布
+	 * @return 直方图(纳秒)
+	 */
+	public LatencyHistogram getRunTime();
+
+	/**
+	 * 获取吞吐率
+	 * @return 每秒执行完成任务数
+	 */
+	public double getThroughput();
+}
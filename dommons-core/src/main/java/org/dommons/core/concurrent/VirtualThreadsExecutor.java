@@ -0,0 +1,79 @@
+/*
+ * @(#)VirtualThreadsExecutor.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.dommons.core.Silewarner;
+import org.dommons.core.string.Stringure;
+
+/**
+ * 虚拟线程池执行器
+ * <p>
+ * 运行于支持虚拟线程的 JDK 时，工作线程均为虚拟线程，适用于数据库、网络访问等阻塞型任务，并发数上限可远大于处理器数；不支持虚拟线程时使用平台线程。不保有空闲工作线程。虚拟线程使用工作窃取分派，空闲时以 {@link java.util.concurrent.locks.LockSupport} 挂起，不在对象锁上等待而占住载体线程。
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class VirtualThreadsExecutor extends ThreadsExecutor {
+
+	static Boolean supported;
+
+	/**
+	 * 当前运行环境是否支持虚拟线程
+	 * @return 是、否
+	 */
+	public static boolean supported() {
+		if (supported == null) supported = Boolean.valueOf(factory("virtual-check") != null);
+		return supported.booleanValue();
+	}
+
+	/**
+	 * 生成虚拟线程工厂
+	 * @param name 线程名前缀
+	 * @return 线程工厂 <code>null</code> 为不支持虚拟线程
+	 */
+	static ThreadFactory factory(String name) {
+		try {
+			Method m = Thread.class.getMethod("ofVirtual");
+			Class builder = Class.forName("java.lang.Thread$Builder");
+			Object b = m.invoke(null);
+			b = builder.getMethod("name", String.class, long.class).invoke(b, Stringure.concat("virtual-", name, "-"), 1L);
+			return (ThreadFactory) builder.getMethod("factory").invoke(b);
+		} catch (NoSuchMethodException e) { // ignored
+		} catch (ClassNotFoundException e) { // ignored
+		} catch (Throwable t) {
+			Silewarner.warn(VirtualThreadsExecutor.class, "Virtual threads unavailable", t);
+		}
+		return null;
+	}
+
+	protected final boolean virtual;
+
+	public VirtualThreadsExecutor(int limit) {
+		this(limit, null);
+	}
+
+	public VirtualThreadsExecutor(int limit, String name) {
+		this(limit, Stringure.isEmpty(name) ? "executor" : name, factory(Stringure.isEmpty(name) ? "executor" : name));
+	}
+
+	private VirtualThreadsExecutor(int limit, String name, ThreadFactory vf) {
+		super(limit, vf != null ? vf : new NamedThreadFactory(name), null, vf != null ? DispatchKind.STEALING : DispatchKind.SHARED);
+		this.virtual = vf != null;
+	}
+
+	/**
+	 * 是否使用虚拟线程
+	 * @return 是、否
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	@Override
+	protected int minSize() {
+		return 0;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * @(#)WorkDeque.java     2026-10-18
+ */
+package org.dommons.core.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 工作线程任务双端队列
+ * <p>Chase-Lev 无锁双端队列：所属线程在底端压入、弹出，其他线程在顶端窃取，仅在争抢最后一项时使用 CAS</p>
+ * @author demon 2026-10-18
+ */
+final class WorkDeque<E> {
+
+	static final int initial = 64;
+
+	private final AtomicLong top;
+	private volatile long bottom;
+	private volatile AtomicReferenceArray<E> array;
+
+	public WorkDeque() {
+		this.top = new AtomicLong(0);
+		this.bottom = 0;
+		this.array = new AtomicReferenceArray(initial);
+	}
+
+	/**
+	 * 所属线程弹出最近压入项
+	 * @return 内容项 <code>null</code> 为空
+	 */
+	public E pop() {
+		long b = bottom - 1;
+		AtomicReferenceArray<E> a = array;
+		bottom = b;
+		long t = top.get();
+		if (t > b) {
+			bottom = b + 1;
+			return null;
+		}
+		int x = (int) b & (a.length() - 1);
+		E e = a.get(x);
+		if (t == b) { // 最后一项与窃取线程争抢
+			if (!top.compareAndSet(t, t + 1)) e = null;
+			bottom = b + 1;
+		} else {
+			a.lazySet(x, null);
+		}
+		return e;
+	}
+
+	/**
+	 * 所属线程压入
+	 * @param e 内容项
+	 */
+	public void push(E e) {
+		long b = bottom, t = top.get();
+		AtomicReferenceArray<E> a = array;
+		if (b - t >= a.length() - 1) a = grow(a, t, b);
+		a.set((int) b & (a.length() - 1), e);
+		bottom = b + 1;
+	}
+
+	/**
+	 * 获取内容项数
+	 * @return 项数
+	 */
+	public int size() {
+		long s = bottom - top.get();
+		return s < 0 ? 0 : (int) s;
+	}
+
+	/**
+	 * 其他线程窃取最早压入项
+	 * @return 内容项 <code>null</code> 为空或争抢失败
+	 */
+	public E steal() {
+		long t = top.get(), b = bottom;
+		if (t >= b) return null;
+		AtomicReferenceArray<E> a = array;
+		E e = a.get((int) t & (a.length() - 1));
+		if (e == null || !top.compareAndSet(t, t + 1)) return null;
+		return e;
+	}
+
+	/**
+	 * 扩容
+	 * @param a 原数组
+	 * @param t 顶端位置
+	 * @param b 底端位置
+	 * @return 新数组
+	 */
+	private AtomicReferenceArray<E> grow(AtomicReferenceArray<E> a, long t, long b) {
+		int len = a.length(), mask = len - 1, nmask = (len << 1) - 1;
+		AtomicReferenceArray<E> n = new AtomicReferenceArray(len << 1);
+		for (long i = t; i < b; i++)
+			n.set((int) i & nmask, a.get((int) i & mask));
+		array = n;
+		return n;
+	}
+}
@@ -12,7 +12,7 @@ import java.util.Map;
 import java.util.Properties;
 
 import org.dommons.core.Environments;
-import org.dommons.core.collections.map.ci.CaseInsensitiveHashMap;
+import org.dommons.core.collections.map.ci.CaseInsensitiveOpenMap;
 import org.dommons.core.env.ResourcesFind;
 import org.dommons.core.ref.Ref;
 import org.dommons.core.ref.Softref;
@@ -69,7 +69,7 @@ public abstract class AbstractLocaleConverter {
 	private static Map<String, Locale> locales() {
 		Map<String, Locale> locales = ref == null ? null : ref.get();
 		if (locales == null) {
-			locales = new CaseInsensitiveHashMap(true);
+			locales = new CaseInsensitiveOpenMap(true);
 			for (Locale locale : Locale.getAvailableLocales()) {
 				locales.put(locale.toString(), locale);
 			}
@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.dommons.core.Assertor;
 import org.dommons.core.Environments;
+import org.dommons.core.cache.CacheLoader;
 import org.dommons.core.cache.MemcacheMap;
 import org.dommons.core.number.Numeric;
 import org.dommons.core.string.Stringure;
@@ -34,7 +35,7 @@ public class TimeFormat extends DateFormat {
 	private static final long serialVersionUID = -4740117576896394908L;
 
 	static final ThreadCache<Map<String, SimpleDateFormat>> cache = new ThreadCache(WeakHashMap.class);
-	static final Map<String, TimeFormat> models = new MemcacheMap(TimeUnit.HOURS.toMillis(3), TimeUnit.HOURS.toMillis(24));
+	static final MemcacheMap<String, TimeFormat> models = new MemcacheMap(TimeUnit.HOURS.toMillis(3), TimeUnit.HOURS.toMillis(24));
 	static final Map<String, String> ps = new MemcacheMap(TimeUnit.HOURS.toMillis(3), TimeUnit.HOURS.toMillis(24));
 
 	/**
@@ -70,8 +71,15 @@ public class TimeFormat extends DateFormat {
 		pattern = pattern(pattern, locale);
 		String key = Stringure.join(':', locale, zone.getRawOffset(), pattern);
 		TimeFormat tf = models.get(key);
-		if (tf == null) models.put(key, tf = new TimeFormat(pattern, locale, zone));
-		return tf;
+		if (tf != null) return tf; // 命中时不生成加载器，未命中已计数，直接加载
+		final String p = pattern;
+		final Locale l = locale;
+		final TimeZone z = zone;
+		return models.load(key, new CacheLoader<String, TimeFormat>() {
+			public TimeFormat load(String key) {
+				return new TimeFormat(p, l, z);
+			}
+		});
 	}
 
 	/**
@@ -127,10 +135,17 @@ public class TimeFormat extends DateFormat {
 		int flag = (dateStyle >= 0 ? 1 : 0) | (timeStyle >= 0 ? 2 : 0);
 		if (flag == 0) dateStyle = timeStyle = DEFAULT;
 		String key = Stringure.join(':', dateStyle, timeStyle, locale, zone == null ? null : zone.getRawOffset());
-
 		TimeFormat tf = models.get(key);
-		if (tf == null) models.put(key, tf = new TimeFormat(flag, dateStyle, timeStyle, locale, zone));
-		return tf;
+		if (tf != null) return tf; // 命中时不生成加载器，未命中已计数，直接加载
+
+		final int f = flag, ds = dateStyle, ts = timeStyle;
+		final Locale l = locale;
+		final TimeZone z = zone;
+		return models.load(key, new CacheLoader<String, TimeFormat>() {
+			public TimeFormat load(String key) {
+				return new TimeFormat(f, ds, ts, l, z);
+			}
+		});
 	}
 
 	/**
@@ -6,6 +6,7 @@ package org.dommons.core.util;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -14,6 +15,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.dommons.core.collections.primitive.IntArrayList;
+import org.dommons.core.collections.primitive.IntHashSet;
+import org.dommons.core.collections.primitive.LongArrayList;
+import org.dommons.core.collections.primitive.LongHashSet;
 import org.dommons.core.convert.Converter;
 import org.dommons.core.convert.handlers.StringConverter;
 
@@ -128,7 +133,7 @@ public final class Arrayard {
 	 * @return 列表
 	 */
 	public static List<Integer> asList(int... array) {
-		return toList(array);
+		return array == null ? null : IntArrayList.wrap(array);
 	}
 
 	/**
@@ -137,7 +142,7 @@ public final class Arrayard {
 	 * @return 列表
 	 */
 	public static List<Long> asList(long... array) {
-		return toList(array);
+		return array == null ? null : LongArrayList.wrap(array);
 	}
 
 	/**
@@ -216,6 +221,26 @@ public final class Arrayard {
 		return indexOf(array, obj) >= 0;
 	}
 
+	/**
+	 * 是否包含整数
+	 * @param array 数组
+	 * @param value 数值
+	 * @return 是、否
+	 */
+	public static boolean contains(int[] array, int value) {
+		return indexOf(array, value, 0) >= 0;
+	}
+
+	/**
+	 * 是否包含长整数
+	 * @param array 数组
+	 * @param value 数值
+	 * @return 是、否
+	 */
+	public static boolean contains(long[] array, long value) {
+		return indexOf(array, value, 0) >= 0;
+	}
+
 	/**
 	 * 移除重复双精度数
 	 * @param array 数组
@@ -267,7 +292,14 @@ public final class Arrayard {
 	 * @return 新数组
 	 */
 	public static int[] deduplicate(int... array) {
-		return toInts(noduplicate(array));
+		if (array == null) return null;
+		IntHashSet set = new IntHashSet(array.length);
+		int[] r = new int[array.length];
+		int n = 0;
+		for (int v : array) {
+			if (set.add(v)) r[n++] = v;
+		}
+		return n == r.length ? r : Arrays.copyOf(r, n);
 	}
 
 	/**
@@ -276,7 +308,14 @@ public final class Arrayard {
 	 * @return 新数组
 	 */
 	public static long[] deduplicate(long... array) {
-		return toLongs(noduplicate(array));
+		if (array == null) return null;
+		LongHashSet set = new LongHashSet(array.length);
+		long[] r = new long[array.length];
+		int n = 0;
+		for (long v : array) {
+			if (set.add(v)) r[n++] = v;
+		}
+		return n == r.length ? r : Arrays.copyOf(r, n);
 	}
 
 	/**
@@ -393,6 +432,56 @@ public final class Arrayard {
 		return indexOf(array, obj, 0);
 	}
 
+	/**
+	 * 查找整数在数组中的索引序号
+	 * @param array 数组
+	 * @param value 数值
+	 * @return 索引号
+	 */
+	public static int indexOf(int[] array, int value) {
+		return indexOf(array, value, 0);
+	}
+
+	/**
+	 * 查找整数在数组中的索引序号
+	 * @param array 数组
+	 * @param value 数值
+	 * @param start 起始位置
+	 * @return 索引号
+	 */
+	public static int indexOf(int[] array, int value, int start) {
+		if (array == null) return -1;
+		for (int i = start < 0 ? 0 : start; i < array.length; i++) {
+			if (array[i] == value) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * 查找长整数在数组中的索引序号
+	 * @param array 数组
+	 * @param value 数值
+	 * @return 索引号
+	 */
+	public static int indexOf(long[] array, long value) {
+		return indexOf(array, value, 0);
+	}
+
+	/**
+	 * 查找长整数在数组中的索引序号
+	 * @param array 数组
+	 * @param value 数值
+	 * @param start 起始位置
+	 * @return 索引号
+	 */
+	public static int indexOf(long[] array, long value, int start) {
+		if (array == null) return -1;
+		for (int i = start < 0 ? 0 : start; i < array.length; i++) {
+			if (array[i] == value) return i;
+		}
+		return -1;
+	}
+
 	/**
 	 * 查找目标对象在数组中的索引序号
 	 * @param array 数组
@@ -408,6 +497,8 @@ public final class Arrayard {
 			obj = a;
 		}
 		if (array == null || !array.getClass().isArray()) return -1;
+		else if (array instanceof int[] && obj instanceof Integer) return indexOf((int[]) array, ((Integer) obj).intValue(), start);
+		else if (array instanceof long[] && obj instanceof Long) return indexOf((long[]) array, ((Long) obj).longValue(), start);
 		int len = Array.getLength(array);
 		for (int i = start < 0 ? 0 : start; i < len; i++) {
 			if (equals(get(array, i), obj)) return i;
@@ -651,6 +742,8 @@ public final class Arrayard {
 	 * @return 数组
 	 */
 	public static int[] toInts(Collection<? extends Number> list) {
+		if (list instanceof IntArrayList) return ((IntArrayList) list).toIntArray();
+		else if (list instanceof IntHashSet) return ((IntHashSet) list).toIntArray();
 		return (int[]) toArray(int.class, list);
 	}
 
@@ -660,6 +753,8 @@ public final class Arrayard {
 	 * @return 数组
 	 */
 	public static long[] toLongs(Collection<? extends Number> list) {
+		if (list instanceof LongArrayList) return ((LongArrayList) list).toLongArray();
+		else if (list instanceof LongHashSet) return ((LongHashSet) list).toLongArray();
 		return (long[]) toArray(long.class, list);
 	}
 
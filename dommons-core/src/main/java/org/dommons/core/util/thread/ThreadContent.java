@@ -123,6 +123,23 @@ public final class ThreadContent<T> {
 		return set(null, value);
 	}
 
+	/**
+	 * 获取当前线程全部上下文变量
+	 * @return 上下文变量 <code>null</code> 为无
+	 */
+	static Map<ThreadContent, Map> current() {
+		return local.get();
+	}
+
+	/**
+	 * 设置当前线程全部上下文变量
+	 * @param map 上下文变量 为 <code>null</code> 时清空
+	 */
+	static void current(Map<ThreadContent, Map> map) {
+		if (map == null) local.remove();
+		else local.set(map);
+	}
+
 	/**
 	 * 获取线程变量映射表
 	 * @return 映射表
@@ -0,0 +1,161 @@
+/*
+ * @(#)ThreadContext.java     2026-10-18
+ */
+package org.dommons.core.util.thread;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * 线程上下文传递
+ * <p>
+ * 捕获、恢复当前线程的 {@link ThreadContent} 变量及已注册的线程变量，用于异步任务传递上下文或隔离上下文，不使用反射访问线程内部属性。
+ * </p>
+ * @author demon 2026-10-18
+ */
+public final class ThreadContext {
+
+	static final Snapshot empty = new Snapshot(null, null, null);
+
+	static volatile ThreadLocal[] locals = new ThreadLocal[0];
+
+	/**
+	 * 取出当前线程上下文并替换为快照内容
+	 * @param snapshot 上下文快照 为 <code>null</code> 时清空
+	 * @return 原上下文
+	 */
+	public static Snapshot attach(Snapshot snapshot) {
+		Snapshot prev = detach();
+		restore(snapshot);
+		return prev;
+	}
+
+	/**
+	 * 复制当前线程上下文
+	 * @return 上下文快照
+	 */
+	public static Snapshot capture() {
+		Map<ThreadContent, Map> map = ThreadContent.current(), copy = null;
+		if (map != null && !map.isEmpty()) {
+			copy = new HashMap(map.size());
+			for (Entry<ThreadContent, Map> en : map.entrySet())
+				copy.put(en.getKey(), new HashMap(en.getValue()));
+		}
+		ThreadLocal[] ls = locals;
+		Object[] vs = null;
+		if (ls.length > 0) {
+			vs = new Object[ls.length];
+			for (int i = 0; i < ls.length; i++)
+				vs[i] = ls[i].get();
+		}
+		return copy == null && vs == null ? empty : new Snapshot(copy, ls, vs);
+	}
+
+	/**
+	 * 取出当前线程上下文并清空
+	 * @return 原上下文
+	 */
+	public static Snapshot detach() {
+		Map<ThreadContent, Map> map = ThreadContent.current();
+		ThreadLocal[] ls = locals;
+		Object[] vs = null;
+		if (ls.length > 0) {
+			vs = new Object[ls.length];
+			for (int i = 0; i < ls.length; i++) {
+				vs[i] = ls[i].get();
+				ls[i].remove();
+			}
+		}
+		if (map == null && vs == null) return empty;
+		ThreadContent.current(null);
+		return new Snapshot(map, ls, vs);
+	}
+
+	/**
+	 * 注册线程变量 注册后随上下文一并捕获、恢复
+	 * @param local 线程变量
+	 */
+	public static synchronized void register(ThreadLocal local) {
+		if (local == null || indexOf(locals, local) >= 0) return;
+		ThreadLocal[] ls = new ThreadLocal[locals.length + 1];
+		System.arraycopy(locals, 0, ls, 0, locals.length);
+		ls[locals.length] = local;
+		locals = ls;
+	}
+
+	/**
+	 * 恢复线程上下文 覆盖当前线程上下文
+	 * @param snapshot 上下文快照 为 <code>null</code> 时清空
+	 */
+	public static void restore(Snapshot snapshot) {
+		if (snapshot == null) snapshot = empty;
+		ThreadContent.current(snapshot.content);
+		ThreadLocal[] ls = locals;
+		for (int i = 0; i < ls.length; i++) {
+			int x = snapshot.locals == null ? -1 : indexOf(snapshot.locals, ls[i]);
+			Object v = x < 0 ? null : snapshot.values[x];
+			if (v == null) ls[i].remove();
+			else ls[i].set(v);
+		}
+	}
+
+	/**
+	 * 注销线程变量
+	 * @param local 线程变量
+	 */
+	public static synchronized void unregister(ThreadLocal local) {
+		int x = indexOf(locals, local);
+		if (x < 0) return;
+		ThreadLocal[] ls = new ThreadLocal[locals.length - 1];
+		System.arraycopy(locals, 0, ls, 0, x);
+		System.arraycopy(locals, x + 1, ls, x, ls.length - x);
+		locals = ls;
+	}
+
+	/**
+	 * 查找线程变量序号
+	 * @param ls 线程变量集
+	 * @param local 线程变量
+	 * @return 序号 <code>-1</code> 为不存在
+	 */
+	static int indexOf(ThreadLocal[] ls, ThreadLocal local) {
+		for (int i = 0; i < ls.length; i++) {
+			if (ls[i] == local) return i;
+		}
+		return -1;
+	}
+
+	private ThreadContext() {}
+
+	/**
+	 * 线程上下文快照
+	 * @author demon 2026-10-18
+	 */
+	public static final class Snapshot {
+
+		final Map<ThreadContent, Map> content;
+		final ThreadLocal[] locals;
+		final Object[] values;
+
+		Snapshot(Map<ThreadContent, Map> content, ThreadLocal[] locals, Object[] values) {
+			this.content = content;
+			this.locals = locals;
+			this.values = values;
+		}
+
+		/**
+		 * 是否无上下文内容
+		 * @return 是、否
+		 */
+		public boolean isEmpty() {
+			if (content != null && !content.isEmpty()) return false;
+			if (values != null) {
+				for (Object v : values) {
+					if (v != null) return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -36,6 +36,7 @@ public class ThreadLocals {
 				f.setAccessible(true);
 				fref = new Softref(f);
 			} catch (Throwable t) { // ignored
+				f = null; // 无法访问线程内部属性
 				e(t);
 			}
 		}
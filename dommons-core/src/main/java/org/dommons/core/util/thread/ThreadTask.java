@@ -10,10 +10,36 @@ import org.dommons.core.util.Arrayard;
 
 /**
  * 线程任务
+ * <p>
+ * 创建时捕获当前线程上下文，执行时在执行线程中恢复，见 {@link ThreadContext}。默认只传递 {@link ThreadContent} 变量及通过
+ * {@link ThreadContext#register(ThreadLocal)} 注册的线程变量，不再复制任意线程变量；尚未迁移的调用方可通过
+ * {@link #setReflective(boolean)} 或系统属性 <code>dommons.thread.reflective=true</code> 恢复原反射复制全部线程变量的方式。
+ * </p>
  * @author demon 2016-10-17
  */
 public class ThreadTask extends ThreadLocals implements Runnable {
 
+	static volatile boolean reflective = accessible(Boolean.getBoolean("dommons.thread.reflective"));
+
+	/**
+	 * 是否以反射方式复制全部线程变量
+	 * @return 是、否
+	 */
+	public static boolean isReflective() {
+		return reflective;
+	}
+
+	/**
+	 * 设置是否以反射方式复制全部线程变量
+	 * <p>反射方式需访问线程内部属性，JDK 16 及以上需开放 <code>java.base/java.lang</code> 模块</p>
+	 * @param on 是、否
+	 * @throws IllegalStateException 运行环境不允许访问线程内部属性
+	 */
+	public static void setReflective(boolean on) {
+		if (on && field() == null) throw new IllegalStateException("Thread.threadLocals is not accessible, add --add-opens java.base/java.lang=ALL-UNNAMED");
+		reflective = on;
+	}
+
 	/**
 	 * 复制上下文
 	 * @param tc 上下文
@@ -23,10 +49,20 @@ public class ThreadTask extends ThreadLocals implements Runnable {
 		return ThreadLocalMapCloner.clone(tc);
 	}
 
+	/**
+	 * 判断反射方式是否可用
+	 * @param on 是否启用
+	 * @return 是否启用反射方式
+	 */
+	static boolean accessible(boolean on) {
+		return on && field() != null;
+	}
+
 	protected final Runnable r;
 	protected final Object tc;
 
 	private Object cc;
+	private boolean held;
 
 	public ThreadTask(Runnable r) {
 		this.r = r;
@@ -60,12 +96,16 @@ public class ThreadTask extends ThreadLocals implements Runnable {
 	 * 清除线程上下文件
 	 */
 	protected void cleanThread() {
-		Field f = field();
-		if (f == null) return;
-		try {
-			f.set(Thread.currentThread(), cc);
-		} catch (Throwable t) { // ignored
+		if (tc instanceof ThreadContext.Snapshot) {
+			ThreadContext.restore((ThreadContext.Snapshot) cc);
+		} else if (held) {
+			try {
+				field().set(Thread.currentThread(), cc);
+			} catch (Throwable t) { // ignored
+			}
 		}
+		cc = null;
+		held = false;
 	}
 
 	/**
@@ -73,14 +113,18 @@ public class ThreadTask extends ThreadLocals implements Runnable {
 	 * @return 线程上下文
 	 */
 	protected Object currentParent() {
-		Field f = field();
-		if (f == null) return null;
-		try {
-			return clone(f.get(Thread.currentThread()));
-		} catch (Throwable t) {
-			e(t);
-			return null;
+		if (reflective) {
+			Field f = field();
+			if (f != null) {
+				try {
+					return clone(f.get(Thread.currentThread()));
+				} catch (Throwable t) {
+					e(t);
+				}
+			}
 		}
+		ThreadContext.Snapshot s = ThreadContext.capture();
+		return s.isEmpty() ? null : s;
 	}
 
 	/**
@@ -88,13 +132,18 @@ public class ThreadTask extends ThreadLocals implements Runnable {
 	 * @param tc 线程上下文
 	 */
 	protected void settingThread(Object tc) {
-		Field f = field();
-		if (f == null) return;
-		try {
-			cc = f.get(Thread.currentThread());
-			f.set(Thread.currentThread(), tc);
-		} catch (Throwable t) { // ignored
-			e(t);
+		if (tc instanceof ThreadContext.Snapshot) {
+			cc = ThreadContext.attach((ThreadContext.Snapshot) tc);
+		} else {
+			Field f = field();
+			if (f == null) return;
+			try {
+				cc = f.get(Thread.currentThread());
+				f.set(Thread.currentThread(), tc);
+				held = true;
+			} catch (Throwable t) { // ignored
+				e(t);
+			}
 		}
 	}
 }
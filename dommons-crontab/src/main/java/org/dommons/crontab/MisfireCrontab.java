@@ -0,0 +1,35 @@
+/*
+ * @(#)MisfireCrontab.java     2026-10-18
+ */
+package org.dommons.crontab;
+
+import org.dommons.crontab.setting.MisfireType;
+
+/**
+ * 可处理误点的定时任务
+ * <p>
+ * 调度线程挂起或停顿导致实际执行晚于计划时间点超过容忍时长时视为误点，按误点处理类型补执行或跳过
+ * </p>
+ * @author demon 2026-10-18
+ */
+public interface MisfireCrontab extends Crontab, MisfireType {
+
+	/**
+	 * 获取误点处理类型
+	 * @return 误点处理类型
+	 * @see org.dommons.crontab.setting.MisfireType
+	 */
+	public int misfire();
+
+	/**
+	 * 获取误点容忍时长
+	 * @return 容忍时长(毫秒)
+	 */
+	public long misfireThreshold();
+
+	/**
+	 * 执行任务
+	 * @param missed 错过次数 不含本次执行
+	 */
+	public void run(int missed);
+}
@@ -3,14 +3,15 @@
  */
 package org.dommons.crontab.factory;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -21,7 +22,10 @@ import org.dommons.core.collections.queue.BlockingTreeQueue;
 import org.dommons.core.concurrent.ThreadsExecutor;
 import org.dommons.crontab.Crontab;
 import org.dommons.crontab.Crontabs;
+import org.dommons.crontab.MisfireCrontab;
+import org.dommons.crontab.factory.CrontabFactory.DispatchKind;
 import org.dommons.crontab.setting.CrontabType;
+import org.dommons.crontab.setting.MisfireType;
 import org.dommons.log.Logger;
 import org.dommons.log.LoggerFactory;
 
@@ -33,6 +37,8 @@ abstract class AbstractCrontabs implements Crontabs {
 
 	static final Logger logger = LoggerFactory.getInstance().getLogger(Crontabs.class);
 
+	static final int MAX_MISSED = 100000; // 错过次数统计上限
+
 	/**
 	 * 创建线程
 	 * @param threadFactory 线程工厂
@@ -65,8 +71,11 @@ abstract class AbstractCrontabs implements Crontabs {
 	private volatile Thread over;
 	private volatile Thread thread;
 
-	private final Map<String, CrontabTask> tasks;
+	private volatile long wake; // 时间轮调度线程计划唤醒时间
+
+	private final ConcurrentMap<String, CrontabTask> tasks;
 	private final BlockingQueue<CrontabTask> queue;
+	private final CrontabWheel wheel;
 
 	/**
 	 * 构造函数
@@ -75,17 +84,34 @@ abstract class AbstractCrontabs implements Crontabs {
 	 * @param tz 时区
 	 */
 	public AbstractCrontabs(ExecutorService executorService, ThreadFactory threadFactory, TimeZone tz) {
+		this(executorService, threadFactory, tz, null);
+	}
+
+	/**
+	 * 构造函数
+	 * @param executorService 异步
+	 * @param threadFactory 线程工厂
+	 * @param tz 时区
+	 * @param kind 调度方式 为 <code>null</code> 时按执行时间排序队列调度
+	 */
+	public AbstractCrontabs(ExecutorService executorService, ThreadFactory threadFactory, TimeZone tz, DispatchKind kind) {
 		this.executorService = executorService != null ? executorService : defaultExecutor(threadFactory);
 		this.tz = tz != null ? tz : Environments.defaultTimeZone();
-		this.tasks = new HashMap();
-		this.queue = new BlockingTreeQueue(null);
+		this.tasks = new ConcurrentHashMap();
+		if (kind == DispatchKind.WHEEL) {
+			this.queue = null;
+			this.wheel = new CrontabWheel(System.currentTimeMillis());
+		} else {
+			this.queue = new BlockingTreeQueue(null);
+			this.wheel = null;
+		}
 		this.threadFactory = threadFactory;
 		this.lock = new ReentrantLock();
 		this.cond = lock.newCondition();
 
 		Runtime.getRuntime().addShutdownHook(over = thread(threadFactory, this.closer = new CrontabsCloser()));
 
-		this.thread = thread(threadFactory, dispatcher = new CrontabsDispatcher());
+		this.thread = thread(threadFactory, dispatcher = wheel != null ? new WheelDispatcher() : new CrontabsDispatcher());
 		this.thread.start();
 	}
 
@@ -99,7 +125,8 @@ abstract class AbstractCrontabs implements Crontabs {
 				t = over;
 				over = null;
 				tasks.clear();
-				queue.clear();
+				if (wheel != null) wheel.clear();
+				else queue.clear();
 			} finally {
 				lock.unlock();
 			}
@@ -122,12 +149,8 @@ abstract class AbstractCrontabs implements Crontabs {
 		long next = task.nextTime(0, tz);
 		if (next < 1000) return false;
 		CrontabTask ct = new CrontabTask(task, next);
-		String key = ct.key;
-		synchronized (tasks) {
-			if (tasks.containsKey(key)) return false;
-			tasks.put(key, ct);
-			return offer(ct);
-		}
+		if (tasks.putIfAbsent(ct.key, ct) != null) return false;
+		return offer(ct);
 	}
 
 	public void resume() {
@@ -162,7 +185,7 @@ abstract class AbstractCrontabs implements Crontabs {
 	public boolean suspend(String key) {
 		CrontabTask task = tasks.get(key);
 		if (task != null && task.suspend(true)) {
-			queue.remove(task);
+			unschedule(task);
 			return true;
 		}
 		return false;
@@ -182,17 +205,32 @@ abstract class AbstractCrontabs implements Crontabs {
 	 * @return 是否成功
 	 */
 	protected boolean offer(CrontabTask task) {
-		if (task != null && task.time >= 1000 && queue.offer(task)) {
-			lock.lock();
-			try {
-				cond.signal();
-			} finally {
-				lock.unlock();
-			}
+		if (task == null || task.time < 1000) return true;
+		if (wheel != null) {
+			long time = task.time;
+			wheel.schedule(task, time, task.generation.incrementAndGet());
+			if (time >= wake) return true; // 调度线程运行中或将在该时间前唤醒 调度线程发布唤醒时间后会再次检查待处理项
+		} else if (!queue.offer(task)) {
+			return true;
+		}
+		lock.lock();
+		try {
+			cond.signal();
+		} finally {
+			lock.unlock();
 		}
 		return true;
 	}
 
+	/**
+	 * 移出调度任务
+	 * @param task 任务
+	 */
+	protected void unschedule(CrontabTask task) {
+		if (wheel != null) task.generation.incrementAndGet(); // 原定时项失效
+		else queue.remove(task);
+	}
+
 	/**
 	 * 等待线程结束
 	 * @param thread 线程
@@ -278,14 +316,58 @@ abstract class AbstractCrontabs implements Crontabs {
 		}
 	}
 
+	/**
+	 * 定时服务时间轮调度器
+	 * @author demon 2026-10-18
+	 */
+	protected class WheelDispatcher implements Runnable, CrontabWheel.Handler {
+
+		public void fire(CrontabTask task) {
+			if (tasks.containsKey(task.key)) task.execute(true, executorService);
+		}
+
+		public void run() {
+			while (over != null && thread != null) {
+				try {
+					wake = 0;
+					long current = System.currentTimeMillis();
+					wheel.advance(current, this);
+					await(current);
+				} catch (Throwable t) {
+				}
+			}
+		}
+
+		/**
+		 * 等待下次推进
+		 * @param current 当前时间
+		 */
+		protected void await(long current) {
+			lock.lock();
+			try {
+				if (over == null || thread == null) return;
+				long next = wheel.next(current);
+				wake = next;
+				// 发布唤醒时间后再次检查待处理定时项，与追加任务时先入队再读取唤醒时间配对，任一方必见对方写入
+				if (wheel.next(current) < next) return;
+				long delay = next - System.currentTimeMillis();
+				if (delay > 0) cond.await(delay, TimeUnit.MILLISECONDS);
+			} catch (Throwable t) {
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
 	/**
 	 * 定时任务
 	 * @author Demon 2013-10-18
 	 */
-	protected class CrontabTask implements Comparable<CrontabTask>, Runnable, CrontabType {
+	protected class CrontabTask implements Comparable<CrontabTask>, Runnable, CrontabType, MisfireType {
 
 		private final Crontab task;
 		private final String key;
+		private final AtomicLong generation; // 时间轮调度代数
 
 		private volatile boolean suspend;
 		private volatile long time;
@@ -295,6 +377,7 @@ abstract class AbstractCrontabs implements Crontabs {
 			this.task = task;
 			this.key = task.key();
 			this.time = time;
+			this.generation = new AtomicLong();
 		}
 
 		public int compareTo(CrontabTask o) {
@@ -311,19 +394,25 @@ abstract class AbstractCrontabs implements Crontabs {
 		 * @return 是否执行成功
 		 */
 		public boolean execute(boolean removed, ExecutorService executorService) {
+			int missed = removed ? missed() : 0;
+			if (missed < 0) { // 误点跳过本次执行
+				register(removed, true);
+				return false;
+			}
+			Runnable r = runner(missed);
 			int type = task.type();
 			switch (type) {
 			case TIMING_EXECUTION:
 				register(removed, true);
-				executorService.execute(this);
+				executorService.execute(r);
 				return true;
 			case TIMING_CHECK:
 				if (!register(removed, false)) return false;
-				executorService.execute(this);
+				executorService.execute(r);
 				return true;
 			case BALANCED_LEISURE:
 				if (running() || !remove(removed)) return false;
-				executorService.execute(this);
+				executorService.execute(r);
 				return true;
 			default:
 				return false;
@@ -331,13 +420,22 @@ abstract class AbstractCrontabs implements Crontabs {
 		}
 
 		public void run() {
+			run(0);
+		}
+
+		/**
+		 * 执行任务
+		 * @param missed 错过次数
+		 */
+		public void run(int missed) {
 			if (suspend || cancelled()) return;
 
 			synchronized (this) {
 				running++;
 			}
 			try {
-				task.run();
+				if (task instanceof MisfireCrontab) ((MisfireCrontab) task).run(missed);
+				else task.run();
 			} catch (Throwable t) {
 				logger.warn(t, "crontabs service execute task ''{0}'' error.", key);
 			} finally {
@@ -353,15 +451,38 @@ abstract class AbstractCrontabs implements Crontabs {
 		 * @return 是、否
 		 */
 		protected boolean cancelled() {
-			if (task.isCancelled()) { // 已取消移除任务项
-				lock.lock();
+			if (task.isCancelled()) tasks.remove(key); // 已取消移除任务项
+			return false;
+		}
+
+		/**
+		 * 计算误点错过次数
+		 * @return 错过次数 <code>-1</code> 为跳过本次执行
+		 */
+		protected int missed() {
+			if (!(task instanceof MisfireCrontab)) return 0;
+			MisfireCrontab mc = (MisfireCrontab) task;
+			long last = this.time, current = System.currentTimeMillis();
+			if (current - last <= Math.max(mc.misfireThreshold(), 0)) return 0;
+
+			switch (mc.misfire()) {
+			case MISFIRE_SKIP:
+				return -1;
+			case MISFIRE_COALESCE:
+				int n = 0;
 				try {
-					tasks.remove(key);
-				} finally {
-					lock.unlock();
+					for (long t = last; n < MAX_MISSED; n++) {
+						long next = task.nextTime(t, tz);
+						if (next <= t || next > current) break;
+						t = next;
+					}
+				} catch (Throwable t) {
+					logger.warn(t, "crontabs service compute missed times of task ''{0}'' error.", key);
 				}
+				return n;
+			default:
+				return 0;
 			}
-			return false;
 		}
 
 		/**
@@ -391,10 +512,32 @@ abstract class AbstractCrontabs implements Crontabs {
 		 * @return 是否成功
 		 */
 		protected boolean remove(boolean removed) {
-			if (!removed) queue.remove(this);
+			if (!removed) unschedule(this);
 			return true;
 		}
 
+		/**
+		 * 获取时间轮调度代数
+		 * @return 调度代数
+		 */
+		long generation() {
+			return generation.get();
+		}
+
+		/**
+		 * 生成执行项
+		 * @param missed 错过次数
+		 * @return 执行项
+		 */
+		protected Runnable runner(final int missed) {
+			if (missed == 0) return this;
+			return new Runnable() {
+				public void run() {
+					CrontabTask.this.run(missed);
+				}
+			};
+		}
+
 		/**
 		 * 是否运行中
 		 * @return 是、否
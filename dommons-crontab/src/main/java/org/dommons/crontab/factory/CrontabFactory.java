@@ -38,8 +38,19 @@ public class CrontabFactory {
 	 * @param threadFactory 线程工厂
 	 */
 	public CrontabFactory(int threads, ThreadFactory threadFactory, TimeZone tz) {
+		this(threads, threadFactory, tz, null);
+	}
+
+	/**
+	 * 构造函数
+	 * @param threads 线程数
+	 * @param threadFactory 线程工厂
+	 * @param tz 时区
+	 * @param kind 调度方式
+	 */
+	public CrontabFactory(int threads, ThreadFactory threadFactory, TimeZone tz, DispatchKind kind) {
 		this(threadFactory = threadFactory != null ? threadFactory : Executors.defaultThreadFactory(),
-				Executors.newFixedThreadPool(threads, threadFactory), tz);
+				Executors.newFixedThreadPool(threads, threadFactory), tz, kind);
 	}
 
 	/**
@@ -58,7 +69,18 @@ public class CrontabFactory {
 	 * @param tz 时区
 	 */
 	public CrontabFactory(ThreadFactory threadFactory, ExecutorService executorService, TimeZone tz) {
-		this(new DefaultCrontabs(executorService, threadFactory, tz));
+		this(threadFactory, executorService, tz, null);
+	}
+
+	/**
+	 * 构造函数
+	 * @param threadFactory 线程工厂
+	 * @param executorService 执行线程池
+	 * @param tz 时区
+	 * @param kind 调度方式
+	 */
+	public CrontabFactory(ThreadFactory threadFactory, ExecutorService executorService, TimeZone tz, DispatchKind kind) {
+		this(new DefaultCrontabs(executorService, threadFactory, tz, kind));
 	}
 
 	/**
@@ -113,6 +135,17 @@ public class CrontabFactory {
 		}
 	}
 
+	/**
+	 * 调度方式
+	 * @author demon 2026-10-18
+	 */
+	public static enum DispatchKind {
+		/** 执行时间排序队列 适用于少量任务 */
+		TREE,
+		/** 分层时间轮 适用于大量任务，加入、取消均为常数时间 */
+		WHEEL;
+	}
+
 	/**
 	 * 默认定时服务
 	 * @author Demon 2013-10-14
@@ -122,5 +155,9 @@ public class CrontabFactory {
 		public DefaultCrontabs(ExecutorService executorService, ThreadFactory threadFactory, TimeZone tz) {
 			super(executorService, threadFactory, tz);
 		}
+
+		public DefaultCrontabs(ExecutorService executorService, ThreadFactory threadFactory, TimeZone tz, DispatchKind kind) {
+			super(executorService, threadFactory, tz, kind);
+		}
 	}
 }
@@ -0,0 +1,205 @@
+/*
+ * @(#)CrontabWheel.java     2026-10-18
+ */
+package org.dommons.crontab.factory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 定时任务分层时间轮
+ * <p>
+ * 定时项先进入无锁待处理队列，由调度线程推进时间轮时放入对应精度的槽，只处理到期槽内定时项，未到期项逐层下沉；加入及取消均为常数时间，取消的定时项在所在槽到期时丢弃。
+ * </p>
+ * @author demon 2026-10-18
+ */
+class CrontabWheel {
+
+	static final int[] buckets = { 64, 64, 64, 64, 64 };
+	static final int[] shifts = { 4, 10, 16, 22, 28 }; // 槽精度 16毫秒、约1秒、1分钟、1小时、3天
+
+	private final Timer[][] wheel;
+	private final ConcurrentLinkedQueue<Timer> pending;
+	private final ReentrantLock lock;
+	private Timer overflow; // 超出时间轮范围定时项
+	private long time;
+	private int near; // 首层定时项数
+
+	public CrontabWheel(long now) {
+		this.wheel = new Timer[buckets.length][];
+		for (int i = 0; i < buckets.length; i++)
+			wheel[i] = new Timer[buckets[i]];
+		this.pending = new ConcurrentLinkedQueue();
+		this.lock = new ReentrantLock();
+		this.time = now;
+	}
+
+	/**
+	 * 推进时间轮处理到期定时项
+	 * @param now 当前时间
+	 * @param handler 到期处理器
+	 */
+	public void advance(long now, Handler handler) {
+		lock.lock();
+		try {
+			long prev = time;
+			if (now > prev) time = now;
+			for (Timer t = null; (t = pending.poll()) != null;) {
+				if (!t.valid()) continue;
+				if (t.time <= time) fire(t, handler);
+				else insert(t);
+			}
+			for (int i = 0; i < shifts.length; i++) {
+				long pt = prev >>> shifts[i], ct = time >>> shifts[i];
+				if (ct <= pt) break;
+				int mask = buckets[i] - 1, start = (int) (pt & mask), steps = (int) Math.min(ct - pt + 1, buckets[i]);
+				for (int s = 0; s < steps; s++) {
+					int x = (start + s) & mask;
+					Timer t = wheel[i][x];
+					wheel[i][x] = null;
+					while (t != null) {
+						Timer next = t.next;
+						t.next = null;
+						if (i == 0) near--;
+						place(t, handler);
+						t = next;
+					}
+				}
+				if (i == shifts.length - 1) { // 末层推进时重新检查超出范围定时项
+					Timer t = overflow;
+					overflow = null;
+					while (t != null) {
+						Timer next = t.next;
+						t.next = null;
+						place(t, handler);
+						t = next;
+					}
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 清空
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			for (Timer[] ts : wheel) {
+				for (int i = 0; i < ts.length; i++)
+					ts[i] = null;
+			}
+			overflow = null;
+			pending.clear();
+			near = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 计算下次推进时间
+	 * @param now 当前时间
+	 * @return 推进时间
+	 */
+	public long next(long now) {
+		if (!pending.isEmpty()) return now;
+		long tick = 1L << shifts[0];
+		if (near > 0) return ((now >>> shifts[0]) + 1) * tick;
+		return ((now >>> shifts[1]) + 1) << shifts[1]; // 首层为空时按第二层精度推进
+	}
+
+	/**
+	 * 加入定时项
+	 * @param task 任务
+	 * @param time 执行时间
+	 * @param gen 任务调度代数
+	 */
+	public void schedule(AbstractCrontabs.CrontabTask task, long time, long gen) {
+		pending.offer(new Timer(task, time, gen));
+	}
+
+	/**
+	 * 触发定时项
+	 * @param t 定时项
+	 * @param handler 到期处理器
+	 */
+	private void fire(Timer t, Handler handler) {
+		try {
+			handler.fire(t.task);
+		} catch (Throwable e) { // ignored
+		}
+	}
+
+	/**
+	 * 放入时间轮槽
+	 * @param t 定时项
+	 */
+	private void insert(Timer t) {
+		long delay = t.time - time;
+		int i = 0;
+		for (; i < shifts.length - 1; i++) {
+			if (delay < (1L << shifts[i + 1])) break;
+		}
+		if (i == shifts.length - 1 && delay >= ((long) buckets[i] << shifts[i])) {
+			t.next = overflow;
+			overflow = t;
+			return;
+		}
+		int x = (int) ((t.time >>> shifts[i]) & (buckets[i] - 1));
+		t.next = wheel[i][x];
+		wheel[i][x] = t;
+		if (i == 0) near++;
+	}
+
+	/**
+	 * 处理槽内定时项 到期触发，未到期下沉
+	 * @param t 定时项
+	 * @param handler 到期处理器
+	 */
+	private void place(Timer t, Handler handler) {
+		if (!t.valid()) return;
+		if (t.time <= time) fire(t, handler);
+		else insert(t);
+	}
+
+	/**
+	 * 到期处理器
+	 * @author demon 2026-10-18
+	 */
+	static interface Handler {
+		/**
+		 * 触发任务
+		 * @param task 任务
+		 */
+		void fire(AbstractCrontabs.CrontabTask task);
+	}
+
+	/**
+	 * 定时项
+	 * @author demon 2026-10-18
+	 */
+	static class Timer {
+
+		final AbstractCrontabs.CrontabTask task;
+		final long time;
+		final long gen;
+		Timer next;
+
+		protected Timer(AbstractCrontabs.CrontabTask task, long time, long gen) {
+			this.task = task;
+			this.time = time;
+			this.gen = gen;
+		}
+
+		/**
+		 * 是否有效 任务重新调度或取消后原定时项失效
+		 * @return 是、否
+		 */
+		boolean valid() {
+			return task.generation() == gen;
+		}
+	}
+}
@@ -0,0 +1,20 @@
+/*
+ * @(#)MisfireType.java     2026-10-18
+ */
+package org.dommons.crontab.setting;
+
+/**
+ * 定时任务误点处理类型
+ * @author demon 2026-10-18
+ */
+public interface MisfireType {
+
+	/** 合并补执行型 误点后补执行一次，并传入期间错过的次数供任务批量处理 */
+	public final int MISFIRE_COALESCE = 2010;
+
+	/** 单次补执行型 误点后补执行一次，不计错过次数 */
+	public final int MISFIRE_FIRE_ONCE = 2001;
+
+	/** 跳过型 误点后不执行，等待下次时间点 */
+	public final int MISFIRE_SKIP = 2100;
+}
@@ -0,0 +1,333 @@
+/*
+ * @(#)CronMask.java     2026-10-18
+ */
+package org.dommons.crontab.setting.cron;
+
+import java.util.Collection;
+import java.util.TimeZone;
+
+import org.dommons.core.util.Randoms;
+
+/**
+ * cron 位掩码时间设定
+ * <p>
+ * 将秒、分、时、日、月、周、年值集编译为位掩码，以本地日历数值直接推算下次时间点，不创建日历对象及装箱整数，仅最终换算时查询时区偏移。
+ * </p>
+ * @author demon 2026-10-18
+ */
+final class CronMask {
+
+	static final int MIN_YEAR = 1970;
+	static final long DAY = 86400000L;
+
+	/**
+	 * 编译 linux crontab 时间设定
+	 * @param cs 时间设定
+	 * @return 位掩码设定
+	 */
+	static CronMask compile(CrontabSetting cs) {
+		boolean jitter = cs.seconds.isEmpty();
+		long s = jitter ? 1L : mask(cs.seconds, 0, 59);
+		return compile(s, cs, mask(cs.daysOfMonth, 1, 31), mask(cs.daysOfWeek, 0, 6), null, jitter);
+	}
+
+	/**
+	 * 编译类 quartz 时间设定
+	 * @param es 时间设定
+	 * @return 位掩码设定 <code>null</code> 为不支持
+	 */
+	static CronMask compile(ExpressionSetting es) {
+		if (es.lastdayOfMonth || es.nearestWeekday || es.lastdayOfWeek || es.nthdayOfWeek != 0) return null;
+		Integer ns = Integer.valueOf(ExpressionSetting.NO_SPEC);
+		boolean dom = es.daysOfMonth.contains(ns), dow = es.daysOfWeek.contains(ns);
+		if (dom == dow) return null; // 月-日与周-日须且仅须一项不指定
+		long days = dom ? 0xfffffffeL : mask(es.daysOfMonth, 1, 31), weeks = dow ? 0x7f : mask(es.daysOfWeek, 0, 6);
+		long[] years = new long[((CronSetting.MAX_YEAR - MIN_YEAR) >> 6) + 1];
+		for (Integer y : es.years) {
+			int x = y.intValue() - MIN_YEAR;
+			if (x >= 0 && x <= CronSetting.MAX_YEAR - MIN_YEAR) years[x >> 6] |= 1L << x;
+		}
+		return compile(mask(es.seconds, 0, 59), es, days, weeks, years, false);
+	}
+
+	/**
+	 * 编译时间设定
+	 * @param seconds 秒掩码
+	 * @param cs 时间设定
+	 * @param days 月-日掩码
+	 * @param weeks 周-日掩码
+	 * @param years 年掩码
+	 * @param jitter 是否随机秒
+	 * @return 位掩码设定 <code>null</code> 为不支持
+	 */
+	static CronMask compile(long seconds, CronSetting cs, long days, long weeks, long[] years, boolean jitter) {
+		CronMask cm = new CronMask();
+		cm.seconds = seconds;
+		cm.minutes = mask(cs.minutes, 0, 59);
+		cm.hours = (int) mask(cs.hours, 0, 23);
+		cm.days = (int) days;
+		cm.months = (int) mask(cs.months, 1, 12);
+		cm.weeks = (int) weeks;
+		cm.years = years;
+		cm.jitter = jitter;
+		if (cm.seconds == 0 || cm.minutes == 0 || cm.hours == 0 || cm.days == 0 || cm.months == 0 || cm.weeks == 0) return null;
+		return cm;
+	}
+
+	/**
+	 * 计算纪元日数
+	 * @param y 年
+	 * @param m 月
+	 * @param d 日
+	 * @return 日数
+	 */
+	static long days(int y, int m, int d) {
+		if (m <= 2) y--;
+		long era = (y >= 0 ? y : y - 399) / 400, yoe = y - era * 400;
+		long doy = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5 + d - 1;
+		return era * 146097 + yoe * 365 + yoe / 4 - yoe / 100 + doy - 719468;
+	}
+
+	/**
+	 * 向下取整
+	 * @param v 数值
+	 * @param unit 单位
+	 * @return 单位整数倍
+	 */
+	static long floor(long v, long unit) {
+		long r = v % unit;
+		return r < 0 ? v - r - unit : v - r;
+	}
+
+	/**
+	 * 获取月天数
+	 * @param y 年
+	 * @param m 月
+	 * @return 天数
+	 */
+	static int length(int y, int m) {
+		if (m == 2) return (y & 3) == 0 && (y % 100 != 0 || y % 400 == 0) ? 29 : 28;
+		return m == 4 || m == 6 || m == 9 || m == 11 ? 30 : 31;
+	}
+
+	/**
+	 * 构建值集掩码
+	 * @param set 值集
+	 * @param min 最小值
+	 * @param max 最大值
+	 * @return 掩码
+	 */
+	static long mask(Collection<Integer> set, int min, int max) {
+		long m = 0;
+		for (Integer v : set) {
+			int x = v.intValue();
+			if (x >= min && x <= max) m |= 1L << x;
+		}
+		return m;
+	}
+
+	/**
+	 * 查找下一个设定值
+	 * @param mask 掩码
+	 * @param v 起始值
+	 * @return 设定值 <code>-1</code> 为不存在
+	 */
+	static int next(long mask, int v) {
+		if (v > 63) return -1;
+		long m = mask & (-1L << v);
+		return m == 0 ? -1 : Long.numberOfTrailingZeros(m);
+	}
+
+	long seconds;
+	long minutes;
+	int hours;
+	int days;
+	int months;
+	int weeks;
+	long[] years;
+	boolean jitter;
+
+	private CronMask() {}
+
+	/**
+	 * 计算下一个时间点
+	 * @param last 前次时间点
+	 * @param tz 时区
+	 * @return 下次时间点 为 <code>0</code> 不再执行
+	 */
+	public long time(long last, TimeZone tz) {
+		if (last < 1000) last = System.currentTimeMillis() - 1000;
+		long after = floor(last + 1000, 1000);
+		if (jitter) after = floor(after, 60000) + 60000; // 随机秒时从下一分钟开始
+
+		long local = after + tz.getOffset(after);
+		for (;;) {
+			local = match(local);
+			if (local == 0) return 0;
+			long t = epoch(local, after, tz);
+			if (t >= after) {
+				if (jitter) {
+					int diff = (int) Math.min(Math.max(t - last, 0) / 1000, Integer.MAX_VALUE);
+					t += Randoms.randomInteger(Math.min((diff + 199) / 200, 9) * 5 + 1) * 1000L;
+				}
+				return t;
+			}
+			local += 1000;
+		}
+	}
+
+	/**
+	 * 换算本地时间为纪元时间 夏令时重叠取晚于起始时间的较早时间点，跳空时间顺延
+	 * @param local 本地时间
+	 * @param after 起始时间
+	 * @param tz 时区
+	 * @return 纪元时间 小于起始时间为不存在
+	 */
+	long epoch(long local, long after, TimeZone tz) {
+		long a = local - tz.getOffset(local - DAY), b = local - tz.getOffset(local + DAY);
+		boolean va = a + tz.getOffset(a) == local, vb = b + tz.getOffset(b) == local;
+		if (!va && !vb) return a; // 跳空时间按原偏移顺延
+		long t = -1;
+		if (va && a >= after) t = a;
+		if (vb && b >= after && (t < 0 || b < t)) t = b;
+		return t;
+	}
+
+	/**
+	 * 查找不早于本地时间的匹配时间
+	 * @param local 本地时间
+	 * @return 本地匹配时间 为 <code>0</code> 不存在
+	 */
+	long match(long local) {
+		long day = floor(local, DAY) / DAY;
+		int ms = (int) (local - day * DAY) / 1000;
+		int s = ms % 60, mi = ms / 60 % 60, h = ms / 3600;
+
+		long z = day + 719468, era = (z >= 0 ? z : z - 146096) / 146097, doe = z - era * 146097;
+		long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365, doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+		int mp = (int) ((5 * doy + 2) / 153), d = (int) (doy - (153 * mp + 2) / 5 + 1), mo = mp < 10 ? mp + 3 : mp - 9;
+		int y = (int) (yoe + era * 400) + (mo <= 2 ? 1 : 0);
+
+		for (;;) {
+			if (y > CronSetting.MAX_YEAR) return 0;
+			if (years != null && !year(y)) {
+				int ny = nextYear(y);
+				if (ny < 0) return 0;
+				y = ny;
+				mo = d = 1;
+				h = mi = s = 0;
+				continue;
+			}
+			if ((months & (1 << mo)) == 0) {
+				int nm = next(months, mo);
+				if (nm < 0) {
+					y++;
+					mo = 1;
+				} else {
+					mo = nm;
+				}
+				d = 1;
+				h = mi = s = 0;
+				continue;
+			}
+			if (d > length(y, mo)) {
+				if (++mo > 12) {
+					y++;
+					mo = 1;
+				}
+				d = 1;
+				h = mi = s = 0;
+				continue;
+			}
+			if ((days & (1 << d)) == 0) {
+				int nd = next(days & 0xffffffffL, d);
+				d = nd < 0 ? 32 : nd;
+				h = mi = s = 0;
+				continue;
+			}
+			if ((weeks & (1 << week(y, mo, d))) == 0) {
+				d++;
+				h = mi = s = 0;
+				continue;
+			}
+			if ((hours & (1 << h)) == 0) {
+				int nh = next(hours & 0xffffffffL, h);
+				if (nh < 0) {
+					h = 0;
+					d++;
+				} else {
+					h = nh;
+				}
+				mi = s = 0;
+				continue;
+			}
+			if ((minutes & (1L << mi)) == 0) {
+				int nm = next(minutes, mi);
+				if (nm < 0) {
+					mi = 0;
+					if (++h > 23) {
+						h = 0;
+						d++;
+					}
+				} else {
+					mi = nm;
+				}
+				s = 0;
+				continue;
+			}
+			if ((seconds & (1L << s)) == 0) {
+				int ns = next(seconds, s);
+				if (ns < 0) {
+					s = 0;
+					if (++mi > 59) {
+						mi = 0;
+						if (++h > 23) {
+							h = 0;
+							d++;
+						}
+					}
+				} else {
+					s = ns;
+				}
+				continue;
+			}
+			return days(y, mo, d) * DAY + (h * 3600 + mi * 60 + s) * 1000L;
+		}
+	}
+
+	/**
+	 * 查找下一个设定年份
+	 * @param y 起始年份
+	 * @return 年份 <code>-1</code> 为不存在
+	 */
+	int nextYear(int y) {
+		int x = Math.max(y - MIN_YEAR, 0);
+		for (int i = x >> 6; i < years.length; i++) {
+			long m = years[i];
+			if (i == x >> 6) m &= -1L << x;
+			if (m != 0) return (i << 6) + Long.numberOfTrailingZeros(m) + MIN_YEAR;
+		}
+		return -1;
+	}
+
+	/**
+	 * 计算周-日
+	 * @param y 年
+	 * @param m 月
+	 * @param d 日
+	 * @return 周-日 <code>0</code> 为周日
+	 */
+	int week(int y, int m, int d) {
+		return (int) (((days(y, m, d) + 4) % 7 + 7) % 7);
+	}
+
+	/**
+	 * 是否设定年份
+	 * @param y 年
+	 * @return 是、否
+	 */
+	boolean year(int y) {
+		int x = y - MIN_YEAR;
+		return x >= 0 && (x >> 6) < years.length && (years[x >> 6] & (1L << x)) != 0;
+	}
+}
@@ -78,6 +78,7 @@ abstract class CronSetting implements Cronset {
 	protected transient TreeSet<Integer> daysOfMonth;
 	protected transient TreeSet<Integer> months;
 	protected transient TreeSet<Integer> daysOfWeek;
+	protected transient CronMask mask; // 编译后位掩码设定
 
 	protected final String expression;
 
@@ -162,6 +163,7 @@ abstract class CronSetting implements Cronset {
 	 * 重置时间设定
 	 */
 	protected void reset() {
+		mask = null;
 		if (seconds == null) seconds = new TreeSet();
 		else seconds.clear();
 
@@ -195,6 +195,7 @@ class CronSettingFactory extends CronsetFactory {
 					return false;
 				}
 			}
+			cs.mask = CronMask.compile(cs);
 			return true;
 		}
 
@@ -282,7 +283,9 @@ class CronSettingFactory extends CronsetFactory {
 			TreeSet<Integer> dow = es.daysOfWeek, dom = es.daysOfMonth;
 
 			// 日期和星期不可同时指定
-			return !(dom.contains(Integer.valueOf(ExpressionSetting.NO_SPEC)) && dow.contains(Integer.valueOf(ExpressionSetting.NO_SPEC)));
+			if (dom.contains(Integer.valueOf(ExpressionSetting.NO_SPEC)) && dow.contains(Integer.valueOf(ExpressionSetting.NO_SPEC))) return false;
+			es.mask = CronMask.compile(es);
+			return true;
 		}
 
 		/**
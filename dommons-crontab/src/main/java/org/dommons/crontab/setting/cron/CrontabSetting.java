@@ -23,6 +23,8 @@ class CrontabSetting extends CronSetting {
 	}
 
 	public long time(long last, TimeZone tz) {
+		CronMask cm = mask;
+		if (cm != null) return cm.time(last, tz);
 		if (last < 1000) last = System.currentTimeMillis() - 1000;
 		Calendar cal = Calendar.getInstance(tz);
 		cal.setTimeInMillis(last + 1000);
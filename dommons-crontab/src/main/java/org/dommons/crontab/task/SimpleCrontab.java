@@ -9,19 +9,22 @@ import java.util.TimeZone;
 
 import org.dommons.core.Environments;
 import org.dommons.core.string.Stringure;
-import org.dommons.crontab.Crontab;
+import org.dommons.crontab.MisfireCrontab;
 import org.dommons.crontab.setting.Cronset;
 import org.dommons.crontab.setting.CronsetFactory;
 import org.dommons.crontab.setting.CrontabType;
+import org.dommons.crontab.setting.MisfireType;
 
 /**
  * 简单定时任务
  * @author Demon 2013-10-14
  */
-public class SimpleCrontab implements Crontab {
+public class SimpleCrontab implements MisfireCrontab {
 
 	private String key;
 	private int type;
+	private int misfire;
+	private long misfireThreshold;
 
 	private Runnable task;
 
@@ -41,6 +44,8 @@ public class SimpleCrontab implements Crontab {
 		this.key = Stringure.trim(key);
 		this.task = task;
 		this.type = TIMING_CHECK;
+		this.misfire = MISFIRE_FIRE_ONCE;
+		this.misfireThreshold = 1000;
 		this.cancelled = false;
 	}
 
@@ -64,6 +69,14 @@ public class SimpleCrontab implements Crontab {
 		return key;
 	}
 
+	public int misfire() {
+		return misfire;
+	}
+
+	public long misfireThreshold() {
+		return misfireThreshold;
+	}
+
 	public long nextTime(long last, TimeZone tz) {
 		long time = 0;
 		if (tz == null) tz = Environments.defaultTimeZone();
@@ -75,6 +88,14 @@ public class SimpleCrontab implements Crontab {
 		if (task != null) task.run();
 	}
 
+	/**
+	 * 执行任务 默认忽略错过次数，需批量补处理时由子类覆盖
+	 * @param missed 错过次数
+	 */
+	public void run(int missed) {
+		run();
+	}
+
 	/**
 	 * 设置定时类型
 	 * @param type 定时类型
@@ -104,6 +125,36 @@ public class SimpleCrontab implements Crontab {
 		this.key = key;
 	}
 
+	/**
+	 * 设置误点处理类型
+	 * @param misfire 误点处理类型
+	 * @see org.dommons.crontab.setting.MisfireType
+	 */
+	public void setMisfire(int misfire) {
+		this.misfire = misfire;
+	}
+
+	/**
+	 * 设置误点处理类型
+	 * @param misfire 误点处理类型
+	 * @see org.dommons.crontab.setting.MisfireType
+	 */
+	public void setMisfireType(String misfire) {
+		try {
+			Field f = MisfireType.class.getField(misfire);
+			if (Modifier.isPublic(f.getModifiers()) && Modifier.isStatic(f.getModifiers())) this.misfire = f.getInt(null);
+		} catch (Throwable t) {
+		}
+	}
+
+	/**
+	 * 设置误点容忍时长
+	 * @param misfireThreshold 容忍时长(毫秒)
+	 */
+	public void setMisfireThreshold(long misfireThreshold) {
+		this.misfireThreshold = misfireThreshold;
+	}
+
 	/**
 	 * 设置定时时间设置
 	 * @param setting 定时时间设置
@@ -0,0 +1,261 @@
+/*
+ * @(#)AbsChannelStore.java     2026-10-18
+ */
+package org.dommons.io.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.CRC32;
+
+import org.dommons.io.file.Zipper;
+
+/**
+ * 抽象文件通道磁盘读写器
+ * <p>长期持有文件通道按位置读写，记录格式为 键值、内容标识、内容长度、内容</p>
+ * @author demon 2026-10-18
+ */
+abstract class AbsChannelStore extends DiskStore {
+
+	static final int rl = DiskFile.hc + 9; // 记录头长度
+
+	static final byte f_plain = 0;
+	static final byte f_gzip = 1;
+
+	private RandomAccessFile raf;
+	private FileChannel channel;
+	private FileLock relocked; // 替换文件后在新通道上重新获取的文件锁
+
+	protected AbsChannelStore(File file) {
+		super(file);
+	}
+
+	@Override
+	protected void finalize() throws Throwable {
+		try {
+			if (raf != null) raf.close();
+		} finally {
+			super.finalize();
+		}
+	}
+
+	/**
+	 * 批量写入内容
+	 * <p>持有进程内写锁依次写入，内容值为 <code>null</code> 时移除</p>
+	 * @param values 内容集
+	 */
+	@Override
+	public void write(Map<String, ?> values) {
+		if (values == null || values.isEmpty()) return;
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			for (Entry<String, ?> en : values.entrySet()) {
+				if (en.getValue() == null) remove(en.getKey());
+				else write(en.getKey(), bytes(en.getValue()));
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 生成记录内容
+	 * @param k 键值
+	 * @param value 内容值
+	 * @return 记录内容
+	 * @throws IOException
+	 */
+	protected ByteBuffer content(byte[] k, byte[] value) throws IOException {
+		byte[] bs = value;
+		byte flag = f_plain;
+		if (bs.length > Zipper.gzip_min_size) {
+			byte[] gz = Zipper.gzip(bs);
+			if (gz.length < bs.length) {
+				bs = gz;
+				flag = f_gzip;
+			}
+		}
+		return record(k, flag, bs);
+	}
+
+	/**
+	 * 读取记录内容值
+	 * @param bb 记录
+	 * @return 内容值
+	 * @throws IOException
+	 */
+	protected byte[] value(ByteBuffer bb) throws IOException {
+		byte flag = bb.get(DiskFile.hc);
+		byte[] bs = new byte[bb.getInt(DiskFile.hc + 1)];
+		bb.position(rl);
+		bb.get(bs);
+		if (flag == f_gzip) bs = Zipper.gunzip(bs);
+		return bs;
+	}
+
+	/**
+	 * 获取文件通道
+	 * @return 文件通道
+	 * @throws IOException
+	 */
+	FileChannel channel() throws IOException {
+		FileChannel fc = channel;
+		if (fc != null && fc.isOpen()) return fc;
+		synchronized (this) {
+			if (channel == null || !channel.isOpen()) reopen(); // 线程中断时通道将被关闭，需重新打开
+			return channel;
+		}
+	}
+
+	/**
+	 * 获取文件句柄
+	 * @return 文件句柄
+	 * @throws IOException
+	 */
+	RandomAccessFile handle() throws IOException {
+		channel();
+		return raf;
+	}
+
+	/**
+	 * 锁定文件，防止其它进程同时写入
+	 * @param fc 文件通道
+	 * @return 文件锁
+	 */
+	FileLock lock(FileChannel fc) {
+		try {
+			return fc.lock();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 读取文件内容
+	 * @param fc 文件通道
+	 * @param bb 缓冲区
+	 * @param pos 起始位置
+	 * @throws IOException
+	 */
+	void read(FileChannel fc, ByteBuffer bb, long pos) throws IOException {
+		while (bb.hasRemaining()) {
+			int r = fc.read(bb, pos + bb.position());
+			if (r < 0) break;
+		}
+	}
+
+	/**
+	 * 重新打开文件
+	 * @throws IOException
+	 */
+	synchronized void reopen() throws IOException {
+		if (raf != null) raf.close();
+		raf = new RandomAccessFile(file, m_rw);
+		channel = raf.getChannel();
+	}
+
+	/**
+	 * 读取记录
+	 * @param off 记录位置
+	 * @param cap 记录空间
+	 * @param k 键值
+	 * @return 记录 <code>null</code> 为记录无效
+	 * @throws IOException
+	 */
+	ByteBuffer record(long off, int cap, byte[] k) throws IOException {
+		if (cap < rl) return null;
+		ByteBuffer bb = ByteBuffer.allocate(cap);
+		read(channel(), bb, off);
+		if (bb.position() < rl) return null;
+		for (int i = 0; i < k.length; i++) {
+			if (bb.get(i) != k[i]) return null;
+		}
+		int len = bb.getInt(DiskFile.hc + 1);
+		if (len < 0 || rl + len > bb.position()) return null;
+		else if (bb.getInt(DiskFile.hc + 5) != checksum(bb.get(DiskFile.hc), bb.array(), rl, len)) return null; // 内容已损坏
+		bb.limit(rl + len);
+		bb.position(0);
+		return bb;
+	}
+
+	/**
+	 * 生成记录
+	 * @param k 键值
+	 * @param flag 内容标识
+	 * @param bs 内容
+	 * @return 记录
+	 */
+	ByteBuffer record(byte[] k, byte flag, byte[] bs) {
+		ByteBuffer bb = ByteBuffer.allocate(rl + bs.length);
+		bb.put(k).put(flag).putInt(bs.length).putInt(checksum(flag, bs, 0, bs.length)).put(bs);
+		bb.flip();
+		return bb;
+	}
+
+	/**
+	 * 计算记录校验码
+	 * @param flag 内容标识
+	 * @param bs 内容
+	 * @param off 起始位置
+	 * @param len 内容长度
+	 * @return 校验码
+	 */
+	static int checksum(byte flag, byte[] bs, int off, int len) {
+		CRC32 crc = new CRC32();
+		crc.update(flag);
+		crc.update(bs, off, len);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * 重新打开文件并重新锁定
+	 * <p>原文件锁随原通道关闭失效，持有文件锁期间替换文件后调用，新锁在释放原锁时一并释放</p>
+	 * @throws IOException
+	 */
+	synchronized void relock() throws IOException {
+		FileLock rl = relocked;
+		relocked = null;
+		release(rl);
+		reopen();
+		relocked = lock(channel);
+	}
+
+	/**
+	 * 释放文件锁
+	 * @param fl 文件锁
+	 */
+	void release(FileLock fl) {
+		FileLock rl = null;
+		synchronized (this) {
+			if (fl != null && fl != relocked) {
+				rl = relocked;
+				relocked = null;
+			}
+		}
+		try {
+			if (fl != null) fl.release();
+		} catch (IOException e) { // ignored
+		}
+		if (rl != null) release(rl);
+	}
+
+	/**
+	 * 写入文件内容
+	 * @param pos 起始位置
+	 * @param bb 内容
+	 * @throws IOException
+	 */
+	void write(long pos, ByteBuffer bb) throws IOException {
+		FileChannel fc = channel();
+		bb.position(0);
+		while (bb.hasRemaining())
+			fc.write(bb, pos + bb.position());
+	}
+}
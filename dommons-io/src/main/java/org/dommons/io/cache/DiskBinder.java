@@ -5,6 +5,8 @@ package org.dommons.io.cache;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Random;
 
 import org.dommons.core.Environments;
 import org.dommons.core.util.Arrayard;
@@ -17,6 +19,9 @@ import org.dommons.security.coder.HexCoder;
  */
 class DiskBinder {
 
+	static final long held = -1L;
+	static final int sl = 8;
+
 	static final byte[] ems;
 	static {
 		ems = new byte[DiskFile.hc];
@@ -24,6 +29,8 @@ class DiskBinder {
 			ems[i] = DiskFile.em;
 	}
 
+	static final Random random = new Random();
+
 	/**
 	 * 占用磁盘文件
 	 * @param file 文件
@@ -38,7 +45,7 @@ class DiskBinder {
 			file.read(bs);
 			if (Arrayard.equals(bs, x)) {
 				return true;
-			} else if (!Arrayard.equals(bs, ems)) dead: {
+			} else if (!released(bs)) dead: {
 				if (!Arrayard.equals(old, bs)) {
 					old = bs;
 					stat = System.currentTimeMillis();
@@ -53,18 +60,61 @@ class DiskBinder {
 		return false;
 	}
 
+	/**
+	 * 生成新文件标记
+	 * @return 文件标记
+	 */
+	public static long stamp() {
+		return random.nextLong() & Long.MAX_VALUE;
+	}
+
+	/**
+	 * 读取文件标记
+	 * @param file 文件
+	 * @return 文件标记 <code>-1</code> 为占用中
+	 * @throws IOException
+	 */
+	public static long stamp(RandomAccessFile file) throws IOException {
+		byte[] bs = new byte[ems.length];
+		file.seek(16);
+		file.readFully(bs);
+		return released(bs) ? ByteBuffer.wrap(bs, sl, ems.length - sl).getLong() : held;
+	}
+
 	/**
 	 * 释放磁盘文件
 	 * @param file 文件
 	 */
 	public static void unbind(RandomAccessFile file) {
+		unbind(file, stamp());
+	}
+
+	/**
+	 * 释放磁盘文件，同时写入新文件标记供索引校验
+	 * @param file 文件
+	 * @param stamp 文件标记
+	 */
+	public static void unbind(RandomAccessFile file, long stamp) {
 		try {
 			file.seek(16);
-			file.write(ems);
+			file.write(ems, 0, sl);
+			file.writeLong(stamp);
 		} catch (IOException e) { // ignored
 		}
 	}
 
+	/**
+	 * 是否已释放
+	 * @param bs 占用标记
+	 * @return 是、否
+	 */
+	static boolean released(byte[] bs) {
+		for (int i = 0; i < sl; i++) {
+			if (bs[i] != DiskFile.em) return false;
+		}
+		return true;
+	}
+
 	static class FileFullIOException extends IOException {
 
 		private static final long serialVersionUID = -6235915234109695599L;
@@ -3,7 +3,6 @@
  */
 package org.dommons.io.cache;
 
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
@@ -13,7 +12,6 @@ import java.util.concurrent.locks.Lock;
 
 import org.dommons.core.Silewarner;
 import org.dommons.core.convert.Converter;
-import org.dommons.core.number.Radix64;
 import org.dommons.core.string.Stringure;
 import org.dommons.core.util.Arrayard;
 import org.dommons.io.cache.DiskBinder.FileFullIOException;
@@ -39,24 +37,56 @@ class DiskFile implements Closeable {
 	static final byte esc = '\\';
 	static final byte eq = '=';
 
+	static final byte[] hex = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
 	private final Lock lock;
 	private final RandomAccessFile file;
 	private final byte[] key;
+	private final DiskIndex index;
+	private final DiskHandles handles;
+	private final boolean write;
 
 	private volatile boolean binded;
+	private boolean failed;
+	private long stamp;
 
 	public DiskFile(File file, Lock lock, String mode, byte[] key) {
+		this(file, lock, mode, key, null);
+	}
+
+	public DiskFile(File file, Lock lock, String mode, byte[] key, DiskIndex index) {
 		this.file = file(file, mode);
 		this.key = key;
+		this.index = index;
+		this.handles = null;
+		this.write = DiskStore.m_rw.equals(mode);
 		this.lock = lock;
 		this.lock.lock();
 		this.binded = false;
+		this.stamp = DiskBinder.held;
+	}
+
+	public DiskFile(DiskHandles handles, Lock lock, boolean write, byte[] key, DiskIndex index) {
+		this.lock = lock;
+		this.write = write;
+		this.file = file(handles, lock, write);
+		this.key = key;
+		this.index = index;
+		this.handles = handles;
+		this.binded = false;
+		this.stamp = DiskBinder.held;
 	}
 
 	public void close() {
 		try {
-			if (binded) DiskBinder.unbind(file);
-			file.close();
+			if (binded) {
+				long ns = DiskBinder.stamp();
+				DiskBinder.unbind(file, ns);
+				if (index != null) index.commit(stamp, ns);
+			}
+			if (handles == null) file.close();
+			else if (failed) handles.discard(file);
+			else handles.release(file, write);
 		} catch (IOException e) {
 			Silewarner.error(DiskFile.class, e);
 		} finally {
@@ -69,13 +99,13 @@ class DiskFile implements Closeable {
 	 * @param key 键值
 	 * @return 内容
 	 */
-	public String read(byte[] key) {
+	public byte[] read(byte[] key) {
 		try {
 			if (!bind(false)) return null;
-			key = key(key);
-			DiskPosition pos = position(key);
+			DiskPosition pos = locate(key, key(key));
 			return pos == null ? null : value(pos);
 		} catch (IOException e) {
+			failed = true;
 			Silewarner.error(DiskFile.class, e);
 			return null;
 		}
@@ -88,13 +118,14 @@ class DiskFile implements Closeable {
 	public boolean remove(byte[] key) {
 		r: try {
 			if (!bind(true)) break r;
-			key = key(key);
-			DiskPosition pos = position(key);
+			DiskPosition pos = locate(key, key(key));
 			if (pos != null) empty(pos);
+			if (index != null) index.remove(key);
 			return true;
 		} catch (FileFullIOException e) {
 			return false;
 		} catch (IOException e) {
+			failed = true;
 			Silewarner.error(DiskFile.class, e);
 		}
 		return false;
@@ -108,10 +139,12 @@ class DiskFile implements Closeable {
 		try {
 			if (!bind(true)) return false;
 			capacity(1, hc * 2);
+			if (index != null) index.clear();
 			return true;
 		} catch (FileFullIOException e) {
 			return false;
 		} catch (IOException e) {
+			failed = true;
 			Silewarner.error(DiskFile.class, e);
 		}
 		return false;
@@ -123,28 +156,34 @@ class DiskFile implements Closeable {
 	 * @param value 内容
 	 * @return 是否成功
 	 */
-	public boolean write(byte[] key, String value) {
+	public boolean write(byte[] key, byte[] value) {
 		w: try {
 			if (!bind(true)) break w;
-			key = key(key);
-			DiskPosition pos = position(key);
+			byte[] k = key(key);
+			DiskPosition pos = locate(key, k);
+			byte[] bs = content(k, value);
 			f: {
-				byte[] bs = content(key, value);
 				if (pos != null && bs.length <= pos.getLength() + pos.getIdle()) {
 					write(pos, bs);
 					break f;
 				}
 				// 不存在或空间不足
-				if (pos != null) empty(pos); // 清除原有内容
+				if (pos != null) { // 清除原有内容
+					empty(pos);
+					if (index != null) index.remove(key);
+				}
 				// 申请新空间并写入内容
-				pos = apply(key, bs.length);
+				pos = apply(k, bs.length);
 				if (pos != null) write(pos, bs);
 				else break w;
 			}
+			if (index != null) index.put(key, new DiskPosition().setOffset(pos.getOffset()).setLength(bs.length - 1)
+					.setIdle(Math.max(0, pos.getLength() + pos.getIdle() - bs.length)).setIndex(pos.getIndex()));
 			return true;
 		} catch (FileFullIOException e) {
 			return false;
 		} catch (IOException e) {
+			failed = true;
 			Silewarner.error(DiskFile.class, e);
 		}
 		return false;
@@ -157,6 +196,7 @@ class DiskFile implements Closeable {
 	 * @throws IOException
 	 */
 	protected boolean bind(boolean write) throws IOException {
+		if (binded) return true; // 同一会话内已占用
 		boolean head = false;
 		byte[] hs = null;
 		if (file.length() > hc * 2) h: {
@@ -164,6 +204,7 @@ class DiskFile implements Closeable {
 			if (len % pn != 0) break h;
 			else if ((len / pn) > 4 && (len / pn - 4) % ct != 0) break h;
 			hs = new byte[16];
+			file.seek(0);
 			file.read(hs);
 			if (Arrayard.equals(hs, key)) {
 				head = true;
@@ -179,6 +220,7 @@ class DiskFile implements Closeable {
 			} else if (!write) {
 				break b;
 			}
+			stamp = DiskBinder.stamp(file);
 			if (!DiskBinder.bind(file)) {
 				file.setLength(0);
 				break b;
@@ -197,24 +239,22 @@ class DiskFile implements Closeable {
 	 * @return 内容
 	 * @throws IOException
 	 */
-	protected byte[] content(byte[] key, String value) throws IOException {
-		int len = value.length();
-		ByteArrayOutputStream bos = new ByteArrayOutputStream(key.length + len * 2);
-		bos.write(key);
-		byte[] bs = Stringure.toBytes(value, charset);
-		gz: {
-			if (bs.length > Zipper.gzip_min_size) {
-				byte[] gz = Zipper.gzip(bs);
-				if (gz.length >= bs.length) break gz;
-				bos.write(sep);
+	protected byte[] content(byte[] key, byte[] value) throws IOException {
+		byte[] bs = value;
+		byte s = eq;
+		if (bs.length > Zipper.gzip_min_size) {
+			byte[] gz = Zipper.gzip(bs);
+			if (gz.length < bs.length) {
+				s = sep;
 				bs = gz;
-				break gz;
 			}
-			bos.write(eq);
 		}
-		write(bs, bos);
-		bos.write(end);
-		return bos.toByteArray();
+		byte[] content = new byte[key.length + escaped(bs) + 2];
+		System.arraycopy(key, 0, content, 0, key.length);
+		content[key.length] = s;
+		int x = escape(bs, content, key.length + 1);
+		content[x] = end;
+		return content;
 	}
 
 	/**
@@ -223,26 +263,10 @@ class DiskFile implements Closeable {
 	 * @return 内容
 	 * @throws IOException
 	 */
-	protected String value(DiskPosition pos) throws IOException {
-		byte[] bs = pos.getContent();
-		ByteArrayOutputStream bos = new ByteArrayOutputStream(bs.length + 8);
-		for (int i = 0; i < bs.length; i++) {
-			byte b = bs[i];
-			if (b == esc) {
-				if (i < bs.length - 2) {
-					String hex = Stringure.toString(bs, i + 1, 2, charset);
-					bos.write(Radix64.toInteger(hex, 16));
-					i += 2;
-				} else {
-					break;
-				}
-			} else {
-				bos.write(b);
-			}
-		}
-		if (pos.getSeparator() == sep) bs = Zipper.gunzip(bos.toByteArray());
-		else bs = bos.toByteArray();
-		return Stringure.toString(bs, charset);
+	protected byte[] value(DiskPosition pos) throws IOException {
+		byte[] bs = unescape(pos.getContent());
+		if (pos.getSeparator() == sep) bs = Zipper.gunzip(bs);
+		return bs;
 	}
 
 	/**
@@ -289,10 +313,41 @@ class DiskFile implements Closeable {
 	 */
 	void empty(DiskPosition pos) throws IOException {
 		file.seek(pos.getOffset());
-		for (int s = 0; s < pos.getLength(); s++)
+		for (int s = 0; s <= pos.getLength(); s++)
 			file.writeByte(em);
 	}
 
+	/**
+	 * 查找键值目标位置，优先使用内存索引
+	 * @param key 键值
+	 * @param k 标准键值
+	 * @return 位置
+	 * @throws IOException
+	 */
+	DiskPosition locate(byte[] key, byte[] k) throws IOException {
+		if (index == null) return position(k);
+		long s = binded ? stamp : DiskBinder.stamp(file);
+		if (s == DiskBinder.held) return position(k); // 其它进程写入中，按原方式查找
+		if (!index.valid(s)) index.load(file, s);
+		DiskPosition pos = index.get(key);
+		if (pos == null) return null;
+		byte[] bs = new byte[(int) pos.getLength() + 1];
+		file.seek(pos.getOffset());
+		r: if (file.read(bs) == bs.length && bs[bs.length - 1] == end) {
+			for (int i = 0; i < k.length; i++) {
+				if (bs[i] != k[i]) break r;
+			}
+			byte sp = bs[k.length];
+			if (sp != eq && sp != sep) break r;
+			byte[] content = new byte[bs.length - k.length - 2];
+			System.arraycopy(bs, k.length + 1, content, 0, content.length);
+			return new DiskPosition().setOffset(pos.getOffset()).setLength(pos.getLength()).setIdle(pos.getIdle())
+					.setIndex(pos.getIndex()).setSeparator(sp).setContent(content);
+		}
+		index.invalidate(); // 索引与文件内容不符
+		return position(k);
+	}
+
 	/**
 	 * 查找键值目标位置
 	 * @param key 键值
@@ -328,7 +383,7 @@ class DiskFile implements Closeable {
 	void write(DiskPosition pos, byte[] bs) throws IOException {
 		file.seek(pos.getOffset());
 		file.write(bs);
-		for (int o = bs.length + 1; o < pos.getLength(); o++)
+		for (long o = bs.length; o <= pos.getLength(); o++)
 			file.writeByte(em);
 	}
 
@@ -352,6 +407,79 @@ class DiskFile implements Closeable {
 		return len;
 	}
 
+	/**
+	 * 还原转义内容
+	 * @param bs 转义内容
+	 * @return 原内容
+	 */
+	static byte[] unescape(byte[] bs) {
+		int n = 0;
+		for (int i = 0; i < bs.length; i++) { // 统计还原后长度
+			if (bs[i] != esc) n++;
+			else if (i < bs.length - 2) {
+				n++;
+				i += 2;
+			} else {
+				break;
+			}
+		}
+		if (n == bs.length) return bs;
+		byte[] r = new byte[n];
+		for (int i = 0, x = 0; x < n; i++) {
+			byte b = bs[i];
+			if (b == esc) {
+				r[x++] = (byte) (Character.digit(bs[i + 1], 16) << 4 | Character.digit(bs[i + 2], 16));
+				i += 2;
+			} else {
+				r[x++] = b;
+			}
+		}
+		return r;
+	}
+
+	/**
+	 * 转义内容
+	 * @param bs 原内容
+	 * @param target 目标内容
+	 * @param off 目标起始位置
+	 * @return 目标截止位置
+	 */
+	static int escape(byte[] bs, byte[] target, int off) {
+		int x = off;
+		for (byte b : bs) {
+			if (reserved(b)) {
+				target[x++] = esc;
+				target[x++] = hex[b >> 4 & 0xf];
+				target[x++] = hex[b & 0xf];
+			} else {
+				target[x++] = b;
+			}
+		}
+		return x;
+	}
+
+	/**
+	 * 计算转义后长度
+	 * @param bs 原内容
+	 * @return 转义后长度
+	 */
+	static int escaped(byte[] bs) {
+		int n = bs.length;
+		for (byte b : bs) {
+			if (reserved(b)) n += 2;
+		}
+		return n;
+	}
+
+	/**
+	 * 是否保留字节
+	 * @param b 字节
+	 * @return 是、否
+	 */
+	static boolean reserved(byte b) {
+		return b == em || b == esc || b == eq || b == sep || b == end;
+	}
+
 	/**
 	 * 生成文件
 	 * @param file 目标文件
@@ -366,6 +494,23 @@ class DiskFile implements Closeable {
 		}
 	}
 
+	/**
+	 * 借出文件句柄
+	 * @param handles 句柄池
+	 * @param lock 锁
+	 * @param write 是否写入
+	 * @return 文件
+	 */
+	private RandomAccessFile file(DiskHandles handles, Lock lock, boolean write) {
+		lock.lock();
+		try {
+			return handles.borrow(write);
+		} catch (IOException e) {
+			lock.unlock();
+			throw Converter.F.convert(e, RuntimeException.class);
+		}
+	}
+
 	/**
 	 * 生成哈希值
 	 * @param key 键值
@@ -383,33 +528,8 @@ class DiskFile implements Closeable {
 	 * @throws IOException
 	 */
 	private byte[] key(byte[] key) throws IOException {
-		ByteArrayOutputStream bos = new ByteArrayOutputStream(key.length + 4);
-		write(key, bos);
-		return bos.toByteArray();
-	}
-
-	/**
-	 * 写入内容
-	 * @param bs 内容
-	 * @param bos 字节流
-	 * @throws IOException
-	 */
-	private void write(byte[] bs, ByteArrayOutputStream bos) throws IOException {
-		for (byte b : bs) {
-			switch (b) {
-			case em:
-			case esc:
-			case eq:
-			case sep:
-			case end:
-				bos.write('\\');
-				bos.write(Radix64.toHex(b).toLowerCase().getBytes());
-				break;
-
-			default:
-				bos.write(b);
-				break;
-			}
-		}
+		byte[] k = new byte[escaped(key)];
+		escape(key, k, 0);
+		return k;
 	}
 }
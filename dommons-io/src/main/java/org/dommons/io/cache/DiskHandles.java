@@ -0,0 +1,205 @@
+/*
+ * @(#)DiskHandles.java     2026-10-18
+ */
+package org.dommons.io.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.dommons.core.Environments;
+import org.dommons.core.collections.map.concurrent.ConcurrentWeakMap;
+
+/**
+ * 磁盘文件句柄池
+ * <p>长期持有已打开文件，避免每次读写都打开、关闭文件。只读与读写句柄分池存放，读取不占用写权限。空闲超时句柄由后台线程关闭，进程退出时关闭全部句柄</p>
+ * @author demon 2026-10-18
+ */
+class DiskHandles {
+
+	static final long idle = TimeUnit.SECONDS.toMillis(30);
+
+	static final Map<DiskHandles, Boolean> pools = new ConcurrentWeakMap();
+	static Thread cleaner;
+
+	/**
+	 * 注册句柄池
+	 * @param pool 句柄池
+	 */
+	static void register(DiskHandles pool) {
+		pools.put(pool, Boolean.TRUE);
+		if (cleaner != null) return;
+		synchronized (DiskHandles.class) {
+			if (cleaner != null) return;
+			cleaner = new Thread(new Runnable() {
+				public void run() {
+					for (;;) {
+						Environments.sleep(idle / 2);
+						long now = System.currentTimeMillis();
+						for (DiskHandles p : pools.keySet().toArray(new DiskHandles[0]))
+							p.clean(now);
+					}
+				}
+			}, "disk-handles-cleaner");
+			cleaner.setDaemon(true);
+			cleaner.start();
+
+			Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+				public void run() {
+					for (DiskHandles p : pools.keySet().toArray(new DiskHandles[0]))
+						p.close();
+				}
+			}));
+		}
+	}
+
+	protected final File file;
+
+	private final LinkedList<Handle> reads;
+	private final LinkedList<Handle> writes;
+	private volatile boolean closed;
+
+	public DiskHandles(File file) {
+		this.file = file;
+		this.reads = new LinkedList();
+		this.writes = new LinkedList();
+		this.closed = false;
+		register(this);
+	}
+
+	/**
+	 * 借出文件句柄
+	 * <p>池中句柄直接复用，不再逐次检查文件是否存在；句柄读写失败时由 {@link #discard(RandomAccessFile)} 作废</p>
+	 * @param write 是否写入
+	 * @return 文件句柄
+	 * @throws IOException
+	 */
+	public RandomAccessFile borrow(boolean write) throws IOException {
+		LinkedList<Handle> handles = handles(write);
+		synchronized (handles) {
+			if (!handles.isEmpty()) return handles.removeFirst().file;
+		}
+		return new RandomAccessFile(file, write ? DiskStore.m_rw : DiskStore.m_r);
+	}
+
+	/**
+	 * 关闭全部空闲句柄
+	 */
+	public void clear() {
+		clear(reads);
+		clear(writes);
+	}
+
+	/**
+	 * 关闭句柄池
+	 */
+	public void close() {
+		closed = true;
+		clear();
+	}
+
+	/**
+	 * 作废读写失败的文件句柄
+	 * <p>文件已被删除时池中其余句柄同样失效，一并关闭</p>
+	 * @param raf 文件句柄
+	 */
+	public void discard(RandomAccessFile raf) {
+		if (raf != null) new Handle(raf).close();
+		if (!file.exists()) clear();
+	}
+
+	/**
+	 * 归还文件句柄
+	 * @param raf 文件句柄
+	 * @param write 是否写入
+	 */
+	public void release(RandomAccessFile raf, boolean write) {
+		if (raf == null) return;
+		Handle h = new Handle(raf);
+		if (!closed && raf.getChannel().isOpen()) {
+			LinkedList<Handle> handles = handles(write);
+			synchronized (handles) {
+				if (!closed) {
+					handles.addFirst(h);
+					return;
+				}
+			}
+		}
+		h.close();
+	}
+
+	/**
+	 * 关闭空闲超时句柄
+	 * @param now 当前时间
+	 */
+	protected void clean(long now) {
+		clean(reads, now);
+		clean(writes, now);
+	}
+
+	/**
+	 * 关闭空闲超时句柄
+	 * @param handles 句柄列表
+	 * @param now 当前时间
+	 */
+	private void clean(LinkedList<Handle> handles, long now) {
+		synchronized (handles) {
+			for (Iterator<Handle> it = handles.descendingIterator(); it.hasNext();) {
+				Handle h = it.next();
+				if (now - h.time < idle) break;
+				it.remove();
+				h.close();
+			}
+		}
+	}
+
+	/**
+	 * 关闭全部空闲句柄
+	 * @param handles 句柄列表
+	 */
+	private void clear(LinkedList<Handle> handles) {
+		synchronized (handles) {
+			for (Handle h : handles)
+				h.close();
+			handles.clear();
+		}
+	}
+
+	/**
+	 * 获取句柄列表
+	 * @param write 是否写入
+	 * @return 句柄列表
+	 */
+	private LinkedList<Handle> handles(boolean write) {
+		return write ? writes : reads;
+	}
+
+	/**
+	 * 文件句柄
+	 * @author demon 2026-10-18
+	 */
+	static class Handle {
+
+		final RandomAccessFile file;
+		final long time;
+
+		protected Handle(RandomAccessFile file) {
+			this.file = file;
+			this.time = System.currentTimeMillis();
+		}
+
+		/**
+		 * 关闭句柄
+		 */
+		public void close() {
+			try {
+				file.close();
+			} catch (IOException e) { // ignored
+			}
+		}
+	}
+}
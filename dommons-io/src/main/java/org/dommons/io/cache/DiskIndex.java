@@ -0,0 +1,125 @@
+/*
+ * @(#)DiskIndex.java     2026-10-18
+ */
+package org.dommons.io.cache;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 磁盘文件内存索引
+ * <p>打开文件时顺序扫描一次生成键值位置索引，写入及移除时同步更新，文件头占用标记变化时失效重建</p>
+ * @author demon 2026-10-18
+ */
+class DiskIndex {
+
+	private final Map<ByteBuffer, DiskPosition> positions;
+	private long stamp;
+	private boolean valid;
+
+	public DiskIndex() {
+		this.positions = new HashMap();
+		this.valid = false;
+	}
+
+	/**
+	 * 清空索引
+	 */
+	public synchronized void clear() {
+		positions.clear();
+	}
+
+	/**
+	 * 提交写入，更新索引对应文件标记
+	 * @param last 写入前文件标记
+	 * @param stamp 写入后文件标记
+	 */
+	public synchronized void commit(long last, long stamp) {
+		if (valid && this.stamp == last) this.stamp = stamp;
+		else invalidate();
+	}
+
+	/**
+	 * 获取键值位置
+	 * @param key 键值
+	 * @return 文件位置
+	 */
+	public synchronized DiskPosition get(byte[] key) {
+		return positions.get(ByteBuffer.wrap(key));
+	}
+
+	/**
+	 * 置为失效
+	 */
+	public synchronized void invalidate() {
+		positions.clear();
+		valid = false;
+	}
+
+	/**
+	 * 扫描文件加载索引
+	 * @param file 文件
+	 * @param stamp 文件标记
+	 * @throws IOException
+	 */
+	public synchronized void load(RandomAccessFile file, long stamp) throws IOException {
+		if (valid(stamp)) return;
+		positions.clear();
+		valid = false;
+		long len = file.length();
+		DiskScanner scanner = new DiskScanner(file, DiskFile.hc * 2);
+		while (scanner.next()) {
+			ByteBuffer k = ByteBuffer.wrap(scanner.key());
+			if (positions.containsKey(k)) continue;
+			DiskPosition pos = scanner.position();
+			long e = pos.getOffset() + pos.getLength() + 1;
+			pos.setIdle(Math.max(0, Math.min(pos.getIdle(), bound(pos.getOffset(), len) - e)));
+			positions.put(k, pos.setContent(null));
+		}
+		this.stamp = stamp;
+		this.valid = true;
+	}
+
+	/**
+	 * 更新键值位置
+	 * @param key 键值
+	 * @param pos 文件位置
+	 */
+	public synchronized void put(byte[] key, DiskPosition pos) {
+		if (valid) positions.put(ByteBuffer.wrap(key), pos);
+	}
+
+	/**
+	 * 移除键值位置
+	 * @param key 键值
+	 */
+	public synchronized void remove(byte[] key) {
+		positions.remove(ByteBuffer.wrap(key));
+	}
+
+	/**
+	 * 索引是否有效
+	 * @param stamp 文件标记
+	 * @return 是、否
+	 */
+	public synchronized boolean valid(long stamp) {
+		return valid && this.stamp == stamp;
+	}
+
+	/**
+	 * 计算位置所在分页区截止位置
+	 * @param offset 起始位置
+	 * @param len 文件长度
+	 * @return 截止位置
+	 */
+	protected long bound(long offset, long len) {
+		long base = DiskFile.hc * 2 + DiskFile.pn * 4, gl = DiskFile.ct * DiskFile.pn;
+		if (offset < base) return Math.min(base, len);
+		long r = (offset - base) / gl + 1, x = Long.highestOneBit(r), l = DiskFile.pn * x;
+		long s = base + (x - 1) * gl;
+		return Math.min(s + ((offset - s) / l + 1) * l, len);
+	}
+}
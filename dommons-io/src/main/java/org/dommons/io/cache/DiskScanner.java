@@ -0,0 +1,161 @@
+/*
+ * @(#)DiskScanner.java     2026-10-18
+ */
+package org.dommons.io.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * 磁盘文件顺序扫描器
+ * <p>按分页文件格式从头至尾顺序读取所有内容项，残缺内容自动跳过</p>
+ * @author demon 2026-10-18
+ */
+class DiskScanner {
+
+	static final int bl = 64 * 1024;
+
+	protected final RandomAccessFile file;
+
+	private final byte[] buf;
+	private long bp;
+	private int bn;
+	private int bi;
+
+	private byte[] key;
+	private DiskPosition pos;
+
+	public DiskScanner(RandomAccessFile file, long start) {
+		this.file = file;
+		this.buf = new byte[bl];
+		this.bp = start;
+		this.bn = 0;
+		this.bi = 0;
+	}
+
+	/**
+	 * 获取当前内容项键值
+	 * @return 键值
+	 */
+	public byte[] key() {
+		return key;
+	}
+
+	/**
+	 * 读取下一内容项
+	 * @return 是否存在
+	 * @throws IOException
+	 */
+	public boolean next() throws IOException {
+		ByteArrayOutputStream ks = new ByteArrayOutputStream(DiskFile.hc);
+		ByteArrayOutputStream vs = new ByteArrayOutputStream();
+		for (;;) {
+			key = null;
+			pos = null;
+			int b = skip();
+			if (b < 0) return false;
+			long x = offset();
+			ks.reset();
+			vs.reset();
+			byte sep = 0;
+			long sp = 0;
+			for (; (b = peek()) >= 0; read()) { // 读取键值至分割符
+				if (b == DiskFile.eq || b == DiskFile.sep) {
+					sep = (byte) b;
+					sp = offset();
+					read();
+					break;
+				} else if (b == DiskFile.em || b == DiskFile.end) {
+					break;
+				}
+				ks.write(b);
+			}
+			if (sep == 0) {
+				if (b == DiskFile.end) read();
+				continue;
+			}
+			boolean end = false;
+			for (; (b = peek()) >= 0; read()) { // 读取内容至结束符
+				if (b == DiskFile.end) {
+					end = true;
+					read();
+					break;
+				} else if (b == DiskFile.em || b == DiskFile.eq || b == DiskFile.sep) {
+					break;
+				}
+				vs.write(b);
+			}
+			if (!end) continue;
+			byte[] k = DiskFile.unescape(ks.toByteArray());
+			if (k.length != DiskFile.hc) continue;
+			key = k;
+			byte[] content = vs.toByteArray();
+			pos = new DiskPosition().setOffset(x).setSeparator(sep).setContent(content).setIndex(-1);
+			pos.setLength(sp - x + content.length + 1);
+			pos.setIdle(idle());
+			return true;
+		}
+	}
+
+	/**
+	 * 获取当前内容项位置
+	 * @return 文件位置
+	 */
+	public DiskPosition position() {
+		return pos;
+	}
+
+	/**
+	 * 统计空闲长度
+	 * @return 空闲长度
+	 * @throws IOException
+	 */
+	protected long idle() throws IOException {
+		long s = offset();
+		skip();
+		return offset() - s;
+	}
+
+	/**
+	 * 获取当前读取位置
+	 * @return 文件位置
+	 */
+	protected long offset() {
+		return bp + bi;
+	}
+
+	/**
+	 * 预读字节
+	 * @return 字节值 <code>-1</code> 为文件末尾
+	 * @throws IOException
+	 */
+	private int peek() throws IOException {
+		if (bi >= bn) {
+			bp += bn;
+			bi = 0;
+			file.seek(bp);
+			bn = Math.max(0, file.read(buf));
+			if (bn < 1) return -1;
+		}
+		return buf[bi] & 0xff;
+	}
+
+	/**
+	 * 读取字节
+	 */
+	private void read() {
+		bi++;
+	}
+
+	/**
+	 * 跳过空闲字节
+	 * @return 下一非空闲字节 <code>-1</code> 为文件末尾
+	 * @throws IOException
+	 */
+	private int skip() throws IOException {
+		int b = 0;
+		for (; (b = peek()) == DiskFile.em; read());
+		return b;
+	}
+}
@@ -5,9 +5,16 @@ package org.dommons.io.cache;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.dommons.core.convert.Converter;
+import org.dommons.core.string.Stringure;
 import org.dommons.security.coder.HexCoder;
 
 /**
@@ -22,11 +29,15 @@ class DiskStore extends DiskLock {
 	protected final File file;
 	protected final byte[] key;
 	protected final ReadWriteLock rw;
+	protected final DiskIndex index;
+
+	private volatile DiskHandles handles;
 
 	public DiskStore(File file) {
 		this.file = init(file);
 		this.key = key(this.file);
 		this.rw = lock(HexCoder.encodeBuffer(key).toLowerCase());
+		this.index = new DiskIndex();
 	}
 
 	/**
@@ -35,6 +46,16 @@ class DiskStore extends DiskLock {
 	 * @return 内容值
 	 */
 	public String read(String key) {
+		byte[] bs = readBytes(key);
+		return bs == null ? null : Stringure.toString(bs, DiskFile.charset);
+	}
+
+	/**
+	 * 读取内容字节
+	 * @param key 缓存键值
+	 * @return 内容字节
+	 */
+	public byte[] readBytes(String key) {
 		DiskFile df = getReadFile();
 		if (df == null) return null;
 		try {
@@ -68,6 +89,15 @@ class DiskStore extends DiskLock {
 	 * @param value 内容值
 	 */
 	public void write(String key, String value) {
+		write(key, bytes(value));
+	}
+
+	/**
+	 * 写入内容字节
+	 * @param key 缓存键值
+	 * @param value 内容字节
+	 */
+	public void write(String key, byte[] value) {
 		for (int i = 0; i < 2; i++) {
 			DiskFile df = getWriteFile();
 			try {
@@ -79,6 +109,31 @@ class DiskStore extends DiskLock {
 		}
 	}
 
+	/**
+	 * 批量写入内容
+	 * <p>同一文件会话内依次写入，内容值可为字符串或字节数组，为 <code>null</code> 时移除</p>
+	 * @param values 内容集
+	 */
+	public void write(Map<String, ?> values) {
+		if (values == null || values.isEmpty()) return;
+		Map<String, Object> rest = new LinkedHashMap(values);
+		DiskFile df = getWriteFile();
+		try {
+			for (Iterator<Entry<String, Object>> it = rest.entrySet().iterator(); it.hasNext();) {
+				Entry<String, Object> en = it.next();
+				byte[] k = key(en.getKey());
+				if (en.getValue() == null ? !df.remove(k) : !df.write(k, bytes(en.getValue()))) break;
+				it.remove();
+			}
+		} finally {
+			df.close();
+		}
+		for (Entry<String, Object> en : rest.entrySet()) { // 会话内写入失败的内容逐项重试
+			if (en.getValue() == null) remove(en.getKey());
+			else write(en.getKey(), bytes(en.getValue()));
+		}
+	}
+
 	/**
 	 * 初始化
 	 * @param file 文件
@@ -101,8 +156,11 @@ class DiskStore extends DiskLock {
 	 */
 	DiskFile getReadFile() {
 		try {
-			if (!file.exists()) return null;
-			return new DiskFile(file, rw.readLock(), m_r, key);
+			if (!file.exists()) { // 文件已被删除，池中句柄失效
+				if (handles != null) handles.clear();
+				return null;
+			}
+			return new DiskFile(handles(), rw.readLock(), false, key, index);
 		} catch (Throwable t) {
 			return null;
 		}
@@ -113,7 +171,7 @@ class DiskStore extends DiskLock {
 	 * @return 磁盘文件
 	 */
 	DiskFile getWriteFile() {
-		return new DiskFile(file, rw.writeLock(), m_rw, key);
+		return new DiskFile(handles(), rw.writeLock(), true, key, index);
 	}
 
 	/**
@@ -121,8 +179,37 @@ class DiskStore extends DiskLock {
 	 * @param file 文件
 	 */
 	void reset(File file) {
-		file.delete();
-		init(file);
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			index.invalidate();
+			RandomAccessFile raf = null;
+			try { // 原位置清空，其它进程持有的句柄仍然有效
+				raf = handles().borrow(true);
+				raf.setLength(0);
+			} catch (IOException e) {
+				handles().clear();
+				file.delete();
+				init(file);
+			} finally {
+				handles().release(raf, true);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 获取文件句柄池
+	 * @return 句柄池
+	 */
+	DiskHandles handles() {
+		if (handles == null) {
+			synchronized (this) {
+				if (handles == null) handles = new DiskHandles(file);
+			}
+		}
+		return handles;
 	}
 
 	/**
@@ -133,4 +220,14 @@ class DiskStore extends DiskLock {
 	private byte[] key(File file) {
 		return md5("1:" + file.getAbsolutePath());
 	}
+
+	/**
+	 * 转换内容字节
+	 * @param value 内容值
+	 * @return 内容字节
+	 */
+	static byte[] bytes(Object value) {
+		if (value == null || value instanceof byte[]) return (byte[]) value;
+		else return Stringure.toBytes(String.valueOf(value), DiskFile.charset);
+	}
 }
@@ -7,8 +7,10 @@ import java.io.File;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-import org.dommons.core.cache.DataCache;
+import org.dommons.core.cache.CacheCounter;
+import org.dommons.core.cache.CacheStats;
 import org.dommons.core.cache.MemcacheMap;
+import org.dommons.core.cache.StatsCache;
 import org.dommons.core.convert.Converter;
 import org.dommons.core.string.Stringure;
 import org.dommons.core.util.Arrayard;
@@ -19,57 +21,195 @@ import org.dommons.io.net.UniQueness;
  * 本地文件缓存
  * @author demon 2018-07-13
  */
-public class LocalFileCache implements DataCache<String, String> {
+public class LocalFileCache implements StatsCache<String, String> {
 
 	private final DiskStore disk;
-	private final Map<String, String[]> tmp;
+	private final Map<String, Object[]> tmp;
+	private volatile WriteBehind writer;
+	private final CacheCounter counter;
 
 	public LocalFileCache(File file) {
+		this(file, StoreKind.PAGED);
+	}
+
+	public LocalFileCache(File file, StoreKind kind) {
 		if (file == null) file = Pathfinder.cacheFile(UniQueness.generateHexUUID().toLowerCase());
-		this.disk = new DiskStore(file);
+		this.disk = store(file, kind);
 		this.tmp = new MemcacheMap(TimeUnit.HOURS.toMillis(1), TimeUnit.HOURS.toMillis(12));
+		this.counter = new CacheCounter();
 	}
 
 	public LocalFileCache(String path) {
 		this(Pathfinder.findFile(path));
 	}
 
+	public LocalFileCache(String path, StoreKind kind) {
+		this(Pathfinder.findFile(path), kind);
+	}
+
 	public void clear() {
-		disk.remove(null);
+		WriteBehind w = writer;
+		if (w != null) w.clear();
+		else disk.remove(null);
 		this.tmp.clear();
 	}
 
+	/**
+	 * 写入全部延迟写入内容
+	 */
+	public void flush() {
+		WriteBehind w = writer;
+		if (w != null) w.flush();
+	}
+
 	public String get(Object key) {
-		String k = key(key);
-		String[] vs = null;
-		vs = tmp.get(k);
-		if (vs != null) return vs[0];
-		String v = disk.read(k);
-		tmp.put(k, vs = new String[] { v });
-		return v;
+		Object v = load(key(key), false);
+		return v instanceof byte[] ? Stringure.toString((byte[]) v, DiskFile.charset) : (String) v;
+	}
+
+	/**
+	 * 获取缓存内容字节
+	 * <p>不进行字符集转换，字符串内容按 UTF-8 编码转换</p>
+	 * @param key 缓存键
+	 * @return 内容字节
+	 */
+	public byte[] getBytes(Object key) {
+		return DiskStore.bytes(load(key(key), true));
 	}
 
 	public String remove(Object key) {
 		String k = key(key);
-		disk.remove(k);
-		String[] vs = null;
-		vs = tmp.remove(k);
-		return Arrayard.get(vs, 0);
+		WriteBehind w = writer;
+		Object[] vs = null;
+		if (w != null) {
+			vs = tmp.put(k, new Object[] { null });
+			if (vs == null) vs = w.pending(k);
+			w.stage(k, new Object[] { null });
+		} else {
+			disk.remove(k);
+			vs = tmp.remove(k);
+		}
+		Object v = Arrayard.get(vs, 0);
+		return v instanceof byte[] ? Stringure.toString((byte[]) v, DiskFile.charset) : (String) v;
 	}
 
 	public void set(String key, String value) {
+		store(key, value);
+	}
+
+	/**
+	 * 设置缓存内容字节
+	 * <p>按原字节写入，不进行字符集转换</p>
+	 * @param key 缓存键
+	 * @param value 内容字节
+	 */
+	public void setBytes(String key, byte[] value) {
+		store(key, value);
+	}
+
+	/**
+	 * 获取统计快照
+	 * <p>内存或磁盘中存在均计为命中，每次磁盘读取计为一次加载</p>
+	 * @return 统计快照
+	 */
+	public CacheStats stats() {
+		return counter.snapshot(-1);
+	}
+
+	/**
+	 * 设置延迟批量写入
+	 * <p>同一键值多次修改合并为一次写入，待写入数量达到上限或首个待写入内容超过延迟时间后批量写入磁盘</p>
+	 * @param batch 待写入数量上限
+	 * @param delay 延迟时间(毫秒) 小于等于 <code>0</code> 时关闭延迟写入
+	 * @return 本地文件缓存
+	 */
+	public LocalFileCache writeBehind(int batch, long delay) {
+		WriteBehind w = writer;
+		writer = delay > 0 ? new WriteBehind(disk, batch, delay) : null;
+		if (w != null) w.close();
+		return this;
+	}
+
+	protected String key(Object key) {
+		return Stringure.trim(Converter.F.convert(key, String.class));
+	}
+
+	/**
+	 * 加载缓存内容
+	 * @param k 缓存键
+	 * @param raw 是否读取原字节
+	 * @return 内容 字符串或字节数组
+	 */
+	private Object load(String k, boolean raw) {
+		Object[] vs = null;
+		vs = tmp.get(k);
+		WriteBehind w = writer;
+		if (vs == null && w != null && (vs = w.pending(k)) != null) tmp.put(k, vs);
+		if (vs != null) {
+			if (vs[0] != null) counter.recordHit();
+			else counter.recordMiss();
+			return vs[0];
+		}
+		long start = System.nanoTime();
+		Object v = null;
+		try {
+			v = raw ? disk.readBytes(k) : disk.read(k);
+		} catch (RuntimeException e) {
+			counter.recordLoadFailure(System.nanoTime() - start);
+			throw e;
+		}
+		if (v != null) { // 磁盘中不存在不计为加载成功
+			counter.recordLoadSuccess(System.nanoTime() - start);
+			counter.recordHit();
+		} else {
+			counter.recordMiss();
+		}
+		tmp.put(k, new Object[] { v });
+		return v;
+	}
+
+	/**
+	 * 设置缓存内容
+	 * @param key 缓存键
+	 * @param value 内容 字符串或字节数组
+	 */
+	private void store(String key, Object value) {
 		if (value == null) {
 			remove(key);
 		} else {
 			key = key(key);
-			String[] v = new String[] { value };
-			String[] last = null;
+			Object[] v = new Object[] { value };
+			Object[] last = null;
 			last = tmp.put(key, v);
-			if (!Arrayard.equals(v, last)) disk.write(key, value);
+			if (Arrayard.equals(value, Arrayard.get(last, 0))) return;
+			WriteBehind w = writer;
+			if (w != null) w.stage(key, v);
+			else disk.write(key, DiskStore.bytes(value));
 		}
 	}
 
-	protected String key(Object key) {
-		return Stringure.trim(Converter.F.convert(key, String.class));
+	/**
+	 * 生成磁盘读写器
+	 * @param file 缓存文件
+	 * @param kind 存储类型
+	 * @return 磁盘读写器
+	 */
+	private DiskStore store(File file, StoreKind kind) {
+		if (kind == StoreKind.MAPPED) return new MappedStore(file);
+		else if (kind == StoreKind.LOGGED) return new LogStore(file);
+		else return new DiskStore(file);
+	}
+
+	/**
+	 * 存储类型
+	 * @author demon 2026-10-18
+	 */
+	public static enum StoreKind {
+		/** 分页存储，逐页扫描查找内容 */
+		PAGED,
+		/** 内存映射存储，按哈希索引定位内容，原分页格式文件自动迁移 */
+		MAPPED,
+		/** 日志结构存储，只追加写入并由后台线程压缩，容量满时淘汰最早内容 */
+		LOGGED;
 	}
 }
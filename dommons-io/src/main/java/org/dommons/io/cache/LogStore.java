@@ -0,0 +1,528 @@
+/*
+ * @(#)LogStore.java     2026-10-18
+ */
+package org.dommons.io.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import org.dommons.core.Silewarner;
+import org.dommons.core.convert.Converter;
+
+/**
+ * 日志结构磁盘读写器
+ * <p>
+ * 内容只追加写入文件末尾，移除时追加删除标记，打开文件时顺序回放生成内存索引。失效内容达到有效内容大小后由后台线程压缩重写，写放大不超过两倍；文件达到容量上限时压缩并淘汰最早写入的内容，不清空整个缓存。
+ * </p>
+ * @author demon 2026-10-18
+ */
+class LogStore extends AbsChannelStore {
+
+	static final int magic = 0x444d4c53;
+	static final int version = 2;
+
+	static final int hl = 64; // 头部长度
+	static final int bl = 64 * 1024; // 回放缓冲区长度
+
+	static final int h_magic = 0;
+	static final int h_version = 4;
+	static final int h_end = 8;
+	static final int h_gen = 16;
+	static final int h_retired = 24;
+
+	static final byte f_remove = 2;
+
+	static final long least = 1024 * 1024; // 后台压缩最小文件长度
+	static final long budget = DiskFile.limit / 4 * 3; // 淘汰后保留内容上限
+
+	static final Comparator<LogEntry> order = new Comparator<LogEntry>() {
+		public int compare(LogEntry o1, LogEntry o2) {
+			return o1.offset < o2.offset ? -1 : (o1.offset == o2.offset ? 0 : 1);
+		}
+	};
+
+	private final Map<ByteBuffer, LogEntry> entries;
+	private final AtomicBoolean compacting;
+
+	private volatile MappedByteBuffer head;
+	private volatile long generation;
+	private volatile long seen;
+	private long end;
+	private long dead;
+	private volatile int opened;
+
+	public LogStore(File file) {
+		super(file);
+		this.entries = new ConcurrentHashMap();
+		this.compacting = new AtomicBoolean(false);
+		try {
+			open();
+		} catch (IOException e) {
+			throw Converter.F.convert(e, RuntimeException.class);
+		}
+	}
+
+	@Override
+	public byte[] readBytes(String key) {
+		byte[] k = key(key);
+		Lock lock = rw.readLock();
+		lock.lock();
+		try {
+			sync();
+			LogEntry en = entries.get(ByteBuffer.wrap(k));
+			if (en == null) return null;
+			ByteBuffer bb = record(en.offset, en.size, k);
+			return bb == null ? null : value(bb);
+		} catch (IOException e) {
+			Silewarner.error(LogStore.class, e);
+			return null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void remove(String key) {
+		byte[] k = key == null ? null : key(key);
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			FileLock fl = acquire();
+			try {
+				prepare();
+				if (k == null) init(channel());
+				else if (entries.containsKey(ByteBuffer.wrap(k))) append(k, record(k, f_remove, new byte[0]));
+			} finally {
+				release(fl);
+			}
+		} catch (IOException e) {
+			Silewarner.error(LogStore.class, e);
+		} finally {
+			lock.unlock();
+		}
+		schedule();
+	}
+
+	@Override
+	public void write(String key, byte[] value) {
+		byte[] k = key(key);
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			FileLock fl = acquire();
+			try {
+				prepare();
+				if (!append(k, content(k, value))) { // 单项超出文件容量，写入删除标记使旧内容失效
+					if (entries.containsKey(ByteBuffer.wrap(k))) append(k, record(k, f_remove, new byte[0]));
+					Silewarner.warn(LogStore.class, "cache value is too large [" + key + "]");
+				}
+			} finally {
+				release(fl);
+			}
+		} catch (IOException e) {
+			Silewarner.error(LogStore.class, e);
+		} finally {
+			lock.unlock();
+		}
+		schedule();
+	}
+
+	@Override
+	void reset(File file) {
+		remove(null);
+	}
+
+	/**
+	 * 压缩文件，只保留有效内容
+	 * @param reserve 预留空间
+	 * @param locked 是否已锁定文件
+	 * @throws IOException
+	 */
+	void compact(long reserve, boolean locked) throws IOException {
+		int o = opened;
+		long from = end;
+		List<LogEntry> list = new ArrayList(entries.values());
+		Collections.sort(list, order);
+		long total = 0, limit = Math.min(budget, DiskFile.limit - reserve);
+		for (LogEntry en : list)
+			total += en.size;
+		Segment seg = new Segment();
+		try {
+			for (LogEntry en : list) {
+				if (total > limit) { // 超出容量，淘汰最早写入内容
+					total -= en.size;
+					continue;
+				}
+				ByteBuffer bb = record(en.offset, en.size, en.key);
+				if (bb != null) seg.append(en.key, bb);
+			}
+			Lock lock = rw.writeLock();
+			lock.lock();
+			try {
+				FileLock fl = locked ? null : acquire();
+				try {
+					sync();
+					if (opened != o) return; // 文件已被清空或替换
+					list = new ArrayList();
+					for (LogEntry en : entries.values()) {
+						if (en.offset >= from) list.add(en);
+					}
+					Collections.sort(list, order);
+					for (LogEntry en : list) { // 补充压缩期间写入内容
+						ByteBuffer bb = record(en.offset, en.size, en.key);
+						if (bb != null) seg.append(en.key, bb);
+					}
+					for (LogEntry en : seg.entries.values().toArray(new LogEntry[seg.entries.size()])) {
+						if (!entries.containsKey(ByteBuffer.wrap(en.key))) seg.append(en.key, record(en.key, f_remove, new byte[0]));
+					}
+					swap(seg);
+				} finally {
+					release(fl);
+				}
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			seg.close();
+		}
+	}
+
+	/**
+	 * 获取文件锁 文件已被其它进程压缩替换时重新打开
+	 * @return 文件锁
+	 * @throws IOException
+	 */
+	FileLock acquire() throws IOException {
+		for (;;) {
+			FileLock fl = lock(channel());
+			if (head.getInt(h_retired) == 0) return fl;
+			release(fl);
+			sync();
+		}
+	}
+
+	/**
+	 * 同步其它进程或实例写入内容
+	 * @throws IOException
+	 */
+	void sync() throws IOException {
+		MappedByteBuffer hb = head;
+		if (hb.getInt(h_retired) == 0 && hb.getLong(h_gen) == generation && hb.getLong(h_end) == seen) return;
+		synchronized (this) {
+			hb = head;
+			if (hb.getInt(h_retired) != 0) { // 文件已被压缩替换
+				reopen();
+				load();
+			} else if (hb.getLong(h_gen) != generation || hb.getLong(h_end) < end) {
+				load();
+			} else if (hb.getLong(h_end) != seen) {
+				replay(end, seen = hb.getLong(h_end));
+			}
+		}
+	}
+
+	/**
+	 * 追加记录
+	 * @param k 键值
+	 * @param bb 记录内容
+	 * @return 是否写入 压缩后仍无足够空间返回<code>false</code>
+	 * @throws IOException
+	 */
+	private boolean append(byte[] k, ByteBuffer bb) throws IOException {
+		int size = bb.remaining();
+		if (size > budget) return false; // 单项超出保留上限，不为其淘汰其它内容
+		else if (end + size > hl + DiskFile.limit) { // 容量已满，压缩并淘汰最早写入内容
+			compact(size, true);
+			if (end + size > hl + DiskFile.limit) return false;
+		}
+		long p = end;
+		write(p, bb);
+		head.putLong(h_end, p + size);
+		seen = end = p + size;
+		apply(k, bb.get(DiskFile.hc), p, size);
+		return true;
+	}
+
+	/**
+	 * 应用记录至索引
+	 * @param k 键值
+	 * @param flag 内容标识
+	 * @param offset 记录位置
+	 * @param size 记录长度
+	 */
+	private void apply(byte[] k, byte flag, long offset, int size) {
+		ByteBuffer key = ByteBuffer.wrap(k);
+		LogEntry old = null;
+		if (flag == f_remove) {
+			old = entries.remove(key);
+			dead += size;
+		} else {
+			old = entries.put(key, new LogEntry(k, offset, size));
+		}
+		if (old != null) dead += old.size;
+	}
+
+	/**
+	 * 初始化空文件
+	 * @param fc 文件通道
+	 * @throws IOException
+	 */
+	private void init(FileChannel fc) throws IOException {
+		ByteBuffer hb = header(hl, generation + 1);
+		while (hb.hasRemaining())
+			fc.write(hb, hb.position());
+		fc.truncate(hl);
+		load();
+	}
+
+	/**
+	 * 加载文件，回放生成索引
+	 * @throws IOException
+	 */
+	private void load() throws IOException {
+		MappedByteBuffer hb = channel().map(MapMode.READ_WRITE, 0, hl);
+		head = hb;
+		entries.clear();
+		dead = 0;
+		end = hl;
+		opened++;
+		generation = hb.getLong(h_gen);
+		seen = hb.getLong(h_end);
+		if (valid(hb)) replay(hl, seen);
+	}
+
+	/**
+	 * 打开文件
+	 * @throws IOException
+	 */
+	private void open() throws IOException {
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			FileChannel fc = channel();
+			FileLock fl = lock(fc);
+			try {
+				if (fc.size() < hl) init(fc);
+				else load();
+				if (!valid(head)) init(fc);
+			} finally {
+				release(fl);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 写入前检查
+	 * @throws IOException
+	 */
+	private void prepare() throws IOException {
+		sync();
+		if (!valid(head)) init(channel());
+	}
+
+	/**
+	 * 回放记录
+	 * @param from 起始位置
+	 * @param to 截止位置
+	 * @throws IOException
+	 */
+	private void replay(long from, long to) throws IOException {
+		FileChannel fc = channel();
+		ByteBuffer buf = ByteBuffer.allocate(bl);
+		long p = from, bp = -1;
+		while (p + rl <= to) {
+			if (bp < 0 || p + rl > bp + buf.limit()) {
+				buf.clear();
+				read(fc, buf, p);
+				buf.flip();
+				bp = p;
+				if (buf.limit() < rl) break;
+			}
+			int i = (int) (p - bp);
+			byte flag = buf.get(i + DiskFile.hc);
+			int len = buf.getInt(i + DiskFile.hc + 1);
+			if (flag < f_plain || flag > f_remove || len < 0 || p + rl + len > to) break; // 记录不完整
+			byte[] k = new byte[DiskFile.hc];
+			for (int x = 0; x < k.length; x++)
+				k[x] = buf.get(i + x);
+			apply(k, flag, p, rl + len);
+			p += rl + len;
+		}
+		end = p;
+	}
+
+	/**
+	 * 按需启动后台压缩
+	 */
+	private void schedule() {
+		long size = end - hl, live = size - dead;
+		if (size < least || dead < live) return;
+		else if (!compacting.compareAndSet(false, true)) return;
+		Thread t = new Thread(new Runnable() {
+			public void run() {
+				try {
+					compact(0, false);
+				} catch (Throwable t) {
+					Silewarner.error(LogStore.class, t);
+				} finally {
+					compacting.set(false);
+				}
+			}
+		}, "log-store-compactor");
+		t.setDaemon(true);
+		t.start();
+	}
+
+	/**
+	 * 替换为压缩后文件
+	 * @param seg 压缩文件
+	 * @throws IOException
+	 */
+	private void swap(Segment seg) throws IOException {
+		long gen = generation + 1;
+		seg.finish(gen);
+		head.putInt(h_retired, 1); // 通知其它进程重新打开文件
+		if (seg.tmp.renameTo(file)) {
+			relock(); // 原文件锁随原通道关闭失效
+		} else { // 无法直接替换时原位置复制
+			head.putInt(h_retired, 0);
+			FileChannel fc = channel(), tc = seg.raf.getChannel();
+			for (long x = 0; x < seg.length;) {
+				long r = fc.transferFrom(tc.position(x), x, seg.length - x);
+				if (r <= 0) break;
+				x += r;
+			}
+			fc.truncate(seg.length);
+		}
+		head = channel().map(MapMode.READ_WRITE, 0, hl);
+		entries.clear();
+		entries.putAll(seg.entries);
+		dead = seg.dead;
+		seen = end = seg.length;
+		generation = gen;
+		opened++;
+	}
+
+	/**
+	 * 文件头是否有效
+	 * @param hb 文件头
+	 * @return 是、否
+	 */
+	private boolean valid(ByteBuffer hb) {
+		return hb.getInt(h_magic) == magic && hb.getInt(h_version) == version && hb.getLong(h_end) >= hl;
+	}
+
+	/**
+	 * 生成文件头
+	 * @param end 文件截止位置
+	 * @param gen 文件版本
+	 * @return 文件头
+	 */
+	static ByteBuffer header(long end, long gen) {
+		ByteBuffer hb = ByteBuffer.allocate(hl);
+		hb.putInt(h_magic, magic).putInt(h_version, version).putLong(h_end, end).putLong(h_gen, gen).putInt(h_retired, 0);
+		return hb;
+	}
+
+	/**
+	 * 日志索引项
+	 * @author demon 2026-10-18
+	 */
+	static class LogEntry {
+
+		final byte[] key;
+		final long offset;
+		final int size;
+
+		protected LogEntry(byte[] key, long offset, int size) {
+			this.key = key;
+			this.offset = offset;
+			this.size = size;
+		}
+	}
+
+	/**
+	 * 压缩文件
+	 * @author demon 2026-10-18
+	 */
+	class Segment {
+
+		final File tmp;
+		final RandomAccessFile raf;
+		final Map<ByteBuffer, LogEntry> entries;
+		long length;
+		long dead;
+
+		protected Segment() throws IOException {
+			this.tmp = File.createTempFile("dmls", ".tmp", file.getParentFile());
+			this.raf = new RandomAccessFile(tmp, m_rw);
+			this.entries = new HashMap();
+			this.length = hl;
+			this.dead = 0;
+		}
+
+		/**
+		 * 追加记录
+		 * @param k 键值
+		 * @param bb 记录内容
+		 * @throws IOException
+		 */
+		public void append(byte[] k, ByteBuffer bb) throws IOException {
+			FileChannel fc = raf.getChannel();
+			int size = bb.remaining();
+			bb.position(0);
+			while (bb.hasRemaining())
+				fc.write(bb, length + bb.position());
+			ByteBuffer key = ByteBuffer.wrap(k);
+			LogEntry old = null;
+			if (bb.get(DiskFile.hc) == f_remove) {
+				old = entries.remove(key);
+				dead += size;
+			} else {
+				old = entries.put(key, new LogEntry(k, length, size));
+			}
+			if (old != null) dead += old.size;
+			length += size;
+		}
+
+		/**
+		 * 关闭并清除临时文件
+		 */
+		public void close() {
+			try {
+				raf.close();
+			} catch (IOException e) { // ignored
+			}
+			tmp.delete();
+		}
+
+		/**
+		 * 写入文件头
+		 * @param gen 文件版本
+		 * @throws IOException
+		 */
+		public void finish(long gen) throws IOException {
+			FileChannel fc = raf.getChannel();
+			ByteBuffer hb = header(length, gen);
+			while (hb.hasRemaining())
+				fc.write(hb, hb.position());
+		}
+	}
+}
@@ -0,0 +1,613 @@
+/*
+ * @(#)MappedStore.java     2026-10-18
+ */
+package org.dommons.io.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import org.dommons.core.Silewarner;
+import org.dommons.core.convert.Converter;
+
+/**
+ * 内存映射磁盘读写器
+ * <p>
+ * 文件由头部、哈希索引区及数据区组成。索引区以内存映射方式访问，按键值哈希开放寻址定位数据位置及长度，数据区按位置直接读写。原分页格式文件在打开时自动迁移。
+ * </p>
+ * @author demon 2026-10-18
+ */
+class MappedStore extends AbsChannelStore {
+
+	static final int magic = 0x444d4d53;
+	static final int version = 2;
+
+	static final int hl = 64; // 头部长度
+	static final int sl = 32; // 索引槽长度
+	static final int min = 1024; // 最小索引槽数
+
+	static final int h_magic = 0;
+	static final int h_version = 4;
+	static final int h_slots = 8;
+	static final int h_used = 12;
+	static final int h_filled = 16;
+	static final int h_end = 24;
+	static final int h_dead = 32;
+	static final int h_gen = 40;
+
+	static final byte s_empty = 0;
+	static final byte s_used = 1;
+	static final byte s_deleted = 2;
+
+	static final long superseded = -1L; // 文件已被替换的版本标记
+
+	private volatile MappedByteBuffer mapped;
+	private long generation;
+
+	public MappedStore(File file) {
+		super(file);
+		try {
+			open();
+		} catch (IOException e) {
+			throw Converter.F.convert(e, RuntimeException.class);
+		}
+	}
+
+	@Override
+	public byte[] readBytes(String key) {
+		byte[] k = key(key);
+		Lock lock = rw.readLock();
+		lock.lock();
+		try {
+			MappedByteBuffer ib = prepare();
+			int s = ib == null ? -1 : find(ib, k);
+			if (s < 0) return null;
+			int p = hl + s * sl;
+			ByteBuffer bb = record(ib.getLong(p + 16), ib.getInt(p + 24), k);
+			return bb == null ? null : value(bb);
+		} catch (IOException e) {
+			Silewarner.error(MappedStore.class, e);
+			return null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void remove(String key) {
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			FileLock fl = acquire();
+			try {
+				MappedByteBuffer ib = prepare();
+				if (key == null || ib == null) {
+					build(new Image(), slots(ib));
+				} else {
+					int s = find(ib, key(key));
+					if (s >= 0) delete(ib, hl + s * sl);
+				}
+			} finally {
+				release(fl);
+			}
+		} catch (IOException e) {
+			Silewarner.error(MappedStore.class, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write(String key, byte[] value) {
+		byte[] k = key(key);
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			FileLock fl = acquire();
+			try {
+				MappedByteBuffer ib = prepare();
+				if (ib == null) ib = build(new Image(), min);
+				if (!put(ib, k, content(k, value))) { // 单项超出数据区容量，仅丢弃该项，不保留旧内容
+					discard(k);
+					Silewarner.warn(MappedStore.class, "cache value is too large [" + key + "]");
+				}
+			} finally {
+				release(fl);
+			}
+		} catch (IOException e) {
+			Silewarner.error(MappedStore.class, e);
+			try {
+				discard(k);
+			} catch (IOException ex) { // ignored
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	void reset(File file) {
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			FileLock fl = acquire();
+			try {
+				build(new Image(), slots(mapped));
+			} finally {
+				release(fl);
+			}
+		} catch (IOException e) {
+			Silewarner.error(MappedStore.class, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 重建文件
+	 * @param img 文件镜像
+	 * @param min 最小索引槽数
+	 * @return 索引区
+	 * @throws IOException
+	 */
+	MappedByteBuffer build(Image img, int min) throws IOException {
+		try {
+			replace(img.build(Math.max(MappedStore.min, min), DiskBinder.stamp()));
+		} finally {
+			img.close();
+		}
+		return remap();
+	}
+
+	/**
+	 * 获取文件锁 文件已被其它进程替换时重新打开
+	 * @return 文件锁
+	 * @throws IOException
+	 */
+	FileLock acquire() throws IOException {
+		for (;;) {
+			FileChannel fc = channel();
+			FileLock fl = lock(fc);
+			if (generation(fc) != superseded) return fl;
+			release(fl);
+			reopen();
+		}
+	}
+
+	/**
+	 * 丢弃键值对应内容
+	 * @param k 键值
+	 * @throws IOException
+	 */
+	void discard(byte[] k) throws IOException {
+		MappedByteBuffer ib = prepare();
+		int s = ib == null ? -1 : find(ib, k);
+		if (s >= 0) delete(ib, hl + s * sl);
+	}
+
+	/**
+	 * 压缩重建文件，清除失效内容
+	 * @param ib 索引区
+	 * @param min 最小索引槽数
+	 * @return 新索引区
+	 * @throws IOException
+	 */
+	MappedByteBuffer compact(MappedByteBuffer ib, int min) throws IOException {
+		Image img = new Image();
+		for (int s = 0, n = slots(ib); s < n; s++) {
+			int p = hl + s * sl;
+			if (ib.get(p + 28) != s_used) continue;
+			byte[] k = key(ib, p);
+			ByteBuffer bb = record(ib.getLong(p + 16), ib.getInt(p + 24), k);
+			if (bb != null) img.add(k, bb);
+		}
+		return build(img, min);
+	}
+
+	/**
+	 * 移除索引项
+	 * @param ib 索引区
+	 * @param p 索引槽位置
+	 */
+	void delete(MappedByteBuffer ib, int p) {
+		ib.put(p + 28, s_deleted);
+		ib.putInt(h_used, ib.getInt(h_used) - 1);
+		ib.putLong(h_dead, ib.getLong(h_dead) + ib.getInt(p + 24));
+	}
+
+	/**
+	 * 查找键值所在索引槽
+	 * @param ib 索引区
+	 * @param k 键值
+	 * @return 索引槽序号 <code>-1</code> 为不存在
+	 */
+	int find(MappedByteBuffer ib, byte[] k) {
+		int n = slots(ib), m = n - 1;
+		for (int i = hash(k) & m, c = 0; c < n; i = (i + 1) & m, c++) {
+			int p = hl + i * sl;
+			byte st = ib.get(p + 28);
+			if (st == s_empty) break;
+			else if (st == s_used && matches(ib, p, k)) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * 检查索引区是否最新
+	 * @return 索引区 <code>null</code> 为文件无效
+	 * @throws IOException
+	 */
+	MappedByteBuffer prepare() throws IOException {
+		MappedByteBuffer ib = mapped;
+		if (ib != null && ib.getLong(h_gen) == generation) return ib;
+		synchronized (this) {
+			return mapped == ib ? remap() : mapped;
+		}
+	}
+
+	/**
+	 * 写入内容
+	 * @param ib 索引区
+	 * @param k 键值
+	 * @param bb 记录内容
+	 * @return 是否成功
+	 * @throws IOException
+	 */
+	boolean put(MappedByteBuffer ib, byte[] k, ByteBuffer bb) throws IOException {
+		int size = bb.remaining();
+		int s = find(ib, k);
+		if (s >= 0) {
+			int p = hl + s * sl;
+			if (size <= ib.getInt(p + 24)) { // 原位置空间足够直接覆盖
+				write(ib.getLong(p + 16), bb);
+				return true;
+			}
+		}
+		int cap = (size + 31) & ~31, n = slots(ib);
+		long end = ib.getLong(h_end), ds = hl + (long) n * sl;
+		if (s < 0 && (ib.getInt(h_filled) + 1) * 4L > n * 3L) { // 索引槽不足，重建扩容
+			ib = compact(ib, n);
+		} else if (end + cap > ds + DiskFile.limit) { // 数据区已满，压缩重建
+			ib = compact(ib, n);
+			s = find(ib, k);
+		} else {
+			return append(ib, s, k, bb, cap);
+		}
+		end = ib.getLong(h_end);
+		ds = hl + (long) slots(ib) * sl;
+		if (end + cap > ds + DiskFile.limit) return false;
+		return append(ib, s, k, bb, cap);
+	}
+
+	/**
+	 * 重新映射索引区
+	 * @return 索引区 <code>null</code> 为文件无效
+	 * @throws IOException
+	 */
+	MappedByteBuffer remap() throws IOException {
+		FileChannel fc = channel();
+		ByteBuffer hb = ByteBuffer.allocate(hl);
+		read(fc, hb, 0);
+		while (hb.position() >= hl && hb.getInt(h_magic) == magic && hb.getLong(h_gen) == superseded) { // 文件已被替换，打开新文件
+			reopen();
+			fc = channel();
+			hb.clear();
+			read(fc, hb, 0);
+		}
+		int n = hb.position() < hl ? 0 : hb.getInt(h_slots);
+		if (hb.position() < hl || hb.getInt(h_magic) != magic || hb.getInt(h_version) != version) return mapped = null;
+		else if (n < min || (n & (n - 1)) != 0 || fc.size() < hl + (long) n * sl) return mapped = null;
+		MappedByteBuffer ib = fc.map(MapMode.READ_WRITE, 0, hl + (long) n * sl);
+		this.generation = ib.getLong(h_gen);
+		return mapped = ib;
+	}
+
+	/**
+	 * 追加记录
+	 * @param ib 索引区
+	 * @param s 原索引槽序号
+	 * @param k 键值
+	 * @param bb 记录内容
+	 * @param cap 记录空间
+	 * @return 是否成功
+	 * @throws IOException
+	 */
+	private boolean append(MappedByteBuffer ib, int s, byte[] k, ByteBuffer bb, int cap) throws IOException {
+		long end = ib.getLong(h_end);
+		write(end, bb);
+		int p = 0;
+		if (s >= 0) {
+			p = hl + s * sl;
+			ib.putLong(h_dead, ib.getLong(h_dead) + ib.getInt(p + 24));
+		} else {
+			p = hl + free(ib, k) * sl;
+			if (ib.get(p + 28) == s_empty) ib.putInt(h_filled, ib.getInt(h_filled) + 1);
+			ib.putInt(h_used, ib.getInt(h_used) + 1);
+			for (int i = 0; i < k.length; i++)
+				ib.put(p + i, k[i]);
+		}
+		ib.putLong(p + 16, end);
+		ib.putInt(p + 24, cap);
+		ib.put(p + 28, s_used);
+		ib.putLong(h_end, end + cap);
+		return true;
+	}
+
+	/**
+	 * 查找空闲索引槽
+	 * @param ib 索引区
+	 * @param k 键值
+	 * @return 索引槽序号
+	 */
+	private int free(MappedByteBuffer ib, byte[] k) {
+		int m = slots(ib) - 1;
+		for (int i = hash(k) & m;; i = (i + 1) & m) {
+			if (ib.get(hl + i * sl + 28) != s_used) return i;
+		}
+	}
+
+	/**
+	 * 读取文件版本
+	 * @param fc 文件通道
+	 * @return 文件版本
+	 * @throws IOException
+	 */
+	private long generation(FileChannel fc) throws IOException {
+		ByteBuffer hb = ByteBuffer.allocate(hl);
+		read(fc, hb, 0);
+		return hb.position() >= hl && hb.getInt(h_magic) == magic ? hb.getLong(h_gen) : 0;
+	}
+
+	/**
+	 * 生成哈希值
+	 * @param k 键值
+	 * @return 哈希值
+	 */
+	private int hash(byte[] k) {
+		return ((k[0] & 0xff) << 24) | ((k[1] & 0xff) << 16) | ((k[2] & 0xff) << 8) | (k[3] & 0xff);
+	}
+
+	/**
+	 * 读取索引槽键值
+	 * @param ib 索引区
+	 * @param p 索引槽位置
+	 * @return 键值
+	 */
+	private byte[] key(MappedByteBuffer ib, int p) {
+		byte[] k = new byte[DiskFile.hc];
+		for (int i = 0; i < k.length; i++)
+			k[i] = ib.get(p + i);
+		return k;
+	}
+
+	/**
+	 * 是否原分页格式文件
+	 * @param fc 文件通道
+	 * @return 是、否
+	 * @throws IOException
+	 */
+	private boolean legacy(FileChannel fc) throws IOException {
+		ByteBuffer hb = ByteBuffer.allocate(DiskFile.hc);
+		read(fc, hb, 0);
+		if (hb.position() < DiskFile.hc) return false;
+		for (int i = 0; i < DiskFile.hc; i++) {
+			if (hb.get(i) != key[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 比较索引槽键值
+	 * @param ib 索引区
+	 * @param p 索引槽位置
+	 * @param k 键值
+	 * @return 是否相同
+	 */
+	private boolean matches(MappedByteBuffer ib, int p, byte[] k) {
+		for (int i = 0; i < k.length; i++) {
+			if (ib.get(p + i) != k[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 迁移原分页格式文件
+	 * @param fc 文件通道
+	 * @throws IOException
+	 */
+	private void migrate(FileChannel fc) throws IOException {
+		Image img = new Image();
+		DiskScanner scanner = new DiskScanner(handle(), DiskFile.hc * 2);
+		while (scanner.next()) {
+			DiskPosition pos = scanner.position();
+			byte[] bs = DiskFile.unescape(pos.getContent());
+			img.add(scanner.key(), record(scanner.key(), pos.getSeparator() == DiskFile.sep ? f_gzip : f_plain, bs));
+		}
+		build(img, min);
+	}
+
+	/**
+	 * 打开文件，初始化或迁移原格式文件
+	 * @throws IOException
+	 */
+	private void open() throws IOException {
+		Lock lock = rw.writeLock();
+		lock.lock();
+		try {
+			FileChannel fc = channel();
+			FileLock fl = lock(fc);
+			try {
+				if (remap() != null) return;
+				else if (legacy(fc)) migrate(fc);
+				else build(new Image(), min);
+			} finally {
+				release(fl);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 以新文件替换当前文件
+	 * <p>
+	 * 新文件原子改名覆盖原文件，并在原文件中写入替换标记，其它进程据此重新打开，改名后在新文件上重新锁定直至本次操作结束。不支持覆盖打开中文件的系统退化为原位置复制
+	 * </p>
+	 * @param nf 新文件
+	 * @throws IOException
+	 */
+	private void replace(File nf) throws IOException {
+		FileChannel fc = channel();
+		if (nf.renameTo(file)) {
+			ByteBuffer gb = ByteBuffer.allocate(8);
+			gb.putLong(0, superseded);
+			while (gb.hasRemaining())
+				fc.write(gb, h_gen + gb.position());
+			relock();
+			return;
+		}
+		RandomAccessFile nr = new RandomAccessFile(nf, m_r);
+		try {
+			FileChannel nc = nr.getChannel();
+			long len = nc.size();
+			for (long x = 0; x < len;) {
+				long r = fc.transferFrom(nc.position(x), x, len - x);
+				if (r <= 0) break;
+				x += r;
+			}
+			MappedByteBuffer ib = mapped;
+			fc.truncate(Math.max(len, ib == null ? 0 : ib.capacity())); // 不截断其它进程可能已映射的索引区
+			fc.force(true);
+		} finally {
+			nr.close();
+			nf.delete();
+		}
+	}
+
+	/**
+	 * 获取索引槽数
+	 * @param ib 索引区
+	 * @return 索引槽数
+	 */
+	private int slots(ByteBuffer ib) {
+		return ib == null ? min : (ib.capacity() - hl) / sl;
+	}
+
+	/**
+	 * 文件镜像，用于重建及迁移
+	 * @author demon 2026-10-18
+	 */
+	class Image {
+
+		private final List<Object[]> entries;
+		private File tmp;
+		private RandomAccessFile tf;
+		private long length;
+
+		protected Image() {
+			this.entries = new ArrayList();
+			this.length = 0;
+		}
+
+		/**
+		 * 添加记录
+		 * @param k 键值
+		 * @param bb 记录内容
+		 * @throws IOException
+		 */
+		public void add(byte[] k, ByteBuffer bb) throws IOException {
+			if (tf == null) {
+				tmp = File.createTempFile("dmms", ".tmp", file.getParentFile());
+				tf = new RandomAccessFile(tmp, m_rw);
+			}
+			FileChannel fc = tf.getChannel();
+			int size = bb.remaining();
+			while (bb.hasRemaining())
+				fc.write(bb, length + bb.position());
+			entries.add(new Object[] { k, Long.valueOf(length), Integer.valueOf(size) });
+			length += size;
+		}
+
+		/**
+		 * 生成新文件
+		 * @param min 最小索引槽数
+		 * @param gen 文件版本
+		 * @return 新文件 已写入磁盘
+		 * @throws IOException
+		 */
+		public File build(int min, long gen) throws IOException {
+			File nf = File.createTempFile("dmms", ".new", file.getParentFile());
+			RandomAccessFile nr = new RandomAccessFile(nf, m_rw);
+			try {
+				build(nr.getChannel(), min, gen);
+				nr.getChannel().force(true);
+			} catch (IOException e) {
+				nr.close();
+				nf.delete();
+				throw e;
+			}
+			nr.close();
+			return nf;
+		}
+
+		/**
+		 * 写入目标文件
+		 * @param fc 目标文件通道
+		 * @param min 最小索引槽数
+		 * @param gen 文件版本
+		 * @throws IOException
+		 */
+		void build(FileChannel fc, int min, long gen) throws IOException {
+			int n = min;
+			while (n < entries.size() * 2)
+				n <<= 1;
+			long ds = hl + (long) n * sl;
+			ByteBuffer ib = ByteBuffer.allocate((int) ds);
+			ib.putInt(h_magic, magic).putInt(h_version, version).putInt(h_slots, n);
+			ib.putInt(h_used, entries.size()).putInt(h_filled, entries.size());
+			ib.putLong(h_end, ds + length).putLong(h_dead, 0).putLong(h_gen, gen);
+			int m = n - 1;
+			for (Object[] en : entries) {
+				byte[] k = (byte[]) en[0];
+				int i = hash(k) & m;
+				for (; ib.get(hl + i * sl + 28) != s_empty; i = (i + 1) & m);
+				int p = hl + i * sl;
+				for (int x = 0; x < k.length; x++)
+					ib.put(p + x, k[x]);
+				ib.putLong(p + 16, ds + ((Long) en[1]).longValue());
+				ib.putInt(p + 24, ((Integer) en[2]).intValue());
+				ib.put(p + 28, s_used);
+			}
+			while (ib.hasRemaining())
+				fc.write(ib, ib.position());
+			if (tf != null) {
+				FileChannel tc = tf.getChannel();
+				for (long x = 0; x < length;) {
+					long r = fc.transferFrom(tc.position(x), ds + x, length - x);
+					if (r <= 0) break;
+					x += r;
+				}
+			}
+			fc.truncate(ds + length);
+		}
+
+		/**
+		 * 关闭并清除临时文件
+		 */
+		public void close() {
+			try {
+				if (tf != null) tf.close();
+			} catch (IOException e) { // ignored
+			}
+			if (tmp != null) tmp.delete();
+		}
+	}
+}
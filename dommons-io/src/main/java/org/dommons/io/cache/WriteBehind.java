@@ -0,0 +1,181 @@
+/*
+ * @(#)WriteBehind.java     2026-10-18
+ */
+package org.dommons.io.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dommons.core.Environments;
+import org.dommons.core.Silewarner;
+
+/**
+ * 延迟批量写入器
+ * <p>内存中按键值合并待写入内容，达到数量上限或延迟时间后在同一文件会话内批量写入磁盘，进程退出时写入全部剩余内容。存在待写入内容期间写入器被强引用登记，写完或关闭后移除，未写入内容不会随写入器回收而丢失；写入失败时内容放回待写入队列，延迟时间后重试</p>
+ * @author demon 2026-10-18
+ */
+class WriteBehind {
+
+	static final long tick = 100; // 检查间隔
+
+	static final Map<WriteBehind, Boolean> writers = new ConcurrentHashMap();
+	static Thread flusher;
+
+	/**
+	 * 注册写入器
+	 * @param writer 写入器
+	 */
+	static void register(WriteBehind writer) {
+		writers.put(writer, Boolean.TRUE);
+		if (flusher != null) return;
+		synchronized (WriteBehind.class) {
+			if (flusher != null) return;
+			flusher = new Thread(new Runnable() {
+				public void run() {
+					for (;;) {
+						Environments.sleep(tick);
+						long now = System.currentTimeMillis();
+						for (WriteBehind w : writers.keySet().toArray(new WriteBehind[0]))
+							w.flush(now);
+					}
+				}
+			}, "write-behind-flusher");
+			flusher.setDaemon(true);
+			flusher.start();
+
+			Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+				public void run() {
+					for (WriteBehind w : writers.keySet().toArray(new WriteBehind[0]))
+						w.flush();
+				}
+			}));
+		}
+	}
+
+	protected final DiskStore disk;
+	protected final int batch;
+	protected final long delay;
+
+	private final Object lock;
+	private Map<String, Object[]> dirty;
+	private volatile Map<String, Object[]> flushing;
+	private long first;
+
+	public WriteBehind(DiskStore disk, int batch, long delay) {
+		this.disk = disk;
+		this.batch = Math.max(1, batch);
+		this.delay = delay;
+		this.lock = new Object();
+		this.dirty = new LinkedHashMap();
+	}
+
+	/**
+	 * 清空磁盘内容及待写入内容
+	 */
+	public void clear() {
+		synchronized (lock) {
+			synchronized (this) {
+				dirty.clear();
+				writers.remove(this);
+			}
+			disk.remove(null);
+		}
+	}
+
+	/**
+	 * 关闭写入器，写入全部待写入内容 写入失败时保持登记，由后台继续重试
+	 */
+	public void close() {
+		flush();
+	}
+
+	/**
+	 * 写入全部待写入内容
+	 */
+	public void flush() {
+		synchronized (lock) {
+			Map<String, Object[]> map = null;
+			synchronized (this) {
+				if (dirty.isEmpty()) return;
+				map = dirty;
+				dirty = new LinkedHashMap();
+			}
+			flushing = map;
+			try {
+				Map<String, Object> values = new LinkedHashMap(map.size());
+				for (Entry<String, Object[]> en : map.entrySet())
+					values.put(en.getKey(), en.getValue()[0]);
+				disk.write(values);
+			} catch (Throwable t) {
+				Silewarner.error(WriteBehind.class, t);
+				restore(map);
+			} finally {
+				flushing = null;
+				synchronized (this) {
+					if (dirty.isEmpty()) writers.remove(this);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 获取待写入内容
+	 * @param key 键值
+	 * @return 内容 <code>null</code> 为无待写入内容
+	 */
+	public Object[] pending(String key) {
+		Object[] vs = null;
+		synchronized (this) {
+			vs = dirty.get(key);
+		}
+		if (vs == null) {
+			Map<String, Object[]> map = flushing;
+			if (map != null) vs = map.get(key);
+		}
+		return vs;
+	}
+
+	/**
+	 * 暂存待写入内容
+	 * @param key 键值
+	 * @param vs 内容 内容值为 <code>null</code> 时移除
+	 */
+	public void stage(String key, Object[] vs) {
+		boolean full = false;
+		synchronized (this) {
+			if (dirty.isEmpty()) {
+				first = System.currentTimeMillis();
+				register(this);
+			}
+			dirty.put(key, vs);
+			full = dirty.size() >= batch;
+		}
+		if (full) flush();
+	}
+
+	/**
+	 * 放回写入失败内容 已被重新暂存的键值保留新内容
+	 * @param map 写入失败内容
+	 */
+	protected void restore(Map<String, Object[]> map) {
+		synchronized (this) {
+			for (Entry<String, Object[]> en : dirty.entrySet())
+				map.put(en.getKey(), en.getValue());
+			dirty = map;
+			first = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * 按延迟时间写入
+	 * @param now 当前时间
+	 */
+	protected void flush(long now) {
+		synchronized (this) {
+			if (dirty.isEmpty() || now - first < delay) return;
+		}
+		flush();
+	}
+}
@@ -20,6 +20,7 @@ import java.util.regex.Pattern;
 import org.dommons.core.cache.MemcacheMap;
 import org.dommons.core.collections.map.Mapped;
 import org.dommons.core.collections.map.ci.CaseInsensitiveHashMap;
+import org.dommons.core.collections.map.ci.CaseInsensitiveOpenMap;
 import org.dommons.core.collections.map.concurrent.ConcurrentSoftMap;
 import org.dommons.core.collections.set.CaseInsensitiveHashSet;
 import org.dommons.core.format.text.MessageFormat;
@@ -155,7 +156,7 @@ class NLSBundle {
 	 * @return 映射集
 	 */
 	private static Map<String, String> load(URL[] us) {
-		Map<String, String> map = new CaseInsensitiveHashMap(true);
+		Map<String, String> map = new CaseInsensitiveOpenMap(true);
 		if (us != null) {
 			for (URL u : us) {
 				try {
@@ -15,7 +15,7 @@ import java.util.Properties;
 
 import org.dommons.core.Environments;
 import org.dommons.core.Silewarner;
-import org.dommons.core.collections.map.ci.CaseInsensitiveHashMap;
+import org.dommons.core.collections.map.ci.CaseInsensitiveOpenMap;
 import org.dommons.core.convert.Converter;
 import org.dommons.core.ref.Ref;
 import org.dommons.core.ref.Softref;
@@ -151,7 +151,7 @@ public class NLSLocal {
 		if (map == null) {
 			synchronized (local) {
 				Map<String, String[]> sm = scripts();
-				map = new CaseInsensitiveHashMap<Locale>(true);
+				map = new CaseInsensitiveOpenMap<Locale>(true);
 				Locale[] ls = Locale.getAvailableLocales();
 				for (Locale l : ls) {
 					String key = Stringure.join('_', l.getLanguage(), l.getCountry());
@@ -0,0 +1,86 @@
+/*
+ * @(#)CaseInsensitiveMapBenchmark.java     2026-10-18
+ */
+package org.dommons.core.collections.map.ci;
+
+import java.util.Map;
+
+/**
+ * 大小写不敏感映射表基准测试
+ * <p>
+ * 比较开放寻址映射表与原哈希映射表的读取（大写键、等值新字符串键）及写入耗时。运行参数依次为键数、每轮遍历次数、轮数，默认 <code>2000 1000 10</code>
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class CaseInsensitiveMapBenchmark {
+
+	static volatile long sink; // 防止读取被优化掉
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int loops = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		String[] keys = new String[size], upper = new String[size], copy = new String[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = "message.key.Name_" + i;
+			upper[i] = keys[i].toUpperCase();
+			copy[i] = new String(keys[i]);
+		}
+
+		for (int r = 0; r < rounds; r++) {
+			Map<String, Integer> hash = new CaseInsensitiveHashMap<Integer>(true), open = new CaseInsensitiveOpenMap<Integer>(true);
+			long[] put = { put(hash, keys, loops), put(open, keys, loops) };
+			long[] up = { get(hash, upper, loops), get(open, upper, loops) };
+			long[] eq = { get(hash, copy, loops), get(open, copy, loops) };
+			System.out.printf("round %-3d put %6.1f/%6.1f ns  get(upper) %6.1f/%6.1f ns  get(copy) %6.1f/%6.1f ns  (hash/open)%n", r + 1,
+				per(put[0], size, loops), per(put[1], size, loops), per(up[0], size, loops), per(up[1], size, loops),
+				per(eq[0], size, loops), per(eq[1], size, loops));
+		}
+	}
+
+	/**
+	 * 读取计时
+	 * @param map 映射表
+	 * @param keys 查找键集
+	 * @param loops 遍历次数
+	 * @return 耗时 纳秒
+	 */
+	static long get(Map<String, Integer> map, String[] keys, int loops) {
+		long s = 0, t = System.nanoTime();
+		for (int n = 0; n < loops; n++) {
+			for (String k : keys)
+				s += map.get(k).intValue();
+		}
+		t = System.nanoTime() - t;
+		sink += s;
+		return t;
+	}
+
+	/**
+	 * 单次操作耗时
+	 * @param nanos 总耗时
+	 * @param size 键数
+	 * @param loops 遍历次数
+	 * @return 纳秒
+	 */
+	static double per(long nanos, int size, int loops) {
+		return (double) nanos / size / loops;
+	}
+
+	/**
+	 * 写入计时
+	 * @param map 映射表
+	 * @param keys 键集
+	 * @param loops 遍历次数
+	 * @return 耗时 纳秒
+	 */
+	static long put(Map<String, Integer> map, String[] keys, int loops) {
+		long t = System.nanoTime();
+		for (int n = 0; n < loops; n++) {
+			for (int i = 0; i < keys.length; i++)
+				map.put(keys[i], Integer.valueOf(i));
+		}
+		return System.nanoTime() - t;
+	}
+}
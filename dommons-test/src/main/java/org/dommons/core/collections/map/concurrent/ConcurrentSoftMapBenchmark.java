@@ -0,0 +1,101 @@
+/*
+ * @(#)ConcurrentSoftMapBenchmark.java     2026-10-18
+ */
+package org.dommons.core.collections.map.concurrent;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import org.dommons.core.collections.map.ref.SoftHashMap;
+
+/**
+ * 并发引用映射表基准测试
+ * <p>
+ * 多线程读写混合（约一成写入）下比较分段引用映射表与原单锁包装映射表的吞吐量。运行参数依次为线程数、每轮毫秒数、轮数，默认 <code>8 1000 3</code>
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class ConcurrentSoftMapBenchmark {
+
+	static final int keys = 10000;
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		String[] ks = new String[keys];
+		for (int i = 0; i < ks.length; i++)
+			ks[i] = "k" + i;
+
+		for (int r = 0; r < rounds; r++) {
+			System.out.println("round " + (r + 1));
+			// 无回收时原软引用映射表读取只持有全局读锁
+			run("wrapper(SoftHashMap)", new ConcurrentMapWrapper(new SoftHashMap()), ks, threads, millis);
+			run("ConcurrentSoftMap", new ConcurrentSoftMap(), ks, threads, millis);
+			run("wrapper(WeakHashMap)", new LockedWeakMap(), ks, threads, millis);
+			run("ConcurrentWeakMap", new ConcurrentWeakMap(), ks, threads, millis);
+		}
+	}
+
+	/**
+	 * 测试单个映射表
+	 * @param name 名称
+	 * @param map 映射表
+	 * @param ks 键集
+	 * @param threads 线程数
+	 * @param millis 持续毫秒数
+	 * @throws InterruptedException
+	 */
+	static void run(String name, final Map<Object, Object> map, final String[] ks, int threads, long millis) throws InterruptedException {
+		for (int i = 0; i < ks.length; i++)
+			map.put(ks[i], Integer.valueOf(i));
+
+		final AtomicLong ops = new AtomicLong();
+		final long end = System.nanoTime() + millis * 1000000L;
+		Thread[] ts = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int seed = t * 997;
+			ts[t] = new Thread() {
+				public void run() {
+					long n = 0;
+					int j = seed;
+					while (System.nanoTime() < end) {
+						for (int q = 0; q < 1000; q++) {
+							j = (j + 7) % ks.length;
+							if (q % 10 == 0) map.put(ks[j], Integer.valueOf(q));
+							else map.get(ks[j]);
+						}
+						n += 1000;
+					}
+					ops.addAndGet(n);
+				}
+			};
+			ts[t].start();
+		}
+		for (Thread t : ts)
+			t.join();
+
+		System.out.printf("%-22s %8.2f Mops/s%n", name, ops.get() * 1000.0 / millis / 1000000);
+	}
+
+	/**
+	 * 原弱引用映射表 读取同样持有全局写锁
+	 * @author demon 2026-10-18
+	 */
+	static class LockedWeakMap<K, V> extends ConcurrentMapWrapper<K, V> {
+
+		private static final long serialVersionUID = -6514208393145732518L;
+
+		public LockedWeakMap() {
+			super(new WeakHashMap());
+		}
+
+		@Override
+		protected Lock readLock() {
+			return lock.writeLock();
+		}
+	}
+}
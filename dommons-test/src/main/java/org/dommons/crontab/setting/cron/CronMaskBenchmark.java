@@ -0,0 +1,92 @@
+/*
+ * @(#)CronMaskBenchmark.java     2026-10-18
+ */
+package org.dommons.crontab.setting.cron;
+
+import java.util.TimeZone;
+
+import org.dommons.crontab.setting.Cronset;
+import org.dommons.crontab.setting.cron.CronSettingFactory.CrontabParser;
+import org.dommons.crontab.setting.cron.CronSettingFactory.ExpressionParser;
+
+/**
+ * 定时设定下次执行时间计算基准测试
+ * <p>
+ * 同一表达式分别以位掩码设定及原日历逐项推算方式连续计算下次执行时间，比较单次耗时并校验两者结果一致。运行参数依次为轮数、每轮计算次数，默认 <code>10 200000</code>
+ * </p>
+ * @author demon 2026-10-18
+ */
+public class CronMaskBenchmark {
+
+	static final String[] expressions = { "0 0/5 * * * ?", "0 15 10 ? * MON-FRI", "0 0 12 1/3 * ?", "0 30 8 L * ?", "0 0 9 15W * ?",
+			"0 0 18 ? * 6#3", "*/10 * * * * ?", "0 0 0 29 2 ? *" };
+	static final String[] crontabs = { "*/5 * * * *", "30 2 * * 1-5", "0 0 1,15 * *" };
+
+	public static void main(String[] args) {
+		int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int count = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+		TimeZone tz = TimeZone.getTimeZone("Asia/Shanghai");
+
+		ExpressionParser ep = new ExpressionParser();
+		for (String e : expressions)
+			run(e, ep.parse(e), ep.parse(e), rounds, count, tz);
+		CrontabParser cp = new CrontabParser();
+		for (String e : crontabs)
+			run(e, cp.parse(e), cp.parse(e), rounds, count, tz);
+	}
+
+	/**
+	 * 比较单个表达式
+	 * @param expression 表达式
+	 * @param mask 位掩码设定
+	 * @param walk 日历推算设定
+	 * @param rounds 轮数
+	 * @param count 每轮计算次数
+	 * @param tz 时区
+	 */
+	static void run(String expression, Cronset mask, Cronset walk, int rounds, int count, TimeZone tz) {
+		if (!(mask instanceof CronSetting) || !(walk instanceof CronSetting)) {
+			System.out.println(expression + " unsupported");
+			return;
+		}
+		((CronSetting) walk).mask = null; // 原日历逐项推算
+		long start = 1760745600000L; // 2025-10-18 08:00 +08:00
+
+		int diff = 0;
+		long unit = walk instanceof CrontabSetting ? 60000 : 1; // crontab 秒为随机值 只比较到分钟
+		for (long t = start; t < start + 50 * 86400000L; t += 3600000L + 17000L) {
+			if (mask.time(t, tz) / unit != walk.time(t, tz) / unit) diff++;
+		}
+
+		long best0 = Long.MAX_VALUE, best1 = Long.MAX_VALUE;
+		long sink = 0;
+		for (int r = 0; r < rounds; r++) {
+			long t0 = System.nanoTime();
+			sink += chain(mask, start, count, tz);
+			long t1 = System.nanoTime();
+			sink += chain(walk, start, count, tz);
+			long t2 = System.nanoTime();
+			best0 = Math.min(best0, t1 - t0);
+			best1 = Math.min(best1, t2 - t1);
+		}
+		System.out.printf("%-22s mask %8.1f ns  calendar %8.1f ns  x%.1f  mismatches=%d  (%d)%n", expression, (double) best0 / count,
+			(double) best1 / count, (double) best1 / Math.max(1, best0), diff, sink & 1);
+	}
+
+	/**
+	 * 连续计算下次执行时间 超出五年后回到起始时间
+	 * @param cs 定时设定
+	 * @param start 起始时间
+	 * @param count 计算次数
+	 * @param tz 时区
+	 * @return 最后执行时间
+	 */
+	static long chain(Cronset cs, long start, int count, TimeZone tz) {
+		long t = start, limit = start + 5 * 366 * 86400000L;
+		for (int i = 0; i < count; i++) {
+			long n = cs.time(t, tz);
+			t = n > 0 && n < limit ? n : start;
+		}
+		return t;
+	}
+}